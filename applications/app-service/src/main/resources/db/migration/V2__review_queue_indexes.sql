@@ -0,0 +1,13 @@
+-- Bandeja de revisión: filtra por estado y recorre por antigüedad.
+-- Cubre findByIdStateIn (WHERE id_state IN (...)) y la consulta unida ordenada por fecha_creacion.
+CREATE INDEX idx_application_state_created
+    ON application (id_state, fecha_creacion, id_application);
+
+-- idx_solicitud_usuario estaba definido sobre loan_type_id (lo usa la FK fk_solicitud_tipo):
+-- se renombra según su columna real y se crea el índice por usuario que faltaba.
+ALTER TABLE application RENAME INDEX idx_solicitud_usuario TO idx_application_loan_type;
+
+-- Compuesto con id_application para la paginación keyset por usuario:
+-- WHERE id_user = ? AND id_application > ? ORDER BY id_application.
+CREATE INDEX idx_application_user_id
+    ON application (id_user, id_application);
@@ -0,0 +1,17 @@
+-- Outbox transaccional: eventos escritos en la misma transacción que el cambio de estado
+-- y enviados a SQS por el relay (OutboxRelayUseCase).
+CREATE TABLE IF NOT EXISTS outbox (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    event_type VARCHAR(40) NOT NULL,
+    aggregate_id BIGINT NOT NULL,           -- id_application que originó el evento
+    payload TEXT NOT NULL,                  -- evento serializado en JSON
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    claimed_by VARCHAR(36) NULL,            -- lote reservado por una instancia del relay
+    claimed_until TIMESTAMP(3) NULL,
+    last_error VARCHAR(500) NULL,
+    created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    sent_at TIMESTAMP(3) NULL,
+    INDEX idx_outbox_pending (sent_at, next_attempt_at, id),
+    INDEX idx_outbox_claimed (claimed_by)
+    );
@@ -0,0 +1,26 @@
+-- Archivo de solicitudes finalizadas: application conserva solo las vigentes y
+-- ApplicationArchiveUseCase mueve por lotes las APROBADA/RECHAZADA con más antigüedad.
+
+-- Momento de la última transición de estado; la antigüedad para archivar se mide desde aquí.
+ALTER TABLE application ADD COLUMN fecha_decision TIMESTAMP NULL DEFAULT NULL;
+
+-- Las finalizadas anteriores a esta versión toman su fecha de creación (2 = RECHAZADA, 4 = APROBADA, ver CodeState).
+UPDATE application SET fecha_decision = fecha_creacion
+WHERE id_state IN (2, 4) AND fecha_decision IS NULL;
+
+-- Candidatas a archivar: id_state IN (finales) AND fecha_decision < corte.
+CREATE INDEX idx_application_state_decided ON application (id_state, fecha_decision);
+
+CREATE TABLE IF NOT EXISTS application_archive (
+    id_application BIGINT PRIMARY KEY,      -- mismo id que tenía en application
+    amount DECIMAL(15,2) NOT NULL,
+    term INT NOT NULL,
+    email VARCHAR(150) NOT NULL,
+    id_user BIGINT NOT NULL,
+    id_state BIGINT NOT NULL,
+    loan_type_id BIGINT NOT NULL,
+    fecha_creacion TIMESTAMP NULL DEFAULT NULL,
+    fecha_decision TIMESTAMP NULL DEFAULT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_application_archive_user_id (id_user, id_application)   -- keyset por usuario, como en application
+    );
@@ -0,0 +1,17 @@
+-- Agregado de cartera por estado × tipo de préstamo, mantenido por ApplicationRepositoryAdapter
+-- en la misma transacción que cada escritura y reconstruido periódicamente con un GROUP BY.
+-- Cubre application y application_archive: archivar no cambia la cartera.
+CREATE TABLE IF NOT EXISTS application_stats (
+    id_state BIGINT NOT NULL,
+    loan_type_id BIGINT NOT NULL,
+    application_count BIGINT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(20,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (id_state, loan_type_id)
+    );
+
+INSERT INTO application_stats (id_state, loan_type_id, application_count, total_amount)
+SELECT id_state, loan_type_id, COUNT(*), SUM(amount)
+FROM (SELECT id_state, loan_type_id, amount FROM application
+      UNION ALL
+      SELECT id_state, loan_type_id, amount FROM application_archive) t
+GROUP BY id_state, loan_type_id;
@@ -0,0 +1,3 @@
+-- Eventos del outbox que agotaron adapters.r2dbc.outbox.max-attempts (o con payload ilegible):
+-- quedan con dead_at y el relay deja de reservarlos. Se conservan para revisarlos a mano.
+ALTER TABLE outbox ADD COLUMN dead_at TIMESTAMP(3) NULL AFTER sent_at;
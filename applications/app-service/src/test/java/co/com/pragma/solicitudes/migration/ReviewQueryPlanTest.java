@@ -0,0 +1,130 @@
+package co.com.pragma.solicitudes.migration;
+
+import co.com.pragma.solicitudes.r2dbc.ReviewApplicationQueryAdapter;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Verifica con EXPLAIN que las consultas de la bandeja de revisión usan los índices de V2.
+ *
+ * Requiere un esquema MySQL/MariaDB desechable:
+ * SOLICITUDES_IT_JDBC_URL=jdbc:mysql://localhost:3306/solicitudes_it (más _USER y _PASSWORD).
+ * Aplica las migraciones, carga datos de prueba con un estado poco frecuente y los borra al final.
+ */
+@EnabledIfEnvironmentVariable(named = "SOLICITUDES_IT_JDBC_URL", matches = ".+")
+class ReviewQueryPlanTest {
+
+    private static final String INDEX = "idx_application_state_created";
+    private static final int BULK_ROWS = 2000;
+    private static final int RARE_ROWS = 10;
+
+    private static Connection connection;
+    private static long loanTypeId;
+    private static long commonStateId;
+    private static long rareStateId;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        String url = System.getenv("SOLICITUDES_IT_JDBC_URL");
+        String user = System.getenv().getOrDefault("SOLICITUDES_IT_JDBC_USER", "root");
+        String password = System.getenv().getOrDefault("SOLICITUDES_IT_JDBC_PASSWORD", "");
+
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(url, user, password);
+        loanTypeId = insert("INSERT INTO loan_type (name, minimumAmount, maximumAmount, rateInterest) "
+                + "VALUES ('IT_PLAN_LOAN', 1, 1000000, 1.0)");
+        commonStateId = insert("INSERT INTO state (name) VALUES ('IT_PLAN_COMMON')");
+        rareStateId = insert("INSERT INTO state (name) VALUES ('IT_PLAN_RARE')");
+
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO application (amount, term, email, id_user, id_state, loan_type_id) VALUES (100, 12, ?, ?, ?, ?)")) {
+            for (int i = 0; i < BULK_ROWS + RARE_ROWS; i++) {
+                ps.setString(1, "plan" + i + "@it.test");
+                ps.setLong(2, i);
+                ps.setLong(3, i < BULK_ROWS ? commonStateId : rareStateId);
+                ps.setLong(4, loanTypeId);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        try (Statement st = connection.createStatement()) {
+            st.execute("ANALYZE TABLE application");
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        if (connection == null) {
+            return;
+        }
+        try (Statement st = connection.createStatement()) {
+            st.executeUpdate("DELETE FROM application WHERE loan_type_id = " + loanTypeId);
+            st.executeUpdate("DELETE FROM state WHERE id_state IN (" + commonStateId + ", " + rareStateId + ")");
+            st.executeUpdate("DELETE FROM loan_type WHERE loan_type_id = " + loanTypeId);
+        }
+        connection.close();
+    }
+
+    @Test
+    void findByIdStateIn_UsaIndicePorEstado() throws SQLException {
+        assertEquals(INDEX, keyFor("EXPLAIN SELECT application.* FROM application "
+                + "WHERE application.id_state IN (" + rareStateId + ")", "application"));
+    }
+
+    @Test
+    void consultaUnidaDeRevision_UsaIndicePorEstadoSinOrdenarEnMemoria() throws SQLException {
+        String explain = "EXPLAIN " + ReviewApplicationQueryAdapter.SQL_FIND_BY_STATE
+                .replace(":idState", String.valueOf(rareStateId));
+
+        assertEquals(INDEX, keyFor(explain, "a"));
+        assertFalse(extraFor(explain, "a").contains("Using filesort"), "La bandeja no debería ordenar en memoria");
+    }
+
+    private static String keyFor(String explain, String table) throws SQLException {
+        return column(explain, table, "key");
+    }
+
+    private static String extraFor(String explain, String table) throws SQLException {
+        String extra = column(explain, table, "Extra");
+        return extra == null ? "" : extra;
+    }
+
+    private static String column(String explain, String table, String column) throws SQLException {
+        try (Statement st = connection.createStatement(); ResultSet rs = st.executeQuery(explain)) {
+            while (rs.next()) {
+                if (table.equals(rs.getString("table"))) {
+                    return rs.getString(column);
+                }
+            }
+        }
+        throw new AssertionError("EXPLAIN sin fila para la tabla " + table);
+    }
+
+    private static long insert(String sql) throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.executeUpdate(sql, Statement.RETURN_GENERATED_KEYS);
+            try (ResultSet keys = st.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package co.com.pragma.solicitudes.model.application;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Resultado de un elemento de la carga masiva de solicitudes.
+ * Si fue creada trae la solicitud con su usuario y tipo de préstamo;
+ * si fue rechazada trae el código y mensaje del error de dominio.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ApplicationBatchResult {
+    private final int index;                    // Posición en el lote recibido
+    private final CreatedApplication created;   // Solicitud creada (null si fue rechazada)
+    private final String errorCode;             // Código del error (null si fue creada)
+    private final String errorMessage;          // Mensaje del error (null si fue creada)
+
+    public static ApplicationBatchResult created(int index, CreatedApplication created) {
+        return new ApplicationBatchResult(index, created, null, null);
+    }
+
+    public static ApplicationBatchResult rejected(int index, String errorCode, String errorMessage) {
+        return new ApplicationBatchResult(index, null, errorCode, errorMessage);
+    }
+
+    public boolean isCreated() {
+        return created != null;
+    }
+}
@@ -0,0 +1,19 @@
+package co.com.pragma.solicitudes.model.application;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Página de solicitudes obtenida por keyset sobre id_application.
+ * nextAfterId es el último id de la página, o null si no hay más resultados.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ApplicationPage {
+    private final List<Application> items;  // Solicitudes de la página, ordenadas por id
+    private final Long nextAfterId;         // Id desde el cual pedir la siguiente página
+}
@@ -0,0 +1,23 @@
+package co.com.pragma.solicitudes.model.application;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Agregado de la cartera por estado y tipo de préstamo.
+ * Incluye las solicitudes archivadas: archivar no cambia la cartera.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationStats {
+    private Long idState;            // Estado (ver CodeState)
+    private Long loanTypeID;         // Tipo de préstamo
+    private long count;              // Cantidad de solicitudes
+    private BigDecimal totalAmount;  // Suma de los montos solicitados
+}
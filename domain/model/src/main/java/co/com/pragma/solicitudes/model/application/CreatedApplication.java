@@ -0,0 +1,21 @@
+package co.com.pragma.solicitudes.model.application;
+
+import co.com.pragma.solicitudes.model.loantype.LoanType;
+import co.com.pragma.solicitudes.model.user.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Resultado de crear una solicitud: la solicitud guardada junto con el usuario
+ * y el tipo de préstamo ya consultados durante la validación.
+ * Permite armar la respuesta sin volver a consultar el micro de autenticación ni la BD.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class CreatedApplication {
+    private final Application application;  // Solicitud guardada
+    private final User user;                // Solicitante
+    private final LoanType loanType;        // Tipo de préstamo seleccionado
+}
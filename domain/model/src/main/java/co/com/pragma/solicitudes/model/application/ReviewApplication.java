@@ -0,0 +1,27 @@
+package co.com.pragma.solicitudes.model.application;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección de lectura para la bandeja de revisión: la solicitud junto con los
+ * datos de su tipo de préstamo, obtenidos en una sola consulta.
+ * Solo faltan los datos del usuario, que viven en el micro de autenticación.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ReviewApplication {
+    private final Long idApplication;       // Identificador de la solicitud
+    private final BigDecimal amount;        // Monto solicitado
+    private final Integer term;             // Plazo en meses
+    private final String email;             // Email del solicitante
+    private final Long idUser;              // Usuario en el micro de autenticación
+    private final Long idState;             // Estado actual
+    private final Long loanTypeID;          // Tipo de préstamo
+    private final String loanTypeName;      // Nombre del tipo de préstamo
+    private final BigDecimal rateInterest;  // Tasa de interés del tipo de préstamo
+}
@@ -0,0 +1,20 @@
+package co.com.pragma.solicitudes.model.application.gateways;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Gateway (puerto de salida) del archivo de solicitudes finalizadas.
+ * Las solicitudes archivadas siguen disponibles por id en {@link ApplicationRepository#findById}.
+ */
+public interface ApplicationArchiveRepository {
+    /**
+     * Mueve al archivo, en una transacción, hasta 'limit' solicitudes en alguno de finalStates
+     * cuya decisión tenga más de minAge.
+     *
+     * @return cantidad de solicitudes movidas; menos de 'limit' indica que no quedan candidatas
+     */
+    Mono<Integer> archiveChunk(List<Long> finalStates, Duration minAge, int limit);
+}
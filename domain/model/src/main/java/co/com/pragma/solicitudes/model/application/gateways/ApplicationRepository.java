@@ -12,9 +12,13 @@ import java.util.List;
  */
 public interface ApplicationRepository {
     Mono<Application> save(Application application); // Guardar Application
+    Flux<Application> saveAll(List<Application> applications); // Guardar varias en una transacción, en el mismo orden
     Flux<Application> findAll();                 // Listar todas
     Mono<Application> findById(Long id);         // Buscar por ID
     Mono<Void> delete(Long id);                // Eliminar solicitud
     Flux<Application> findByState(List<Long> states); // Nuevo: listar solicitudes filtrando por lista de estados
+    Mono<Boolean> transitionState(Long id, List<Long> fromStates, Long toState); // UPDATE condicional: true si la solicitud estaba en fromStates y cambió
+    Flux<Application> findPage(Long afterId, int limit); // Keyset: hasta 'limit' solicitudes con id > afterId, ordenadas por id
+    Flux<Application> findByUser(Long idUser, Long afterId, int limit); // Keyset por usuario (vigentes y archivadas), ordenadas por id
 
 }
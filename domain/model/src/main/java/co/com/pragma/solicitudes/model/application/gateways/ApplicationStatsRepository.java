@@ -0,0 +1,14 @@
+package co.com.pragma.solicitudes.model.application.gateways;
+
+import co.com.pragma.solicitudes.model.application.ApplicationStats;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Gateway (puerto de salida) de las estadísticas de cartera.
+ * El agregado se mantiene en la misma transacción que cada escritura de ApplicationRepository.
+ */
+public interface ApplicationStatsRepository {
+    Flux<ApplicationStats> findAll();   // Una fila por estado × tipo de préstamo con al menos una solicitud
+    Mono<Integer> reconcile();          // Corrige el agregado contra las solicitudes; devuelve las celdas corregidas
+}
@@ -0,0 +1,11 @@
+package co.com.pragma.solicitudes.model.application.gateways;
+
+import co.com.pragma.solicitudes.model.application.ReviewApplication;
+import reactor.core.publisher.Flux;
+
+/**
+ * Gateway (puerto de salida) de solo lectura para la bandeja de revisión.
+ */
+public interface ReviewApplicationRepository {
+    Flux<ReviewApplication> findByState(Long idState); // Solicitudes del estado con tipo de préstamo y estado ya resueltos
+}
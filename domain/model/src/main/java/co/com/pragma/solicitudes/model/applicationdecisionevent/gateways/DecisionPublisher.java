@@ -1,7 +1,10 @@
 package co.com.pragma.solicitudes.model.applicationdecisionevent.gateways;
 import co.com.pragma.solicitudes.model.applicationdecisionevent.ApplicationDecisionEvent;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * Puerto hexagonal para publicar eventos de decisión.
  * Implementado por un adaptador SQS.
@@ -14,4 +17,11 @@ public interface DecisionPublisher {
      * @return Mono que completa al finalizar el envío.
      */
     Mono<Void> publish(ApplicationDecisionEvent event);
+
+    /**
+     * Publica varios eventos; las implementaciones pueden enviarlos en lotes.
+     */
+    default Mono<Void> publishAll(List<ApplicationDecisionEvent> events) {
+        return Flux.fromIterable(events).concatMap(this::publish).then();
+    }
 }
\ No newline at end of file
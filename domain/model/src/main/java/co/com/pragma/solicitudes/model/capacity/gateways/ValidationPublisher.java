@@ -1,8 +1,18 @@
 package co.com.pragma.solicitudes.model.capacity.gateways;
 
 import co.com.pragma.solicitudes.model.capacity.CapacityRequestEvent;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface ValidationPublisher {
     Mono<Void> publish(CapacityRequestEvent event);
+
+    /**
+     * Publica varios eventos; las implementaciones pueden enviarlos en lotes.
+     */
+    default Mono<Void> publishAll(List<CapacityRequestEvent> events) {
+        return Flux.fromIterable(events).concatMap(this::publish).then();
+    }
 }
\ No newline at end of file
@@ -45,6 +45,7 @@ public final class ApplicationConstants {
     public static final String PLAZO_INVALIDO = "PLAZO_INVALIDO";
     public static final String DATOS_OBLIGATORIOS = "DATOS_OBLIGATORIOS";
     public static final String VALIDATION_ERROR = "VALIDATION_ERROR";
+    public static final String SERVICIO_NO_DISPONIBLE = "SERVICIO_NO_DISPONIBLE";
 
     // ===================== MENSAJES =====================
     public static final String MSG_NOT_FOUND = "El recurso solicitado no fue encontrado.";
@@ -93,9 +94,23 @@ public final class ApplicationConstants {
     public static final String LOG_EMAIL_EXIST = "Email {} existe: {}";
     public static final String LOG_ERROR_VERIFICATE_EMAIL = "Error verificando email: {}";
 
+    public static final String LOG_GET_USERS = "Consultando {} usuarios en lote con token";
+    public static final String LOG_USERS_FOUND_OK = "Usuarios encontrados en lote: {}";
+    public static final String LOG_ERROR_CONSULTA_USERS = "Error consultando usuarios en lote: {}";
+
+    public static final String LOG_EXPORT_EMAILS = "Descargando export de emails del micro de autenticación";
+    public static final String LOG_ERROR_EXPORT_EMAILS = "Error descargando export de emails: {}";
+
+    public static final String MSG_AUTH_NO_DISPONIBLE =
+            "El servicio de autenticación no está disponible en este momento. Intenta nuevamente.";
+    public static final String LOG_AUTH_CIRCUIT_STATE = "Circuit breaker de autenticación: {} -> {}";
+    public static final String LOG_AUTH_CALL_REJECTED = "Llamada al micro de autenticación rechazada: {}";
+
     public static final String AUTH_HEADER_PREFIX = "Bearer ";
     public static final String URI_GET_USER_BY_ID = "/api/v1/usuarios/{id}";
+    public static final String URI_GET_USERS_BY_IDS = "/api/v1/usuarios/batch";
     public static final String URI_EXISTS_EMAIL = "/api/v1/usuarios/exists/email/{email}";
+    public static final String URI_EXPORT_EMAILS = "/api/v1/usuarios/emails";
 
     // ===================== APPLICATION=====================
     public static final String LOG_SAVE_APPLICATION = "Guardando Application: {}";
@@ -108,6 +123,46 @@ public final class ApplicationConstants {
     // Rutas
     public static final String RUTA_SOLICITUD = "/api/v1/solicitudes";
     public static final String RUTA_SOLICITUD_REVISION = "/api/v1/solicitudes/revision";
+    public static final String RUTA_SOLICITUD_BATCH = "/api/v1/solicitudes/batch";
+    public static final String RUTA_SOLICITUD_STATS = "/api/v1/solicitudes/stats";
+    public static final String RUTA_SOLICITUD_USUARIO = "/api/v1/solicitudes/usuario/{idUser}";
+
+    // ===== Creación en lote =====
+    public static final int BATCH_MAX_ITEMS = 100;
+    public static final int BATCH_INSERT_CHUNK = 50;
+    public static final int BATCH_LOOKUP_CONCURRENCY = 8;
+    public static final String MSG_BATCH_VACIO = "El lote de solicitudes está vacío";
+    public static final String MSG_BATCH_EXCEDE = "El lote admite como máximo " + BATCH_MAX_ITEMS + " solicitudes";
+    public static final String MSG_USER_REQUIRED = "El usuario de la solicitud es obligatorio";
+    public static final String MSG_USER_NOT_FOUND = "El usuario de la solicitud no existe";
+    public static final String LOG_BATCH_RECIBIDO = "Lote de solicitudes recibido: {} elementos";
+    public static final String LOG_BATCH_INSERT = "Insertando {} solicitudes en una sentencia";
+    public static final String LOG_BATCH_RESULTADO = "Lote procesado: creadas=";
+
+    // ===== Paginación keyset =====
+    public static final int PAGE_DEFAULT_LIMIT = 20;
+    public static final int PAGE_MAX_LIMIT = 100;
+    public static final String PARAM_LIMIT = "limit";
+    public static final String PARAM_CURSOR = "cursor";
+    public static final String MSG_CURSOR_INVALIDO = "El parámetro cursor no es válido";
+    public static final String MSG_LIMIT_INVALIDO = "El parámetro limit debe ser un número entre 1 y " + PAGE_MAX_LIMIT;
+    public static final String LOG_LISTANDO_PAGINA = "Listando página de solicitudes afterId={} limit={}";
+    public static final String LOG_LISTANDO_POR_USUARIO = "Listando solicitudes del usuario idUser={} afterId={} limit={}";
+    public static final String MSG_ID_USUARIO_INVALIDO = "El id de usuario no es válido";
+
+    // ===== Transiciones de estado =====
+    public static final String LOG_TRANSICION_ESTADO = "Transición de estado idApplication={} desde={} hacia={}";
+
+    // ===== Archivo de solicitudes =====
+    public static final String LOG_ARCHIVO_LOTE = "Archivando hasta {} solicitudes finalizadas hace más de {}s";
+    public static final String LOG_ARCHIVO_MOVIDAS = "Solicitudes movidas al archivo: {}";
+    public static final String LOG_APPLICATION_ARCHIVADA = "Application {} leída desde el archivo";
+
+    // ===== Estadísticas de cartera =====
+    public static final String LOG_ESTADISTICAS_DELTA = "Estadísticas idState={} loanTypeId={} count={} amount={}";
+    public static final String LOG_ESTADISTICAS_TRANSICION = "Estadísticas: mover solicitud {} a su nuevo estado";
+    public static final String LOG_ESTADISTICAS_RECONCILIADAS = "Estadísticas reconciliadas: {} celdas corregidas";
+    public static final String STATS_ESTADO_DESCONOCIDO = "DESCONOCIDO";
 
     // Logs generales
     public static final String LOG_APPLICATION_RECIBIDA_CREAR = "Application recibida para crear nueva Application";
@@ -119,6 +174,8 @@ public final class ApplicationConstants {
     public static final String LOG_APPLICATION_EDITAR = "Application para editar solicitud";
     public static final String LOG_APPLICATION_ELIMINAR = "Application para eliminar solicitud con ID: {}";
     public static final String LOG_ERROR_LISTANDO_APLICACIONES = "Error listando aplicaciones en revisión: {}";
+    public static final String LOG_STREAMING_REVISION = "Enviando solicitudes en revisión como stream ({})";
+    public static final String LOG_LISTANDO_REVISION_JOIN = "Listando bandeja de revisión (consulta unida) idState={}";
 
     // Mensajes de error HTTP / validaciones
     public static final String MSG_NO_TOKEN = "No se proporcionó token de autenticación";
@@ -0,0 +1,9 @@
+package co.com.pragma.solicitudes.model.outbox;
+
+/**
+ * Tipos de evento que se guardan en el outbox y su destino en mensajería.
+ */
+public enum OutboxEventType {
+    APPLICATION_DECISION,   // ApplicationDecisionEvent → cola de decisiones
+    CAPACITY_REQUEST        // CapacityRequestEvent → cola de validación de capacidad
+}
@@ -0,0 +1,20 @@
+package co.com.pragma.solicitudes.model.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Evento pendiente de envío, guardado en la misma transacción que el cambio que lo origina.
+ * El payload es el evento de dominio correspondiente a {@link #type}.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class OutboxMessage {
+    private final Long id;                  // Identificador en el outbox
+    private final OutboxEventType type;     // Tipo de evento
+    private final Long aggregateId;         // Solicitud que originó el evento
+    private final Object payload;           // ApplicationDecisionEvent o CapacityRequestEvent
+    private final int attempts;             // Envíos fallidos previos
+}
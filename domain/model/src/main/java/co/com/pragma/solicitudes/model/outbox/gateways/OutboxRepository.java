@@ -0,0 +1,22 @@
+package co.com.pragma.solicitudes.model.outbox.gateways;
+
+import co.com.pragma.solicitudes.model.applicationdecisionevent.ApplicationDecisionEvent;
+import co.com.pragma.solicitudes.model.capacity.CapacityRequestEvent;
+import co.com.pragma.solicitudes.model.outbox.OutboxMessage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Gateway (puerto de salida) del outbox transaccional.
+ * Las escrituras participan de la transacción en curso (ver UnitOfWork).
+ */
+public interface OutboxRepository {
+    Mono<Void> enqueueDecision(ApplicationDecisionEvent event);                 // Encolar evento de decisión
+    Mono<Void> enqueueCapacityRequests(List<CapacityRequestEvent> events);      // Encolar solicitudes de validación
+    Flux<OutboxMessage> claimPending(int limit);     // Reservar hasta 'limit' pendientes para esta instancia
+    Mono<Void> markSent(List<Long> ids);             // Marcar enviados
+    Mono<Void> markFailed(List<Long> ids, String error); // Registrar fallo y programar reintento con backoff
+    Mono<Long> purgeSent();                          // Borrar enviados más antiguos que la retención
+}
@@ -0,0 +1,11 @@
+package co.com.pragma.solicitudes.model.transaction.gateways;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Gateway (puerto de salida) para ejecutar varias operaciones de persistencia
+ * en una sola transacción. Se implementa en la capa de infraestructura.
+ */
+public interface UnitOfWork {
+    <T> Mono<T> transactional(Mono<T> work); // Todo lo que haga 'work' se confirma o revierte junto
+}
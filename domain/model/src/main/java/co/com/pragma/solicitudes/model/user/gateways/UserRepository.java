@@ -1,8 +1,11 @@
 package co.com.pragma.solicitudes.model.user.gateways;
 
 import co.com.pragma.solicitudes.model.user.User;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Set;
+
 /**
  * Interfaz que define las operaciones que necesita el micro de solicitudes
  * para consultar usuarios del micro de autenticación.
@@ -21,6 +24,15 @@ public interface UserRepository {
      */
     Mono<User> getUserById(Long id, String token);
 
+    /**
+     * Consulta varios usuarios en una sola llamada al micro de autenticación.
+     *
+     * @param ids ids de los usuarios (sin repetidos)
+     * @param token JWT de autenticación
+     * @return Flux<User> con los usuarios encontrados; los inexistentes se omiten
+     */
+    Flux<User> getUsersByIds(Set<Long> ids, String token);
+
     /**
      * Verifica si un email existe en el micro de autenticación.
      *
@@ -1,16 +1,19 @@
 package co.com.pragma.solicitudes.usecase.application;
 
 import co.com.pragma.solicitudes.model.application.Application;
+import co.com.pragma.solicitudes.model.application.ApplicationBatchResult;
+import co.com.pragma.solicitudes.model.application.ApplicationPage;
+import co.com.pragma.solicitudes.model.application.CreatedApplication;
 import co.com.pragma.solicitudes.model.applicationdecisionevent.ApplicationDecisionEvent;
-import co.com.pragma.solicitudes.model.applicationdecisionevent.gateways.DecisionPublisher;
 import co.com.pragma.solicitudes.model.capacity.CapacityRequestEvent;
 import co.com.pragma.solicitudes.model.capacity.CapacityResultEvent;
-import co.com.pragma.solicitudes.model.capacity.gateways.ValidationPublisher;
 import co.com.pragma.solicitudes.model.constants.ApplicationConstants;
 import co.com.pragma.solicitudes.model.enums.CodeState;
 import co.com.pragma.solicitudes.model.loantype.gateways.LoanTypeRepository;
 import co.com.pragma.solicitudes.model.application.gateways.ApplicationRepository;
 import co.com.pragma.solicitudes.model.loantype.LoanType;
+import co.com.pragma.solicitudes.model.outbox.gateways.OutboxRepository;
+import co.com.pragma.solicitudes.model.transaction.gateways.UnitOfWork;
 import co.com.pragma.solicitudes.model.user.User;
 import co.com.pragma.solicitudes.model.user.gateways.UserRepository;
 import co.com.pragma.solicitudes.usecase.exceptions.DomainExceptions;
@@ -18,27 +21,42 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.java.Log;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Log
 @RequiredArgsConstructor
 public class ApplicationUseCase {
 
+    // Estados desde los que se admite una decisión (todos los no finales)
+    private static final List<Long> OPEN_STATES = Arrays.stream(CodeState.values())
+            .map(CodeState::getId)
+            .filter(id -> !isFinalState(id))
+            .toList();
+
     private final ApplicationRepository applicationRepository;
     private final LoanTypeRepository loanTypeRepository;
     private final UserRepository usuarioClient;
-    private final DecisionPublisher decisionPublisher;
-    private final ValidationPublisher validationPublisher;
+    private final OutboxRepository outboxRepository;
+    private final UnitOfWork unitOfWork;
 
     /**
      * Crea una solicitud. Si el préstamo tiene validación automática,
-     * se envía a la Lambda de capacidad de endeudamiento.
+     * se encola (outbox) el envío a la Lambda de capacidad de endeudamiento.
+     * Devuelve la solicitud guardada junto con el usuario y el tipo de préstamo validados.
      */
-    public Mono<Application> execute(Application application, String token) {
+    public Mono<CreatedApplication> execute(Application application, String token) {
         log.info(ApplicationConstants.LOG_START_CREATION + application.getEmail());
 
         if (application.getAmount() == null || application.getTerm() == null || application.getEmail() == null) {
@@ -48,60 +66,230 @@ public class ApplicationUseCase {
             return Mono.error(new DomainExceptions.DatosObligatorios(ApplicationConstants.MSG_LOAN_TYPE_REQUIRED));
         }
 
-        return usuarioClient.getUserById(application.getIdUser(), token)
-                .flatMap((User user) ->
-                        usuarioClient.existsByEmail(application.getEmail(), token)
-                                .flatMap(exists -> {
-                                    if (!exists) {
-                                        return Mono.error(new DomainExceptions.ValidationException(
-                                                ApplicationConstants.MSG_EMAIL_NOT_FOUND));
-                                    }
-                                    return loanTypeRepository.findById(application.getLoanTypeID())
-                                            .switchIfEmpty(Mono.error(new DomainExceptions.TipoPrestamoNoExiste(
-                                                    ApplicationConstants.MSG_LOAN_TYPE_NOT_FOUND)))
-                                            .flatMap((LoanType tipoPrestamo) -> validateAmount(application, tipoPrestamo)
-                                                    .flatMap(validada -> {
-                                                        // Estado inicial
-                                                        validada.setIdState(CodeState.PENDIENTE_REVISION.getId());
-                                                        return applicationRepository.save(validada)
-                                                                .flatMap(saved -> {
-                                                                    // ✅ Enviar a Lambda si es validación automática
-                                                                    if (Boolean.TRUE.equals(tipoPrestamo.getAutomaticValidation())
-                                                                            && !isFinalState(saved.getIdState())) {
-
-                                                                        // Normaliza tasa mensual (si viene como 2.5, se divide entre 100)
-                                                                        BigDecimal monthlyRate = tipoPrestamo.getRateInterest();
-                                                                        if (monthlyRate != null && monthlyRate.compareTo(BigDecimal.ONE) >= 0) {
-                                                                            monthlyRate = monthlyRate.divide(BigDecimal.valueOf(100), MathContext.DECIMAL64);
-                                                                        }
-
-                                                                        // Construye el evento para Lambda
-                                                                        CapacityRequestEvent event = CapacityRequestEvent.builder()
-                                                                                .eventId(UUID.randomUUID().toString())
-                                                                                .correlationId(UUID.randomUUID().toString())
-                                                                                .idApplication(saved.getIdApplication())
-                                                                                .idUser(saved.getIdUser())
-                                                                                .email(saved.getEmail())
-                                                                                .loanTypeId(saved.getLoanTypeID())
-                                                                                .amount(saved.getAmount())
-                                                                                .term(saved.getTerm())
-                                                                                .monthlyRate(monthlyRate)
-                                                                                .deudaMensualActual(BigDecimal.ZERO) // TODO: reemplazar con deuda real
-                                                                                .userBaseSalary(user.getBaseSalary())
-                                                                                .build();
-
-                                                                        log.info("AUTO-VAL enviar a SQS idApp=" + saved.getIdApplication());
-                                                                        return validationPublisher.publish(event).thenReturn(saved);
-                                                                    }
-                                                                    return Mono.just(saved);
-                                                                });
-                                                    }));
-                                })
-                )
-                .doOnSuccess(s -> log.info(ApplicationConstants.LOG_APP_CREATED + s.getIdApplication()))
+        return validateCreation(application, token)
+                .flatMap(validation -> {
+                    User user = validation.getT1();
+                    LoanType tipoPrestamo = validation.getT2();
+                    // Estado inicial
+                    application.setIdState(CodeState.PENDIENTE_REVISION.getId());
+                    return unitOfWork.transactional(applicationRepository.save(application)
+                                    .flatMap(saved -> {
+                                        // ✅ Validación automática: el evento sale por el outbox, en la misma transacción
+                                        if (requiresCapacityValidation(saved, tipoPrestamo)) {
+                                            log.info("AUTO-VAL encolar validación idApp=" + saved.getIdApplication());
+                                            return outboxRepository.enqueueCapacityRequests(
+                                                            List.of(capacityEvent(saved, tipoPrestamo, user)))
+                                                    .thenReturn(saved);
+                                        }
+                                        return Mono.just(saved);
+                                    }))
+                            .map(saved -> new CreatedApplication(saved, user, tipoPrestamo));
+                })
+                .doOnSuccess(s -> log.info(ApplicationConstants.LOG_APP_CREATED + s.getApplication().getIdApplication()))
                 .doOnError(e -> log.warning(ApplicationConstants.LOG_CREATION_ERROR + e.getMessage()));
     }
 
+    /**
+     * Crea varias solicitudes en un solo paso.
+     * Usuarios, emails y tipos de préstamo se consultan una vez por valor distinto;
+     * las válidas se guardan juntas en una transacción junto con sus validaciones
+     * automáticas en el outbox. Cada elemento recibe su propio resultado, en el orden recibido.
+     */
+    public Mono<List<ApplicationBatchResult>> executeBatch(List<Application> applications, String token) {
+        if (applications == null || applications.isEmpty()) {
+            return Mono.error(new DomainExceptions.ValidationException(ApplicationConstants.MSG_BATCH_VACIO));
+        }
+        if (applications.size() > ApplicationConstants.BATCH_MAX_ITEMS) {
+            return Mono.error(new DomainExceptions.ValidationException(ApplicationConstants.MSG_BATCH_EXCEDE));
+        }
+
+        ApplicationBatchResult[] results = new ApplicationBatchResult[applications.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < applications.size(); i++) {
+            DomainExceptions error = mandatoryFieldsError(applications.get(i));
+            if (error != null) {
+                results[i] = rejected(i, error);
+            } else {
+                candidates.add(i);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Mono.just(List.of(results));
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<Long> loanTypeIds = new HashSet<>();
+        for (int i : candidates) {
+            Application application = applications.get(i);
+            userIds.add(application.getIdUser());
+            emails.add(application.getEmail());
+            loanTypeIds.add(application.getLoanTypeID());
+        }
+
+        Mono<Map<Long, User>> users = usuarioClient.getUsersByIds(userIds, token)
+                .collectMap(User::getIdNumber);
+        Mono<Map<String, Boolean>> registeredEmails = Flux.fromIterable(emails)
+                .flatMap(email -> usuarioClient.existsByEmail(email, token)
+                                .defaultIfEmpty(false)
+                                .map(exists -> Tuples.of(email, exists)),
+                        ApplicationConstants.BATCH_LOOKUP_CONCURRENCY)
+                .collectMap(Tuple2::getT1, Tuple2::getT2);
+        Mono<Map<Long, LoanType>> loanTypes = Flux.fromIterable(loanTypeIds)
+                .flatMap(loanTypeRepository::findById, ApplicationConstants.BATCH_LOOKUP_CONCURRENCY)
+                .collectMap(LoanType::getLoanTypeID);
+
+        return Mono.zip(users, registeredEmails, loanTypes)
+                .flatMap(lookups -> {
+                    List<Integer> valid = new ArrayList<>();
+                    for (int i : candidates) {
+                        Application application = applications.get(i);
+                        DomainExceptions error = batchItemError(application,
+                                lookups.getT1().get(application.getIdUser()),
+                                lookups.getT2().get(application.getEmail()),
+                                lookups.getT3().get(application.getLoanTypeID()));
+                        if (error != null) {
+                            results[i] = rejected(i, error);
+                        } else {
+                            application.setIdState(CodeState.PENDIENTE_REVISION.getId());
+                            valid.add(i);
+                        }
+                    }
+                    if (valid.isEmpty()) {
+                        return Mono.just(List.of(results));
+                    }
+                    List<Application> toSave = valid.stream().map(applications::get).toList();
+                    return unitOfWork.transactional(applicationRepository.saveAll(toSave)
+                            .collectList()
+                            .flatMap(saved -> {
+                                List<CapacityRequestEvent> events = new ArrayList<>();
+                                for (int k = 0; k < saved.size(); k++) {
+                                    Application application = saved.get(k);
+                                    User user = lookups.getT1().get(application.getIdUser());
+                                    LoanType loanType = lookups.getT3().get(application.getLoanTypeID());
+                                    results[valid.get(k)] = ApplicationBatchResult.created(valid.get(k),
+                                            new CreatedApplication(application, user, loanType));
+                                    if (requiresCapacityValidation(application, loanType)) {
+                                        events.add(capacityEvent(application, loanType, user));
+                                    }
+                                }
+                                Mono<Void> enqueue = events.isEmpty()
+                                        ? Mono.empty()
+                                        : outboxRepository.enqueueCapacityRequests(events);
+                                return enqueue.then(Mono.fromSupplier(() -> List.of(results)));
+                            }));
+                })
+                .doOnSuccess(list -> log.info(ApplicationConstants.LOG_BATCH_RESULTADO
+                        + list.stream().filter(ApplicationBatchResult::isCreated).count() + "/" + list.size()));
+    }
+
+    private static DomainExceptions mandatoryFieldsError(Application application) {
+        if (application.getAmount() == null || application.getTerm() == null || application.getEmail() == null) {
+            return new DomainExceptions.DatosObligatorios(ApplicationConstants.MSG_MANDATORY_FIELDS);
+        }
+        if (application.getLoanTypeID() == null) {
+            return new DomainExceptions.DatosObligatorios(ApplicationConstants.MSG_LOAN_TYPE_REQUIRED);
+        }
+        if (application.getIdUser() == null) {
+            return new DomainExceptions.DatosObligatorios(ApplicationConstants.MSG_USER_REQUIRED);
+        }
+        return null;
+    }
+
+    /**
+     * Mismas reglas que {@link #validateCreation}, evaluadas sobre consultas ya resueltas.
+     */
+    private static DomainExceptions batchItemError(Application application, User user,
+                                                   Boolean emailExists, LoanType loanType) {
+        if (user == null) {
+            return new DomainExceptions.NotFound(ApplicationConstants.MSG_USER_NOT_FOUND);
+        }
+        if (!Boolean.TRUE.equals(emailExists)) {
+            return new DomainExceptions.ValidationException(ApplicationConstants.MSG_EMAIL_NOT_FOUND);
+        }
+        if (loanType == null) {
+            return new DomainExceptions.TipoPrestamoNoExiste(ApplicationConstants.MSG_LOAN_TYPE_NOT_FOUND);
+        }
+        if (application.getAmount().compareTo(loanType.getMinimumAmount()) < 0 ||
+                application.getAmount().compareTo(loanType.getMaximumAmount()) > 0) {
+            return new DomainExceptions.MontoFueraDeRango(ApplicationConstants.MSG_AMOUNT_OUT_OF_RANGE);
+        }
+        return null;
+    }
+
+    private static ApplicationBatchResult rejected(int index, DomainExceptions error) {
+        return ApplicationBatchResult.rejected(index, error.getCode(), error.getMessage());
+    }
+
+    private boolean requiresCapacityValidation(Application saved, LoanType loanType) {
+        return Boolean.TRUE.equals(loanType.getAutomaticValidation()) && !isFinalState(saved.getIdState());
+    }
+
+    /**
+     * Construye el evento para la Lambda de capacidad de endeudamiento.
+     */
+    private static CapacityRequestEvent capacityEvent(Application saved, LoanType loanType, User user) {
+        // Normaliza tasa mensual (si viene como 2.5, se divide entre 100)
+        BigDecimal monthlyRate = loanType.getRateInterest();
+        if (monthlyRate != null && monthlyRate.compareTo(BigDecimal.ONE) >= 0) {
+            monthlyRate = monthlyRate.divide(BigDecimal.valueOf(100), MathContext.DECIMAL64);
+        }
+
+        return CapacityRequestEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .correlationId(UUID.randomUUID().toString())
+                .idApplication(saved.getIdApplication())
+                .idUser(saved.getIdUser())
+                .email(saved.getEmail())
+                .loanTypeId(saved.getLoanTypeID())
+                .amount(saved.getAmount())
+                .term(saved.getTerm())
+                .monthlyRate(monthlyRate)
+                .deudaMensualActual(BigDecimal.ZERO) // TODO: reemplazar con deuda real
+                .userBaseSalary(user.getBaseSalary())
+                .build();
+    }
+
+    /**
+     * Ejecuta en paralelo las validaciones de creación (usuario, email y tipo de préstamo con su monto)
+     * y resuelve el resultado con una prioridad fija, la misma del lote ({@link #batchItemError}):
+     * usuario, luego email, luego tipo de préstamo. Si varias fallan gana siempre la primera en ese
+     * orden, sin importar cuál respondió antes.
+     *
+     * No es fail-fast: los resultados se consumen en orden de prioridad, así que un error de menor
+     * prioridad espera a que respondan las consultas anteriores (por ejemplo, un usuario lento o con
+     * reintentos retrasa el rechazo por email o por tipo de préstamo). Cuando el error finalmente sale
+     * se cancelan las validaciones que sigan en curso.
+     * Un usuario inexistente falla con NotFound, como en el lote, en vez de terminar vacío.
+     */
+    private Mono<Tuple2<User, LoanType>> validateCreation(Application application, String token) {
+        Mono<User> user = usuarioClient.getUserById(application.getIdUser(), token)
+                .switchIfEmpty(Mono.error(new DomainExceptions.NotFound(ApplicationConstants.MSG_USER_NOT_FOUND)));
+
+        Mono<Boolean> emailExists = usuarioClient.existsByEmail(application.getEmail(), token)
+                .defaultIfEmpty(false)
+                .flatMap(exists -> Boolean.TRUE.equals(exists)
+                        ? Mono.just(true)
+                        : Mono.error(new DomainExceptions.ValidationException(ApplicationConstants.MSG_EMAIL_NOT_FOUND)));
+
+        Mono<LoanType> loanType = loanTypeRepository.findById(application.getLoanTypeID())
+                .switchIfEmpty(Mono.error(new DomainExceptions.TipoPrestamoNoExiste(
+                        ApplicationConstants.MSG_LOAN_TYPE_NOT_FOUND)))
+                .flatMap(tipoPrestamo -> validateAmount(application, tipoPrestamo).thenReturn(tipoPrestamo));
+
+        return Flux.<Signal<?>>mergeSequential(user.materialize(), emailExists.materialize(), loanType.materialize())
+                .<Object>handle((signal, sink) -> {
+                    // Ninguna consulta termina vacía: cada señal trae un valor o el error de su validación
+                    if (signal.isOnError()) {
+                        sink.error(signal.getThrowable());
+                    } else {
+                        sink.next(signal.get());
+                    }
+                })
+                .collectList()
+                .map(results -> Tuples.of((User) results.get(0), (LoanType) results.get(2)));
+    }
+
     /**
      * Valida que el monto esté dentro del rango permitido.
      */
@@ -116,7 +304,7 @@ public class ApplicationUseCase {
     /**
      * Verifica si el estado es final (APROBADA o RECHAZADA).
      */
-    private boolean isFinalState(Long idState) {
+    private static boolean isFinalState(Long idState) {
         return CodeState.APROBADA.getId().equals(idState) || CodeState.RECHAZADA.getId().equals(idState);
     }
 
@@ -124,6 +312,46 @@ public class ApplicationUseCase {
         return applicationRepository.findAll();
     }
 
+    /**
+     * Página de solicitudes por keyset sobre id_application.
+     * Se pide un registro extra para saber si existe una página siguiente sin hacer COUNT.
+     */
+    public Mono<ApplicationPage> getApplicationPage(Long afterId, Integer limit) {
+        int size = limit == null ? ApplicationConstants.PAGE_DEFAULT_LIMIT : limit;
+        if (size < 1 || size > ApplicationConstants.PAGE_MAX_LIMIT) {
+            return Mono.error(new DomainExceptions.ValidationException(ApplicationConstants.MSG_LIMIT_INVALIDO));
+        }
+        long from = afterId == null ? 0L : afterId;
+        return toPage(applicationRepository.findPage(from, size + 1), size);
+    }
+
+    /**
+     * Solicitudes de un usuario, vigentes y archivadas, por keyset sobre (id_user, id_application).
+     * Misma convención que {@link #getApplicationPage}: un registro extra indica si hay página siguiente.
+     */
+    public Mono<ApplicationPage> getApplicationsByUser(Long idUser, Long afterId, Integer limit) {
+        if (idUser == null) {
+            return Mono.error(new DomainExceptions.ValidationException(ApplicationConstants.MSG_ID_USUARIO_INVALIDO));
+        }
+        int size = limit == null ? ApplicationConstants.PAGE_DEFAULT_LIMIT : limit;
+        if (size < 1 || size > ApplicationConstants.PAGE_MAX_LIMIT) {
+            return Mono.error(new DomainExceptions.ValidationException(ApplicationConstants.MSG_LIMIT_INVALIDO));
+        }
+        long from = afterId == null ? 0L : afterId;
+        return toPage(applicationRepository.findByUser(idUser, from, size + 1), size);
+    }
+
+    private static Mono<ApplicationPage> toPage(Flux<Application> page, int size) {
+        return page.collectList()
+                .map(rows -> {
+                    if (rows.size() <= size) {
+                        return new ApplicationPage(rows, null);
+                    }
+                    List<Application> items = rows.subList(0, size);
+                    return new ApplicationPage(items, items.get(size - 1).getIdApplication());
+                });
+    }
+
     public Mono<Application> getApplicationById(Long id) {
         return applicationRepository.findById(id)
                 .switchIfEmpty(Mono.error(new DomainExceptions.NotFound(
@@ -157,6 +385,9 @@ public class ApplicationUseCase {
     /**
      * Aplica decisión manual (APROBADA/RECHAZADA).
      * ✅ Bloquea si la solicitud ya está finalizada.
+     * El evento solo usa datos de la solicitud: no se consulta usuario ni tipo de préstamo.
+     * El evento se guarda en el outbox en la misma transacción que el cambio de estado;
+     * el envío a SQS lo hace el relay, fuera de la petición.
      */
     public Mono<Application> decide(Long applicationId,
                                     CodeState decision,
@@ -168,41 +399,24 @@ public class ApplicationUseCase {
             return Mono.error(new DomainExceptions.ValidationException(ApplicationConstants.MSG_DECISION_ALLOWED));
         }
 
-        return applicationRepository.findById(applicationId)
-                .switchIfEmpty(Mono.error(new DomainExceptions.NotFound(
-                        ApplicationConstants.MSG_APPLICATION_NOT_FOUND)))
-                .flatMap(app -> {
-                    if (isFinalState(app.getIdState())) {
-                        return Mono.error(new DomainExceptions.ValidationException(
-                                "La solicitud ya fue procesada y no puede modificarse."));
-                    }
-                    return Mono.zip(
-                            Mono.just(app),
-                            usuarioClient.getUserById(app.getIdUser(), token),
-                            loanTypeRepository.findById(app.getLoanTypeID())
-                    );
-                })
-                .flatMap(tuple -> {
-                    Application app = tuple.getT1();
-                    app.setIdState(decision.getId());
+        return unitOfWork.transactional(transition(applicationId, decision,
+                ApplicationConstants.MSG_APPLICATION_NOT_FOUND,
+                "La solicitud ya fue procesada y no puede modificarse.")
+                .flatMap(saved -> {
+                    ApplicationDecisionEvent event = ApplicationDecisionEvent.builder()
+                            .eventId(UUID.randomUUID().toString())
+                            .idApplication(saved.getIdApplication())
+                            .idUser(saved.getIdUser())
+                            .email(saved.getEmail())
+                            .loanTypeId(saved.getLoanTypeID())
+                            .decision(decision.name())
+                            .observations(observations)
+                            .correlationId(correlationId)
+                            .decidedAt(java.time.Instant.now())
+                            .build();
 
-                    return applicationRepository.save(app)
-                            .flatMap(saved -> {
-                                ApplicationDecisionEvent event = ApplicationDecisionEvent.builder()
-                                        .eventId(UUID.randomUUID().toString())
-                                        .idApplication(saved.getIdApplication())
-                                        .idUser(saved.getIdUser())
-                                        .email(saved.getEmail())
-                                        .loanTypeId(saved.getLoanTypeID())
-                                        .decision(decision.name())
-                                        .observations(observations)
-                                        .correlationId(correlationId)
-                                        .decidedAt(java.time.Instant.now())
-                                        .build();
-
-                                return decisionPublisher.publish(event).thenReturn(saved);
-                            });
-                })
+                    return outboxRepository.enqueueDecision(event).thenReturn(saved);
+                }))
                 .doOnSuccess(a -> log.info(ApplicationConstants.LOG_DECISION_APPLY +
                         a.getIdApplication() + decision.name() + correlationId))
                 .doOnError(e -> log.warning(ApplicationConstants.LOG_DECISION_ERROR +
@@ -222,16 +436,23 @@ public class ApplicationUseCase {
                     "Decisión automática inválida: " + event.getDecision()));
         }
 
-        return applicationRepository.findById(event.getIdApplication())
-                .switchIfEmpty(Mono.error(new DomainExceptions.NotFound(
-                        "Solicitud no encontrada: " + event.getIdApplication())))
-                .flatMap(app -> {
-                    if (isFinalState(app.getIdState())) {
-                        return Mono.error(new DomainExceptions.ValidationException(
-                                "Solicitud ya finalizada. Se ignora la respuesta automática."));
-                    }
-                    app.setIdState(state.getId());
-                    return applicationRepository.save(app);
-                });
+        return transition(event.getIdApplication(), state,
+                "Solicitud no encontrada: " + event.getIdApplication(),
+                "Solicitud ya finalizada. Se ignora la respuesta automática.");
+    }
+
+    /**
+     * Pasa la solicitud a un estado final con un único UPDATE condicional: solo cambia si
+     * sigue en un estado abierto, así una decisión manual y una automática simultáneas no
+     * pueden ganar ambas. Si no cambió ninguna fila se distingue entre inexistente y ya finalizada.
+     */
+    private Mono<Application> transition(Long applicationId, CodeState target,
+                                         String notFoundMessage, String alreadyFinalMessage) {
+        return applicationRepository.transitionState(applicationId, OPEN_STATES, target.getId())
+                .flatMap(changed -> applicationRepository.findById(applicationId)
+                        .switchIfEmpty(Mono.error(new DomainExceptions.NotFound(notFoundMessage)))
+                        .flatMap(app -> Boolean.TRUE.equals(changed)
+                                ? Mono.just(app)
+                                : Mono.error(new DomainExceptions.ValidationException(alreadyFinalMessage))));
     }
 }
@@ -0,0 +1,19 @@
+package co.com.pragma.solicitudes.usecase.application;
+
+import co.com.pragma.solicitudes.model.application.ReviewApplication;
+import co.com.pragma.solicitudes.model.application.gateways.ReviewApplicationRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+/**
+ * Consultas de la bandeja de revisión sobre el modelo de lectura.
+ */
+@RequiredArgsConstructor
+public class ReviewApplicationUseCase {
+
+    private final ReviewApplicationRepository reviewApplicationRepository;
+
+    public Flux<ReviewApplication> getReviewApplicationsByState(Long idState) {
+        return reviewApplicationRepository.findByState(idState);
+    }
+}
@@ -0,0 +1,43 @@
+package co.com.pragma.solicitudes.usecase.archive;
+
+import co.com.pragma.solicitudes.model.application.gateways.ApplicationArchiveRepository;
+import co.com.pragma.solicitudes.model.enums.CodeState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.java.Log;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Archivador de solicitudes finalizadas (APROBADA/RECHAZADA).
+ * Mueve lotes pequeños con una pausa entre uno y otro para no competir con el tráfico
+ * de la API; cada lote es su propia transacción, así un corte no deja trabajo a medias.
+ */
+@Log
+@RequiredArgsConstructor
+public class ApplicationArchiveUseCase {
+
+    static final List<Long> FINAL_STATES = List.of(CodeState.APROBADA.getId(), CodeState.RECHAZADA.getId());
+
+    private final ApplicationArchiveRepository archiveRepository;
+
+    /**
+     * Archiva lotes de hasta chunkSize mientras vengan llenos, hasta maxChunks.
+     *
+     * @return cantidad de solicitudes archivadas en esta ejecución
+     */
+    public Mono<Integer> archive(Duration minAge, int chunkSize, int maxChunks, Duration pause) {
+        return Flux.range(0, maxChunks)
+                .concatMap(i -> Mono.delay(i == 0 ? Duration.ZERO : pause)
+                        .then(Mono.defer(() -> archiveRepository.archiveChunk(FINAL_STATES, minAge, chunkSize))))
+                .takeUntil(moved -> moved < chunkSize)
+                .reduce(0, Integer::sum)
+                .doOnNext(total -> {
+                    if (total > 0) {
+                        log.info("ARCHIVO solicitudes archivadas=" + total);
+                    }
+                });
+    }
+}
@@ -74,4 +74,13 @@ public abstract class DomainExceptions extends RuntimeException {
             super(ApplicationConstants.VALIDATION_ERROR, message);
         }
     }
+
+    /**
+     * Un servicio del que dependemos no está disponible (circuito abierto o sin capacidad).
+     */
+    public static class ServicioNoDisponible extends DomainExceptions {
+        public ServicioNoDisponible(String message) {
+            super(ApplicationConstants.SERVICIO_NO_DISPONIBLE, message);
+        }
+    }
 }
@@ -0,0 +1,86 @@
+package co.com.pragma.solicitudes.usecase.outbox;
+
+import co.com.pragma.solicitudes.model.applicationdecisionevent.ApplicationDecisionEvent;
+import co.com.pragma.solicitudes.model.applicationdecisionevent.gateways.DecisionPublisher;
+import co.com.pragma.solicitudes.model.capacity.CapacityRequestEvent;
+import co.com.pragma.solicitudes.model.capacity.gateways.ValidationPublisher;
+import co.com.pragma.solicitudes.model.outbox.OutboxEventType;
+import co.com.pragma.solicitudes.model.outbox.OutboxMessage;
+import co.com.pragma.solicitudes.model.outbox.gateways.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.java.Log;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Relay del outbox: reserva eventos pendientes, los publica en lote por tipo
+ * y los marca enviados. Si un lote falla se programa su reintento con backoff.
+ * Entrega al menos una vez: un consumidor puede ver duplicados (usar eventId).
+ */
+@Log
+@RequiredArgsConstructor
+public class OutboxRelayUseCase {
+
+    private final OutboxRepository outboxRepository;
+    private final DecisionPublisher decisionPublisher;
+    private final ValidationPublisher validationPublisher;
+
+    /**
+     * Procesa lotes seguidos mientras vengan llenos, hasta maxBatches.
+     *
+     * @return cantidad de eventos reservados (enviados o reprogramados)
+     */
+    public Mono<Integer> drain(int batchSize, int maxBatches) {
+        return Mono.defer(() -> relayBatch(batchSize))
+                .repeat(maxBatches - 1L)
+                .takeUntil(claimed -> claimed < batchSize)
+                .reduce(0, Integer::sum);
+    }
+
+    /**
+     * @return cantidad de eventos reservados en este lote
+     */
+    public Mono<Integer> relayBatch(int batchSize) {
+        return outboxRepository.claimPending(batchSize)
+                .collectList()
+                .flatMap(messages -> {
+                    if (messages.isEmpty()) {
+                        return Mono.just(0);
+                    }
+                    Map<OutboxEventType, List<OutboxMessage>> byType = messages.stream()
+                            .collect(Collectors.groupingBy(OutboxMessage::getType,
+                                    () -> new EnumMap<>(OutboxEventType.class), Collectors.toList()));
+                    return Flux.fromIterable(byType.entrySet())
+                            .concatMap(group -> publishGroup(group.getKey(), group.getValue()))
+                            .then(Mono.just(messages.size()));
+                });
+    }
+
+    public Mono<Long> purgeSent() {
+        return outboxRepository.purgeSent();
+    }
+
+    private Mono<Void> publishGroup(OutboxEventType type, List<OutboxMessage> messages) {
+        List<Long> ids = messages.stream().map(OutboxMessage::getId).toList();
+        Mono<Void> publish = switch (type) {
+            case APPLICATION_DECISION -> decisionPublisher.publishAll(payloads(messages, ApplicationDecisionEvent.class));
+            case CAPACITY_REQUEST -> validationPublisher.publishAll(payloads(messages, CapacityRequestEvent.class));
+        };
+        return publish
+                .then(outboxRepository.markSent(ids))
+                .doOnSuccess(v -> log.info("OUTBOX enviados " + type + "=" + ids.size()))
+                .onErrorResume(e -> {
+                    log.warning("OUTBOX fallo enviando " + type + " ids=" + ids + ": " + e.getMessage());
+                    return outboxRepository.markFailed(ids, e.getMessage());
+                });
+    }
+
+    private static <T> List<T> payloads(List<OutboxMessage> messages, Class<T> type) {
+        return messages.stream().map(m -> type.cast(m.getPayload())).toList();
+    }
+}
@@ -0,0 +1,31 @@
+package co.com.pragma.solicitudes.usecase.stats;
+
+import co.com.pragma.solicitudes.model.application.ApplicationStats;
+import co.com.pragma.solicitudes.model.application.gateways.ApplicationStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.java.Log;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Estadísticas de cartera (cantidad y monto por estado × tipo de préstamo),
+ * leídas de un agregado mantenido en cada escritura en lugar de recorrer las solicitudes.
+ */
+@Log
+@RequiredArgsConstructor
+public class ApplicationStatsUseCase {
+
+    private final ApplicationStatsRepository statsRepository;
+
+    public Flux<ApplicationStats> getStats() {
+        return statsRepository.findAll();
+    }
+
+    /**
+     * Corrige cualquier desvío del agregado (escrituras fuera del adapter, restauraciones).
+     */
+    public Mono<Integer> reconcile() {
+        return statsRepository.reconcile()
+                .doOnNext(rows -> log.info("ESTADISTICAS reconciliadas celdas=" + rows));
+    }
+}
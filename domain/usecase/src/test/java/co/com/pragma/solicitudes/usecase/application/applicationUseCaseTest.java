@@ -2,47 +2,71 @@ package co.com.pragma.solicitudes.usecase.application;
 
 import co.com.pragma.solicitudes.model.application.Application;
 import co.com.pragma.solicitudes.model.application.gateways.ApplicationRepository;
-import co.com.pragma.solicitudes.model.applicationdecisionevent.gateways.DecisionPublisher;
-import co.com.pragma.solicitudes.model.capacity.gateways.ValidationPublisher;
+import co.com.pragma.solicitudes.model.capacity.CapacityResultEvent;
+import co.com.pragma.solicitudes.model.constants.ApplicationConstants;
 import co.com.pragma.solicitudes.model.enums.CodeState;
 import co.com.pragma.solicitudes.model.loantype.LoanType;
 import co.com.pragma.solicitudes.model.loantype.gateways.LoanTypeRepository;
+import co.com.pragma.solicitudes.model.outbox.gateways.OutboxRepository;
+import co.com.pragma.solicitudes.model.transaction.gateways.UnitOfWork;
 import co.com.pragma.solicitudes.model.user.User;
 import co.com.pragma.solicitudes.model.user.gateways.UserRepository;
 import co.com.pragma.solicitudes.usecase.exceptions.DomainExceptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 class ApplicationUseCaseTest {
 
+    private static final Duration LATENCY = Duration.ofMillis(100);
+
     private ApplicationRepository applicationRepository;
     private LoanTypeRepository loanTypeRepository;
     private UserRepository usuarioClient;
-    private DecisionPublisher decisionPublisher;
+    private OutboxRepository outboxRepository;
     private ApplicationUseCase useCase;
-    private  ValidationPublisher validationPublisher; // puerto para publicar validación
+    private UnitOfWork unitOfWork;             // transacción de solicitud + outbox
 
     @BeforeEach
     public void setUp() {
         applicationRepository = Mockito.mock(ApplicationRepository.class);
         loanTypeRepository    = Mockito.mock(LoanTypeRepository.class);
         usuarioClient         = Mockito.mock(UserRepository.class);
-        decisionPublisher     = Mockito.mock(DecisionPublisher.class);
-        validationPublisher     = Mockito.mock(ValidationPublisher.class);
+        outboxRepository      = Mockito.mock(OutboxRepository.class);
+        unitOfWork            = Mockito.mock(UnitOfWork.class);
 
         useCase = new ApplicationUseCase(
-                applicationRepository, loanTypeRepository, usuarioClient, decisionPublisher, validationPublisher);
+                applicationRepository, loanTypeRepository, usuarioClient, outboxRepository, unitOfWork);
 
-        // Publicación a SQS siempre OK
-        when(decisionPublisher.publish(any())).thenReturn(Mono.empty());
+        // Outbox siempre OK; la transacción ejecuta el trabajo tal cual
+        when(outboxRepository.enqueueDecision(any())).thenReturn(Mono.empty());
+        when(outboxRepository.enqueueCapacityRequests(anyList())).thenReturn(Mono.empty());
+        when(unitOfWork.transactional(any())).thenAnswer(inv -> inv.getArgument(0));
     }
 
     @Test
@@ -77,9 +101,16 @@ class ApplicationUseCaseTest {
                 .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
 
         StepVerifier.create(useCase.execute(input, "token"))
-                .assertNext(saved -> org.junit.jupiter.api.Assertions.assertEquals(
-                        CodeState.PENDIENTE_REVISION.getId(), saved.getIdState()))
+                .assertNext(created -> {
+                    assertEquals(CodeState.PENDIENTE_REVISION.getId(), created.getApplication().getIdState());
+                    // El resultado trae usuario y tipo de préstamo para armar la respuesta sin más consultas
+                    assertSame(mockUser, created.getUser());
+                    assertSame(loanType, created.getLoanType());
+                })
                 .verifyComplete();
+
+        verify(usuarioClient, times(1)).getUserById(eq(1L), anyString());
+        verify(loanTypeRepository, times(1)).findById(1L);
     }
 
     @Test
@@ -130,32 +161,235 @@ class ApplicationUseCaseTest {
                 .verify();
     }
 
+    @Test
+    void crearSolicitud_ValidacionesEnParalelo() {
+        Application input = Application.builder()
+                .amount(BigDecimal.valueOf(5_000))
+                .term(12)
+                .email("test@mail.com")
+                .loanTypeID(1L)
+                .idUser(1L)
+                .build();
+
+        LoanType loanType = LoanType.builder()
+                .loanTypeID(1L)
+                .minimumAmount(BigDecimal.valueOf(1_000))
+                .maximumAmount(BigDecimal.valueOf(10_000))
+                .build();
+
+        User mockUser = User.builder().idNumber(1L).name("T").lastName("U").email("test@mail.com").build();
+
+        // Cada consulta tarda 100 ms: en secuencia serían 300 ms, en paralelo 100 ms
+        when(usuarioClient.getUserById(eq(1L), anyString()))
+                .thenAnswer(inv -> Mono.delay(LATENCY).thenReturn(mockUser));
+        when(usuarioClient.existsByEmail(eq("test@mail.com"), anyString()))
+                .thenAnswer(inv -> Mono.delay(LATENCY).thenReturn(true));
+        when(loanTypeRepository.findById(1L))
+                .thenAnswer(inv -> Mono.delay(LATENCY).thenReturn(loanType));
+        when(applicationRepository.save(any(Application.class)))
+                .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+        StepVerifier.withVirtualTime(() -> useCase.execute(input, "token"))
+                .expectSubscription()
+                .expectNoEvent(LATENCY.minusMillis(1))
+                .thenAwait(Duration.ofMillis(1))
+                .assertNext(created -> assertEquals(CodeState.PENDIENTE_REVISION.getId(), created.getApplication().getIdState()))
+                .verifyComplete();
+    }
+
+    @Test
+    void crearSolicitud_EmailNoExiste_EsperaAlUsuarioYCancelaElTipoPrestamo() {
+        Application input = Application.builder()
+                .amount(BigDecimal.valueOf(5_000))
+                .term(12)
+                .email("otro@mail.com")
+                .loanTypeID(1L)
+                .idUser(1L)
+                .build();
+
+        AtomicBoolean userCancelled = new AtomicBoolean();
+        AtomicBoolean loanTypeCancelled = new AtomicBoolean();
+        User mockUser = User.builder().idNumber(1L).name("T").lastName("U").email("test@mail.com").build();
+        LoanType loanType = LoanType.builder().loanTypeID(1L).build();
+
+        // El email falla a los 100 ms, pero el usuario tiene prioridad: se espera a que resuelva (200 ms)
+        when(usuarioClient.getUserById(eq(1L), anyString()))
+                .thenAnswer(inv -> Mono.delay(LATENCY.multipliedBy(2))
+                        .thenReturn(mockUser)
+                        .doOnCancel(() -> userCancelled.set(true)));
+        when(usuarioClient.existsByEmail(eq("otro@mail.com"), anyString()))
+                .thenAnswer(inv -> Mono.delay(LATENCY).thenReturn(false));
+        when(loanTypeRepository.findById(1L))
+                .thenAnswer(inv -> Mono.delay(LATENCY.multipliedBy(3))
+                        .thenReturn(loanType)
+                        .doOnCancel(() -> loanTypeCancelled.set(true)));
+
+        StepVerifier.withVirtualTime(() -> useCase.execute(input, "token"))
+                .expectSubscription()
+                .expectNoEvent(LATENCY.multipliedBy(2).minusMillis(1))
+                .thenAwait(Duration.ofMillis(1))
+                .expectError(DomainExceptions.ValidationException.class)
+                .verify();
+
+        assertFalse(userCancelled.get());
+        assertTrue(loanTypeCancelled.get());
+        verify(applicationRepository, never()).save(any());
+    }
+
+    @Test
+    void crearSolicitud_UsuarioNoExiste_TienePrioridadSobreLosDemasErrores() {
+        Application input = Application.builder()
+                .amount(BigDecimal.valueOf(5_000))
+                .term(12)
+                .email("otro@mail.com")
+                .loanTypeID(99L)
+                .idUser(1L)
+                .build();
+
+        // Email y tipo de préstamo fallan antes, pero gana que el usuario no existe
+        when(usuarioClient.getUserById(eq(1L), anyString()))
+                .thenAnswer(inv -> Mono.delay(LATENCY.multipliedBy(3)).then(Mono.<User>empty()));
+        when(usuarioClient.existsByEmail(eq("otro@mail.com"), anyString()))
+                .thenAnswer(inv -> Mono.delay(LATENCY).thenReturn(false));
+        when(loanTypeRepository.findById(99L))
+                .thenAnswer(inv -> Mono.delay(LATENCY).then(Mono.<LoanType>empty()));
+
+        StepVerifier.withVirtualTime(() -> useCase.execute(input, "token"))
+                .expectSubscription()
+                .thenAwait(LATENCY.multipliedBy(3))
+                .expectError(DomainExceptions.NotFound.class)
+                .verify();
+
+        verify(applicationRepository, never()).save(any());
+    }
+
+    @Test
+    void crearSolicitud_EmailTienePrioridadSobreTipoPrestamoAunqueFalleDespues() {
+        Application input = Application.builder()
+                .amount(BigDecimal.valueOf(5_000))
+                .term(12)
+                .email("otro@mail.com")
+                .loanTypeID(99L)
+                .idUser(1L)
+                .build();
+
+        User mockUser = User.builder().idNumber(1L).name("T").lastName("U").email("test@mail.com").build();
+
+        when(usuarioClient.getUserById(eq(1L), anyString())).thenReturn(Mono.just(mockUser));
+        when(usuarioClient.existsByEmail(eq("otro@mail.com"), anyString()))
+                .thenAnswer(inv -> Mono.delay(LATENCY.multipliedBy(2)).thenReturn(false));
+        when(loanTypeRepository.findById(99L))
+                .thenAnswer(inv -> Mono.delay(LATENCY).then(Mono.<LoanType>empty()));
+
+        StepVerifier.withVirtualTime(() -> useCase.execute(input, "token"))
+                .expectSubscription()
+                .thenAwait(LATENCY.multipliedBy(2))
+                .expectError(DomainExceptions.ValidationException.class)
+                .verify();
+    }
+
     @Test
     void decidir_Aprobada_PublicaEvento() {
-        Application existing = Application.builder()
+        Application decided = Application.builder()
                 .idApplication(10L)
                 .email("user@mail.com")
                 .idUser(1L)
                 .loanTypeID(2L)
-                .idState(CodeState.PENDIENTE_REVISION.getId())
+                .idState(CodeState.APROBADA.getId())
                 .build();
 
-        User mockUser = User.builder().idNumber(1L).name("T").lastName("U").email("user@mail.com").build();
-        LoanType loanType = LoanType.builder().loanTypeID(2L).build();
-
-        when(applicationRepository.findById(10L)).thenReturn(Mono.just(existing));
-        when(usuarioClient.getUserById(eq(1L), anyString())).thenReturn(Mono.just(mockUser));
-        when(loanTypeRepository.findById(2L)).thenReturn(Mono.just(loanType));
-        when(applicationRepository.save(any(Application.class)))
-                .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(applicationRepository.transitionState(eq(10L), anyList(), eq(CodeState.APROBADA.getId())))
+                .thenReturn(Mono.just(true));
+        when(applicationRepository.findById(10L)).thenReturn(Mono.just(decided));
 
         StepVerifier.create(useCase.decide(10L, CodeState.APROBADA, "token", "corr-1", "obs"))
                 .assertNext(saved -> org.junit.jupiter.api.Assertions.assertEquals(
                         CodeState.APROBADA.getId(), saved.getIdState()))
                 .verifyComplete();
 
-        // se publicó el evento
-        verify(decisionPublisher, times(1)).publish(any());
+        // se encoló el evento en la misma transacción, sin reescribir la fila ni consultar usuario o tipo de préstamo
+        verify(outboxRepository, times(1)).enqueueDecision(any());
+        verify(unitOfWork, times(1)).transactional(any());
+        verify(applicationRepository, never()).save(any());
+        verify(usuarioClient, never()).getUserById(anyLong(), anyString());
+        verify(loanTypeRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void decidir_YaFinalizada_LanzaValidacionSinPublicar() {
+        when(applicationRepository.transitionState(eq(10L), anyList(), anyLong())).thenReturn(Mono.just(false));
+        when(applicationRepository.findById(10L)).thenReturn(Mono.just(
+                Application.builder().idApplication(10L).idState(CodeState.RECHAZADA.getId()).build()));
+
+        StepVerifier.create(useCase.decide(10L, CodeState.APROBADA, "token", "corr-1", "obs"))
+                .expectError(DomainExceptions.ValidationException.class)
+                .verify();
+        verify(outboxRepository, never()).enqueueDecision(any());
+    }
+
+    @Test
+    void decidir_NoExiste_LanzaNotFound() {
+        when(applicationRepository.transitionState(eq(10L), anyList(), anyLong())).thenReturn(Mono.just(false));
+        when(applicationRepository.findById(10L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.decide(10L, CodeState.APROBADA, "token", "corr-1", "obs"))
+                .expectError(DomainExceptions.NotFound.class)
+                .verify();
+    }
+
+    @Test
+    void decisionManualYAutomaticaConcurrentes_SoloUnaGana() throws Exception {
+        // Simula el UPDATE condicional de la BD sobre una única fila
+        AtomicLong state = new AtomicLong(CodeState.PENDIENTE_REVISION.getId());
+        when(applicationRepository.transitionState(eq(10L), anyList(), anyLong())).thenAnswer(inv -> {
+            List<Long> from = inv.getArgument(1);
+            Long to = inv.getArgument(2);
+            return Mono.fromCallable(() -> {
+                long current = state.get();
+                return from.contains(current) && state.compareAndSet(current, to);
+            });
+        });
+        when(applicationRepository.findById(10L)).thenAnswer(inv -> Mono.fromCallable(() ->
+                Application.builder().idApplication(10L).idUser(1L).email("user@mail.com")
+                        .loanTypeID(2L).idState(state.get()).build()));
+
+        int threads = 32;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                boolean manual = i % 2 == 0;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    Mono<Application> attempt = manual
+                            ? useCase.decide(10L, CodeState.APROBADA, "token", "corr", "obs")
+                            : useCase.applyAutoDecision(CapacityResultEvent.builder()
+                                    .idApplication(10L).decision(CodeState.RECHAZADA.name()).build());
+                    attempt.doOnNext(app -> winners.incrementAndGet())
+                            .onErrorResume(DomainExceptions.ValidationException.class, e -> {
+                                rejected.incrementAndGet();
+                                return Mono.empty();
+                            })
+                            .block(Duration.ofSeconds(5));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, winners.get());
+        assertEquals(threads - 1, rejected.get());
+        // El evento de decisión solo se encola si ganó la decisión manual
+        int published = state.get() == CodeState.APROBADA.getId() ? 1 : 0;
+        verify(outboxRepository, times(published)).enqueueDecision(any());
     }
 
     @Test
@@ -164,4 +398,119 @@ class ApplicationUseCaseTest {
                 .expectError(DomainExceptions.ValidationException.class)
                 .verify();
     }
+
+    @Test
+    void paginaSolicitudes_ConMasResultados_DevuelveCursor() {
+        Application a1 = Application.builder().idApplication(11L).build();
+        Application a2 = Application.builder().idApplication(12L).build();
+        Application a3 = Application.builder().idApplication(13L).build();
+        // se piden limit + 1 filas para saber si hay otra página
+        when(applicationRepository.findPage(10L, 3)).thenReturn(Flux.just(a1, a2, a3));
+
+        StepVerifier.create(useCase.getApplicationPage(10L, 2))
+                .assertNext(page -> {
+                    assertEquals(2, page.getItems().size());
+                    assertEquals(12L, page.getNextAfterId());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void paginaSolicitudes_UltimaPagina_SinCursor() {
+        when(applicationRepository.findPage(0L, ApplicationConstants.PAGE_DEFAULT_LIMIT + 1))
+                .thenReturn(Flux.just(Application.builder().idApplication(1L).build()));
+
+        StepVerifier.create(useCase.getApplicationPage(null, null))
+                .assertNext(page -> {
+                    assertEquals(1, page.getItems().size());
+                    assertNull(page.getNextAfterId());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void paginaSolicitudes_LimiteInvalido_LanzaValidacion() {
+        StepVerifier.create(useCase.getApplicationPage(null, ApplicationConstants.PAGE_MAX_LIMIT + 1))
+                .expectError(DomainExceptions.ValidationException.class)
+                .verify();
+        verify(applicationRepository, never()).findPage(anyLong(), anyInt());
+    }
+
+    @Test
+    void solicitudesPorUsuario_PaginaPorKeyset() {
+        Application a1 = Application.builder().idApplication(21L).idUser(7L).build();
+        Application a2 = Application.builder().idApplication(34L).idUser(7L).build();
+        Application a3 = Application.builder().idApplication(40L).idUser(7L).build();
+        when(applicationRepository.findByUser(7L, 20L, 3)).thenReturn(Flux.just(a1, a2, a3));
+
+        StepVerifier.create(useCase.getApplicationsByUser(7L, 20L, 2))
+                .assertNext(page -> {
+                    assertEquals(List.of(a1, a2), page.getItems());
+                    assertEquals(34L, page.getNextAfterId());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void solicitudesPorUsuario_UsuarioNulo_LanzaValidacion() {
+        StepVerifier.create(useCase.getApplicationsByUser(null, null, null))
+                .expectError(DomainExceptions.ValidationException.class)
+                .verify();
+        verify(applicationRepository, never()).findByUser(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void crearLote_ConsultasCompartidasYResultadoPorElemento() {
+        LoanType auto = LoanType.builder().loanTypeID(2L).minimumAmount(BigDecimal.valueOf(100))
+                .maximumAmount(BigDecimal.valueOf(5000)).rateInterest(BigDecimal.valueOf(2))
+                .automaticValidation(true).build();
+        User u1 = User.builder().idNumber(1L).email("a@mail.com").baseSalary(BigDecimal.valueOf(3000)).build();
+
+        Application ok1 = Application.builder().idUser(1L).email("a@mail.com").amount(BigDecimal.valueOf(1000))
+                .term(12).loanTypeID(2L).build();
+        Application ok2 = Application.builder().idUser(1L).email("a@mail.com").amount(BigDecimal.valueOf(2000))
+                .term(24).loanTypeID(2L).build();
+        Application fueraDeRango = Application.builder().idUser(1L).email("a@mail.com")
+                .amount(BigDecimal.valueOf(9000)).term(12).loanTypeID(2L).build();
+        Application sinMonto = Application.builder().idUser(1L).email("a@mail.com").term(12).loanTypeID(2L).build();
+        Application usuarioInexistente = Application.builder().idUser(7L).email("a@mail.com")
+                .amount(BigDecimal.valueOf(1000)).term(12).loanTypeID(2L).build();
+
+        when(usuarioClient.getUsersByIds(eq(Set.of(1L, 7L)), eq("token"))).thenReturn(Flux.just(u1));
+        when(usuarioClient.existsByEmail("a@mail.com", "token")).thenReturn(Mono.just(true));
+        when(loanTypeRepository.findById(2L)).thenReturn(Mono.just(auto));
+        AtomicLong ids = new AtomicLong(100);
+        when(applicationRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Application> toSave = inv.getArgument(0);
+            toSave.forEach(a -> a.setIdApplication(ids.getAndIncrement()));
+            return Flux.fromIterable(toSave);
+        });
+
+        StepVerifier.create(useCase.executeBatch(List.of(ok1, fueraDeRango, sinMonto, ok2, usuarioInexistente), "token"))
+                .assertNext(results -> {
+                    assertEquals(5, results.size());
+                    assertEquals(100L, results.get(0).getCreated().getApplication().getIdApplication());
+                    assertEquals(ApplicationConstants.MONTO_FUERA_DE_RANGO, results.get(1).getErrorCode());
+                    assertEquals(ApplicationConstants.DATOS_OBLIGATORIOS, results.get(2).getErrorCode());
+                    assertEquals(101L, results.get(3).getCreated().getApplication().getIdApplication());
+                    assertEquals(ApplicationConstants.NOT_FOUND, results.get(4).getErrorCode());
+                    assertSame(u1, results.get(3).getCreated().getUser());
+                })
+                .verifyComplete();
+
+        // Una consulta por valor distinto y un solo guardado con sus eventos en el outbox
+        verify(usuarioClient, never()).getUserById(anyLong(), anyString());
+        verify(usuarioClient, times(1)).existsByEmail("a@mail.com", "token");
+        verify(loanTypeRepository, times(1)).findById(2L);
+        verify(applicationRepository, times(1)).saveAll(argThat(list -> list.size() == 2));
+        verify(applicationRepository, never()).save(any());
+        verify(outboxRepository, times(1)).enqueueCapacityRequests(argThat(events -> events.size() == 2));
+    }
+
+    @Test
+    void crearLote_Vacio_LanzaValidacion() {
+        StepVerifier.create(useCase.executeBatch(List.of(), "token"))
+                .expectError(DomainExceptions.ValidationException.class)
+                .verify();
+    }
 }
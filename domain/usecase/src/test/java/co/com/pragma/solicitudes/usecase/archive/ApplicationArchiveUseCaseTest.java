@@ -0,0 +1,65 @@
+package co.com.pragma.solicitudes.usecase.archive;
+
+import co.com.pragma.solicitudes.model.application.gateways.ApplicationArchiveRepository;
+import co.com.pragma.solicitudes.model.enums.CodeState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ApplicationArchiveUseCaseTest {
+
+    private static final Duration MIN_AGE = Duration.ofDays(90);
+
+    private ApplicationArchiveRepository archiveRepository;
+    private ApplicationArchiveUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        archiveRepository = Mockito.mock(ApplicationArchiveRepository.class);
+        useCase = new ApplicationArchiveUseCase(archiveRepository);
+    }
+
+    @Test
+    void archive_SoloEstadosFinalesYSeDetieneConLoteIncompleto() {
+        when(archiveRepository.archiveChunk(anyList(), eq(MIN_AGE), eq(100)))
+                .thenReturn(Mono.just(100), Mono.just(100), Mono.just(30), Mono.just(100));
+
+        StepVerifier.create(useCase.archive(MIN_AGE, 100, 10, Duration.ZERO))
+                .expectNext(230)
+                .verifyComplete();
+
+        verify(archiveRepository, times(3)).archiveChunk(
+                eq(List.of(CodeState.APROBADA.getId(), CodeState.RECHAZADA.getId())), eq(MIN_AGE), eq(100));
+    }
+
+    @Test
+    void archive_RespetaElMaximoDeLotesPorEjecucion() {
+        when(archiveRepository.archiveChunk(anyList(), any(), anyInt())).thenReturn(Mono.just(50));
+
+        StepVerifier.create(useCase.archive(MIN_AGE, 50, 3, Duration.ZERO))
+                .expectNext(150)
+                .verifyComplete();
+
+        verify(archiveRepository, times(3)).archiveChunk(anyList(), any(), anyInt());
+    }
+
+    @Test
+    void archive_PausaEntreLotes() {
+        when(archiveRepository.archiveChunk(anyList(), any(), anyInt())).thenReturn(Mono.just(10), Mono.just(0));
+
+        StepVerifier.withVirtualTime(() -> useCase.archive(MIN_AGE, 10, 5, Duration.ofSeconds(1)))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(999))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNext(10)
+                .verifyComplete();
+    }
+}
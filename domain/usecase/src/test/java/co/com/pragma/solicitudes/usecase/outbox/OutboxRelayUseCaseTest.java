@@ -0,0 +1,116 @@
+package co.com.pragma.solicitudes.usecase.outbox;
+
+import co.com.pragma.solicitudes.model.applicationdecisionevent.ApplicationDecisionEvent;
+import co.com.pragma.solicitudes.model.applicationdecisionevent.gateways.DecisionPublisher;
+import co.com.pragma.solicitudes.model.capacity.CapacityRequestEvent;
+import co.com.pragma.solicitudes.model.capacity.gateways.ValidationPublisher;
+import co.com.pragma.solicitudes.model.outbox.OutboxEventType;
+import co.com.pragma.solicitudes.model.outbox.OutboxMessage;
+import co.com.pragma.solicitudes.model.outbox.gateways.OutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayUseCaseTest {
+
+    private OutboxRepository outboxRepository;
+    private DecisionPublisher decisionPublisher;
+    private ValidationPublisher validationPublisher;
+    private OutboxRelayUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = Mockito.mock(OutboxRepository.class);
+        decisionPublisher = Mockito.mock(DecisionPublisher.class);
+        validationPublisher = Mockito.mock(ValidationPublisher.class);
+        useCase = new OutboxRelayUseCase(outboxRepository, decisionPublisher, validationPublisher);
+
+        when(outboxRepository.markSent(anyList())).thenReturn(Mono.empty());
+        when(outboxRepository.markFailed(anyList(), anyString())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void relayBatch_PublicaPorTipoYMarcaEnviados() {
+        when(outboxRepository.claimPending(10)).thenReturn(Flux.just(
+                decision(1L), capacity(2L), decision(3L)));
+        when(decisionPublisher.publishAll(anyList())).thenReturn(Mono.empty());
+        when(validationPublisher.publishAll(anyList())).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.relayBatch(10))
+                .expectNext(3)
+                .verifyComplete();
+
+        // Un envío en lote por tipo, y cada grupo se marca enviado por separado
+        verify(decisionPublisher, times(1)).publishAll(argThat(events -> events.size() == 2));
+        verify(validationPublisher, times(1)).publishAll(argThat(events -> events.size() == 1));
+        verify(outboxRepository).markSent(List.of(1L, 3L));
+        verify(outboxRepository).markSent(List.of(2L));
+        verify(outboxRepository, never()).markFailed(anyList(), anyString());
+    }
+
+    @Test
+    void relayBatch_FalloDePublicacion_ReprogramaSinAfectarOtroTipo() {
+        when(outboxRepository.claimPending(10)).thenReturn(Flux.just(decision(1L), capacity(2L)));
+        when(decisionPublisher.publishAll(anyList())).thenReturn(Mono.error(new RuntimeException("sqs caído")));
+        when(validationPublisher.publishAll(anyList())).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.relayBatch(10))
+                .expectNext(2)
+                .verifyComplete();
+
+        verify(outboxRepository).markFailed(List.of(1L), "sqs caído");
+        verify(outboxRepository).markSent(List.of(2L));
+    }
+
+    @Test
+    void drain_SeDetieneConLoteIncompleto() {
+        when(outboxRepository.claimPending(2))
+                .thenReturn(Flux.just(decision(1L), decision(2L)))
+                .thenReturn(Flux.just(decision(3L)))
+                .thenReturn(Flux.just(decision(4L), decision(5L)));
+        when(decisionPublisher.publishAll(anyList())).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.drain(2, 5))
+                .expectNext(3)
+                .verifyComplete();
+
+        verify(outboxRepository, times(2)).claimPending(2);
+    }
+
+    @Test
+    void drain_SinPendientes_NoPublica() {
+        when(outboxRepository.claimPending(anyInt())).thenReturn(Flux.empty());
+
+        StepVerifier.create(useCase.drain(50, 3))
+                .expectNext(0)
+                .verifyComplete();
+
+        verifyNoInteractions(decisionPublisher, validationPublisher);
+    }
+
+    private static OutboxMessage decision(Long id) {
+        return OutboxMessage.builder()
+                .id(id)
+                .type(OutboxEventType.APPLICATION_DECISION)
+                .aggregateId(id)
+                .payload(ApplicationDecisionEvent.builder().idApplication(id).build())
+                .build();
+    }
+
+    private static OutboxMessage capacity(Long id) {
+        return OutboxMessage.builder()
+                .id(id)
+                .type(OutboxEventType.CAPACITY_REQUEST)
+                .aggregateId(id)
+                .payload(CapacityRequestEvent.builder().idApplication(id).build())
+                .build();
+    }
+}
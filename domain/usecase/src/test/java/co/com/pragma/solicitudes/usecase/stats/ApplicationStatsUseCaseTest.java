@@ -0,0 +1,47 @@
+package co.com.pragma.solicitudes.usecase.stats;
+
+import co.com.pragma.solicitudes.model.application.ApplicationStats;
+import co.com.pragma.solicitudes.model.application.gateways.ApplicationStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+import static org.mockito.Mockito.*;
+
+class ApplicationStatsUseCaseTest {
+
+    private ApplicationStatsRepository statsRepository;
+    private ApplicationStatsUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        statsRepository = Mockito.mock(ApplicationStatsRepository.class);
+        useCase = new ApplicationStatsUseCase(statsRepository);
+    }
+
+    @Test
+    void getStats_LeeElAgregado() {
+        ApplicationStats cell = new ApplicationStats(1L, 2L, 3, BigDecimal.valueOf(300));
+        when(statsRepository.findAll()).thenReturn(Flux.just(cell));
+
+        StepVerifier.create(useCase.getStats())
+                .expectNext(cell)
+                .verifyComplete();
+    }
+
+    @Test
+    void reconcile_DelegaEnElRepositorio() {
+        when(statsRepository.reconcile()).thenReturn(Mono.just(4));
+
+        StepVerifier.create(useCase.reconcile())
+                .expectNext(4)
+                .verifyComplete();
+
+        verify(statsRepository, times(1)).reconcile();
+    }
+}
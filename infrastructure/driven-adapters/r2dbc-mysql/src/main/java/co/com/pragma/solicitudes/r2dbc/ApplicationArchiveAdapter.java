@@ -0,0 +1,79 @@
+package co.com.pragma.solicitudes.r2dbc;
+
+import co.com.pragma.solicitudes.model.application.gateways.ApplicationArchiveRepository;
+import co.com.pragma.solicitudes.model.constants.ApplicationConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Mueve solicitudes finalizadas de application a application_archive.
+ *
+ * Cada lote es una transacción: reserva los ids con FOR UPDATE (otra instancia que archive
+ * a la vez espera y luego no encuentra esas filas), copia y borra. El DELETE repite el filtro
+ * de estado por si alguna fila cambió entre la copia y el borrado.
+ */
+@Repository
+public class ApplicationArchiveAdapter implements ApplicationArchiveRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationArchiveAdapter.class);
+
+    static final String SQL_CANDIDATES = """
+            SELECT id_application FROM application
+            WHERE id_state IN (:states) AND fecha_decision < NOW() - INTERVAL :ageSeconds SECOND
+            ORDER BY id_application
+            LIMIT :limit
+            FOR UPDATE""";
+
+    static final String SQL_COPY = """
+            INSERT INTO application_archive
+                (id_application, amount, term, email, id_user, id_state, loan_type_id, fecha_creacion, fecha_decision)
+            SELECT id_application, amount, term, email, id_user, id_state, loan_type_id, fecha_creacion, fecha_decision
+            FROM application
+            WHERE id_application IN (:ids)""";
+
+    static final String SQL_DELETE = "DELETE FROM application WHERE id_application IN (:ids) AND id_state IN (:states)";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+
+    public ApplicationArchiveAdapter(DatabaseClient databaseClient, TransactionalOperator transactionalOperator) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    @Override
+    public Mono<Integer> archiveChunk(List<Long> finalStates, Duration minAge, int limit) {
+        log.debug(ApplicationConstants.LOG_ARCHIVO_LOTE, limit, minAge.toSeconds());
+
+        return databaseClient.sql(SQL_CANDIDATES)
+                .bind("states", finalStates)
+                .bind("ageSeconds", minAge.toSeconds())
+                .bind("limit", limit)
+                .map((row, metadata) -> row.get("id_application", Long.class))
+                .all()
+                .collectList()
+                .flatMap(ids -> ids.isEmpty() ? Mono.just(0) : move(ids, finalStates))
+                .as(transactionalOperator::transactional)
+                .doOnNext(moved -> log.debug(ApplicationConstants.LOG_ARCHIVO_MOVIDAS, moved));
+    }
+
+    private Mono<Integer> move(List<Long> ids, List<Long> finalStates) {
+        return databaseClient.sql(SQL_COPY)
+                .bind("ids", ids)
+                .fetch()
+                .rowsUpdated()
+                .then(databaseClient.sql(SQL_DELETE)
+                        .bind("ids", ids)
+                        .bind("states", finalStates)
+                        .fetch()
+                        .rowsUpdated())
+                .map(Long::intValue);
+    }
+}
@@ -3,18 +3,39 @@ package co.com.pragma.solicitudes.r2dbc;
 import co.com.pragma.solicitudes.model.application.Application;
 import co.com.pragma.solicitudes.model.application.gateways.ApplicationRepository;
 import co.com.pragma.solicitudes.model.constants.ApplicationConstants;
+import co.com.pragma.solicitudes.model.enums.CodeState;
 import co.com.pragma.solicitudes.r2dbc.entity.ApplicationEntity;
 import co.com.pragma.solicitudes.r2dbc.helper.ReactiveAdapterOperations;
 import co.com.pragma.solicitudes.r2dbc.mapper.ApplicationMapper;
+import co.com.pragma.solicitudes.r2dbc.mapper.RowMappers;
+import co.com.pragma.solicitudes.r2dbc.replica.ReplicaRouting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Adapter de application. Las escrituras pasan por Spring Data y MapStruct; las lecturas
+ * calientes (findById, findAll, findPage, findByUser, findByState) van por DatabaseClient y
+ * {@link RowMappers}, que construyen el modelo de dominio directamente desde la fila.
+ * Los listados (findAll, findPage, findByUser, findByState) pueden ir a la réplica de lectura;
+ * findById queda en el primario para leer lo recién escrito, y si la solicitud ya no está
+ * en application la busca en application_archive.
+ *
+ * Cada escritura (save, saveAll, transitionState, delete) actualiza application_stats en su
+ * misma transacción a través de {@link ApplicationStatsAdapter}. save y delete bloquean antes la
+ * fila con SELECT ... FOR UPDATE para restar exactamente lo que había; transitionState no la
+ * relee: su UPDATE condicional captura el estado previo y el agregado se mueve desde ahí.
+ *
+ * fecha_decision la pone transitionState; si una solicitud llega a un estado final por save o
+ * saveAll (edición, carga), se marca aquí para que el archivador también la encuentre.
+ */
 @Repository
 public class ApplicationRepositoryAdapter extends ReactiveAdapterOperations<
         Application,
@@ -25,57 +46,250 @@ public class ApplicationRepositoryAdapter extends ReactiveAdapterOperations<
 
     private static final Logger log = LoggerFactory.getLogger(ApplicationRepositoryAdapter.class);
 
+    static final String SQL_SELECT = "SELECT " + RowMappers.APPLICATION_COLUMNS + " FROM application";
+    static final String SQL_FIND_BY_ID = SQL_SELECT + " WHERE id_application = :id";
+    static final String SQL_FIND_PAGE = SQL_SELECT
+            + " WHERE id_application > :afterId ORDER BY id_application LIMIT :limit";
+    static final String SQL_FIND_BY_STATES = SQL_SELECT + " WHERE id_state IN (:states)";
+    static final String SQL_FIND_ARCHIVED_BY_ID = "SELECT " + RowMappers.APPLICATION_COLUMNS
+            + " FROM application_archive WHERE id_application = :id";
+    static final String SQL_LOCK_BY_ID = SQL_FIND_BY_ID + " FOR UPDATE";
+    // Conserva la fecha si ya era final; la limpia si la edición la sacó de un estado final
+    static final String SQL_STAMP_DECISION = "UPDATE application SET fecha_decision ="
+            + " IF(id_state IN (:finalStates), COALESCE(fecha_decision, CURRENT_TIMESTAMP), NULL)"
+            + " WHERE id_application IN (:ids)";
+    static final List<Long> FINAL_STATES = List.of(CodeState.APROBADA.getId(), CodeState.RECHAZADA.getId());
+    // Cada rama recorre su índice (id_user, id_application) desde el cursor y corta en :limit;
+    // la unión solo ordena esas 2 × limit filas.
+    static final String SQL_FIND_BY_USER = "(SELECT " + RowMappers.APPLICATION_COLUMNS + " FROM application"
+            + " WHERE id_user = :idUser AND id_application > :afterId ORDER BY id_application LIMIT :limit)"
+            + " UNION ALL"
+            + " (SELECT " + RowMappers.APPLICATION_COLUMNS + " FROM application_archive"
+            + " WHERE id_user = :idUser AND id_application > :afterId ORDER BY id_application LIMIT :limit)"
+            + " ORDER BY id_application LIMIT :limit";
+
     private final IApplicationReactiveRepository reactiveRepository;
     private final ApplicationMapper applicationMapper;
     private final TransactionalOperator transactionalOperator;
+    private final DatabaseClient databaseClient;
+    private final ApplicationStatsAdapter statsAdapter;
 
     public ApplicationRepositoryAdapter(IApplicationReactiveRepository repository,
                                         ApplicationMapper applicationMapper,
-                                        TransactionalOperator transactionalOperator) {
-        super(repository, null, applicationMapper::toModel);
+                                        TransactionalOperator transactionalOperator,
+                                        DatabaseClient databaseClient,
+                                        ApplicationStatsAdapter statsAdapter) {
+        super(repository, applicationMapper::toEntity, applicationMapper::toModel);
         this.reactiveRepository = repository;
         this.applicationMapper = applicationMapper;
         this.transactionalOperator = transactionalOperator;
+        this.databaseClient = databaseClient;
+        this.statsAdapter = statsAdapter;
     }
 
     @Override
     public Mono<Application> save(Application application) {
         log.debug(ApplicationConstants.LOG_SAVE_APPLICATION, application);
 
-        return Mono.defer(() -> reactiveRepository
-                        .save(applicationMapper.toEntity(application))
-                        .map(applicationMapper::toModel))
+        return Mono.defer(() -> application.getIdApplication() == null
+                        ? Mono.<Void>empty()
+                        : lockById(application.getIdApplication()).flatMap(statsAdapter::remove))
+                .then(Mono.defer(() -> reactiveRepository.save(applicationMapper.toEntity(application))))
+                .map(applicationMapper::toModel)
+                .flatMap(saved -> application.getIdApplication() != null || isFinalState(saved.getIdState())
+                        ? stampDecision(List.of(saved.getIdApplication())).thenReturn(saved)
+                        : Mono.just(saved))
+                .flatMap(saved -> statsAdapter.add(saved).thenReturn(saved))
                 .as(transactionalOperator::transactional)
                 .doOnNext(s -> log.info(ApplicationConstants.LOG_APPLICATION_SAVE, s.getIdApplication()));
     }
 
+    /**
+     * Guarda todas las solicitudes en una sola transacción, en INSERT de varias filas
+     * de hasta BATCH_INSERT_CHUNK solicitudes cada uno. Devuelve las solicitudes con su id, en el mismo orden.
+     */
+    @Override
+    public Flux<Application> saveAll(List<Application> applications) {
+        return Flux.defer(() -> saveAllEntities(Flux.fromIterable(applications)))
+                .collectList()
+                .flatMapMany(saved -> stampDecision(saved.stream()
+                                .filter(a -> isFinalState(a.getIdState()))
+                                .map(Application::getIdApplication)
+                                .toList())
+                        .then(statsAdapter.addAll(saved))
+                        .thenMany(Flux.fromIterable(saved)))
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    protected Flux<ApplicationEntity> saveData(Flux<ApplicationEntity> data) {
+        return data.buffer(ApplicationConstants.BATCH_INSERT_CHUNK)
+                .concatMap(this::insertChunk);
+    }
+
+    private Flux<ApplicationEntity> insertChunk(List<ApplicationEntity> chunk) {
+        log.debug(ApplicationConstants.LOG_BATCH_INSERT, chunk.size());
+
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO application (amount, term, email, id_user, id_state, loan_type_id) VALUES ");
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(:amount").append(i)
+                    .append(", :term").append(i)
+                    .append(", :email").append(i)
+                    .append(", :idUser").append(i)
+                    .append(", :idState").append(i)
+                    .append(", :loanTypeId").append(i)
+                    .append(')');
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .filter(statement -> statement.returnGeneratedValues("id_application"));
+        for (int i = 0; i < chunk.size(); i++) {
+            ApplicationEntity entity = chunk.get(i);
+            spec = spec.bind("amount" + i, entity.getAmount())
+                    .bind("term" + i, entity.getTerm())
+                    .bind("email" + i, entity.getEmail())
+                    .bind("idUser" + i, entity.getIdUser())
+                    .bind("idState" + i, entity.getIdState())
+                    .bind("loanTypeId" + i, entity.getLoanTypeID());
+        }
+
+        return spec.map(row -> row.get(0, Long.class))
+                .all()
+                .collectList()
+                .flatMapMany(ids -> {
+                    List<Long> generated = generatedIds(ids, chunk.size());
+                    if (generated == null) {
+                        return Flux.error(new IllegalStateException(
+                                "Ids generados incompletos: " + ids.size() + "/" + chunk.size()));
+                    }
+                    for (int i = 0; i < chunk.size(); i++) {
+                        chunk.get(i).setIdApplication(generated.get(i));
+                    }
+                    return Flux.fromIterable(chunk);
+                });
+    }
+
+    /**
+     * Ids de un INSERT de varias filas. MariaDB devuelve uno por fila (RETURNING); MySQL no tiene
+     * RETURNING y el driver entrega solo LAST_INSERT_ID, que es el id de la primera fila. Para un
+     * INSERT simple (cantidad de filas conocida) InnoDB reserva un rango consecutivo con
+     * innodb_autoinc_lock_mode 1 o 2, así que el resto se deriva sumando la posición
+     * (requiere auto_increment_increment = 1). Devuelve null si no hay forma de asignarlos.
+     */
+    static List<Long> generatedIds(List<Long> returned, int rows) {
+        if (returned.size() == rows) {
+            return returned;
+        }
+        if (returned.size() != 1 || returned.get(0) == null) {
+            return null;
+        }
+        long first = returned.get(0);
+        List<Long> ids = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            ids.add(first + i);
+        }
+        return ids;
+    }
+
     @Override
     public Flux<Application> findAll() {
         log.debug(ApplicationConstants.LOG_LIST_ALL);
 
-        return reactiveRepository.findAll()
-                .map(applicationMapper::toModel)
+        return databaseClient.sql(SQL_SELECT)
+                .map((row, metadata) -> RowMappers.toApplication(row))
+                .all()
+                .as(ReplicaRouting::onReplica)
                 .doOnNext(s -> log.info(ApplicationConstants.LOG_APPLICATION_LIST, s.getIdApplication()));
     }
 
+    @Override
+    public Mono<Boolean> transitionState(Long id, List<Long> fromStates, Long toState) {
+        log.debug(ApplicationConstants.LOG_TRANSICION_ESTADO, id, fromStates, toState);
+
+        return reactiveRepository.transitionState(id, fromStates, toState)
+                .flatMap(rows -> rows > 0
+                        ? statsAdapter.moveTransitioned(id).thenReturn(true)
+                        : Mono.just(false))
+                .defaultIfEmpty(false)
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Flux<Application> findPage(Long afterId, int limit) {
+        log.debug(ApplicationConstants.LOG_LISTANDO_PAGINA, afterId, limit);
+
+        return databaseClient.sql(SQL_FIND_PAGE)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map((row, metadata) -> RowMappers.toApplication(row))
+                .all()
+                .as(ReplicaRouting::onReplica);
+    }
+
+    @Override
+    public Flux<Application> findByUser(Long idUser, Long afterId, int limit) {
+        log.debug(ApplicationConstants.LOG_LISTANDO_POR_USUARIO, idUser, afterId, limit);
+
+        return databaseClient.sql(SQL_FIND_BY_USER)
+                .bind("idUser", idUser)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map((row, metadata) -> RowMappers.toApplication(row))
+                .all()
+                .as(ReplicaRouting::onReplica);
+    }
+
     @Override
     public Mono<Application> findById(Long id) {
         log.debug(ApplicationConstants.LOG_FOUND_BY_ID, id);
 
-        return reactiveRepository.findById(id)
-                .map(applicationMapper::toModel)
+        return findOne(SQL_FIND_BY_ID, id)
                 .doOnNext(s -> log.info(ApplicationConstants.LOG_APPLICATION_ENCONTRADA, s))
+                .switchIfEmpty(Mono.defer(() -> findOne(SQL_FIND_ARCHIVED_BY_ID, id)
+                        .doOnNext(s -> log.info(ApplicationConstants.LOG_APPLICATION_ARCHIVADA, id))))
                 .switchIfEmpty(Mono.defer(() -> {
                     log.warn(ApplicationConstants.LOG_APPLICATION_NO_ENCONTRADA, id);
                     return Mono.empty();
                 }));
     }
 
+    /** Sincroniza fecha_decision con el estado guardado; sin ids no ejecuta nada. */
+    private Mono<Void> stampDecision(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(SQL_STAMP_DECISION)
+                .bind("finalStates", FINAL_STATES)
+                .bind("ids", ids)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    private static boolean isFinalState(Long idState) {
+        return idState != null && FINAL_STATES.contains(idState);
+    }
+
+    /** Fila vigente bloqueada hasta el fin de la transacción, para restar del agregado lo que había. */
+    private Mono<Application> lockById(Long id) {
+        return findOne(SQL_LOCK_BY_ID, id);
+    }
+
+    private Mono<Application> findOne(String sql, Long id) {
+        return databaseClient.sql(sql)
+                .bind("id", id)
+                .map((row, metadata) -> RowMappers.toApplication(row))
+                .one();
+    }
+
     @Override
     public Mono<Void> delete(Long id) {
         log.debug(ApplicationConstants.LOG_ELIMINANDO_POR_ID, id);
 
-        return reactiveRepository.deleteById(id)
+        return lockById(id)
+                .flatMap(current -> reactiveRepository.deleteById(id).then(statsAdapter.remove(current)))
                 .as(transactionalOperator::transactional)
                 .doOnSuccess(v -> log.info(ApplicationConstants.LOG_APPLICATION_ELIMINADA, id));
     }
@@ -83,8 +297,11 @@ public class ApplicationRepositoryAdapter extends ReactiveAdapterOperations<
     @Override
     public Flux<Application> findByState(List<Long> estados) {
         log.debug(ApplicationConstants.LOG_LISTANDO_POR_ESTADOS, estados);
-        return reactiveRepository.findByIdStateIn(estados)
-                .map(applicationMapper::toModel)
+        return databaseClient.sql(SQL_FIND_BY_STATES)
+                .bind("states", estados)
+                .map((row, metadata) -> RowMappers.toApplication(row))
+                .all()
+                .as(ReplicaRouting::onReplica)
                 .doOnNext(s -> log.info(ApplicationConstants.LOG_APPLICATION_PARA_REVISION, s.getIdApplication()));
     }
 }
@@ -0,0 +1,192 @@
+package co.com.pragma.solicitudes.r2dbc;
+
+import co.com.pragma.solicitudes.model.application.Application;
+import co.com.pragma.solicitudes.model.application.ApplicationStats;
+import co.com.pragma.solicitudes.model.application.gateways.ApplicationStatsRepository;
+import co.com.pragma.solicitudes.model.constants.ApplicationConstants;
+import co.com.pragma.solicitudes.r2dbc.replica.ReplicaRouting;
+import io.r2dbc.spi.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agregado application_stats: cantidad y monto total por estado × tipo de préstamo.
+ *
+ * ApplicationRepositoryAdapter aplica los deltas ({@link #add}, {@link #remove}, {@link #moveTransitioned})
+ * dentro de la misma transacción que la escritura, con un upsert que suma sobre la fila.
+ * {@link #reconcile()} corrige desvíos comparando el agregado con un GROUP BY sobre application y
+ * application_archive (archivar no cambia la cartera), sin borrar ni reconstruir la tabla.
+ */
+@Repository
+public class ApplicationStatsAdapter implements ApplicationStatsRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationStatsAdapter.class);
+
+    static final String SQL_FIND_ALL = """
+            SELECT id_state, loan_type_id, application_count, total_amount
+            FROM application_stats
+            WHERE application_count > 0
+            ORDER BY id_state, loan_type_id""";
+
+    // Alias de fila (MySQL 8.0.19+): VALUES() en ON DUPLICATE KEY UPDATE está deprecado
+    static final String SQL_UPSERT = """
+            INSERT INTO application_stats (id_state, loan_type_id, application_count, total_amount)
+            VALUES (:idState, :loanTypeId, :count, :amount) AS new
+            ON DUPLICATE KEY UPDATE
+                application_count = application_count + new.application_count,
+                total_amount = total_amount + new.total_amount""";
+
+    // Resta de la celda previa (@transition_from, capturada por el UPDATE de transitionState en la
+    // misma conexión) y suma a la actual, en un solo upsert de dos filas. La fila ya está bloqueada
+    // por ese UPDATE, así que monto y tipo de préstamo son los mismos que vio.
+    static final String SQL_MOVE_TRANSITIONED = """
+            INSERT INTO application_stats (id_state, loan_type_id, application_count, total_amount)
+            SELECT * FROM (
+                SELECT @transition_from AS cell_state, loan_type_id AS cell_loan_type,
+                       -1 AS delta_count, -COALESCE(amount, 0) AS delta_amount
+                FROM application
+                WHERE id_application = :id AND loan_type_id IS NOT NULL AND id_state <> @transition_from
+                UNION ALL
+                SELECT id_state, loan_type_id, 1, COALESCE(amount, 0)
+                FROM application
+                WHERE id_application = :id AND loan_type_id IS NOT NULL AND id_state <> @transition_from
+            ) AS moved
+            ON DUPLICATE KEY UPDATE
+                application_count = application_count + moved.delta_count,
+                total_amount = total_amount + moved.delta_amount""";
+
+    // Lectura consistente sin bloqueos: en un mismo snapshot, lo que debería haber menos lo que hay.
+    // Solo devuelve las celdas desviadas, con la diferencia a sumar.
+    static final String SQL_DRIFT = """
+            SELECT id_state, loan_type_id, CAST(SUM(delta_count) AS SIGNED) AS delta_count, SUM(delta_amount) AS delta_amount
+            FROM (SELECT id_state, loan_type_id, 1 AS delta_count, COALESCE(amount, 0) AS delta_amount
+                  FROM application
+                  UNION ALL
+                  SELECT id_state, loan_type_id, 1, COALESCE(amount, 0) FROM application_archive
+                  UNION ALL
+                  SELECT id_state, loan_type_id, -application_count, -total_amount FROM application_stats) t
+            WHERE id_state IS NOT NULL AND loan_type_id IS NOT NULL
+            GROUP BY id_state, loan_type_id
+            HAVING SUM(delta_count) <> 0 OR SUM(delta_amount) <> 0""";
+
+    private final DatabaseClient databaseClient;
+
+    public ApplicationStatsAdapter(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<ApplicationStats> findAll() {
+        return databaseClient.sql(SQL_FIND_ALL)
+                .map((row, metadata) -> toStats(row))
+                .all()
+                .as(ReplicaRouting::onReplica);
+    }
+
+    /**
+     * Calcula primero, sin bloquear, la diferencia entre el agregado y las solicitudes; luego la
+     * suma celda a celda con el mismo upsert incremental de las escrituras, cada uno en su propia
+     * sentencia corta. Los deltas que lleguen mientras tanto no se pisan: ya están en ambos lados.
+     */
+    @Override
+    public Mono<Integer> reconcile() {
+        return databaseClient.sql(SQL_DRIFT)
+                .map((row, metadata) -> toDrift(row))
+                .all()
+                .concatMap(drift -> apply(drift.getIdState(), drift.getLoanTypeID(), drift.getCount(),
+                        drift.getTotalAmount()).thenReturn(drift))
+                .count()
+                .map(Long::intValue)
+                .doOnNext(cells -> log.info(ApplicationConstants.LOG_ESTADISTICAS_RECONCILIADAS, cells));
+    }
+
+    /** Suma la solicitud a su celda. */
+    Mono<Void> add(Application application) {
+        return apply(application.getIdState(), application.getLoanTypeID(), 1, amountOf(application));
+    }
+
+    /** Resta la solicitud de su celda. */
+    Mono<Void> remove(Application application) {
+        return apply(application.getIdState(), application.getLoanTypeID(), -1, amountOf(application).negate());
+    }
+
+    /**
+     * Mueve la solicitud recién transicionada de su estado previo al actual. Debe ejecutarse en la
+     * transacción del UPDATE condicional que la cambió, sin releer ni bloquear la fila antes.
+     */
+    Mono<Void> moveTransitioned(Long idApplication) {
+        log.debug(ApplicationConstants.LOG_ESTADISTICAS_TRANSICION, idApplication);
+        return databaseClient.sql(SQL_MOVE_TRANSITIONED)
+                .bind("id", idApplication)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    /** Suma varias solicitudes con un upsert por celda, no uno por solicitud. */
+    Mono<Void> addAll(List<Application> applications) {
+        Map<List<Long>, ApplicationStats> cells = new LinkedHashMap<>();
+        for (Application application : applications) {
+            ApplicationStats cell = cells.computeIfAbsent(
+                    List.of(keyOf(application.getIdState()), keyOf(application.getLoanTypeID())),
+                    k -> new ApplicationStats(application.getIdState(), application.getLoanTypeID(), 0, BigDecimal.ZERO));
+            cell.setCount(cell.getCount() + 1);
+            cell.setTotalAmount(cell.getTotalAmount().add(amountOf(application)));
+        }
+        return Flux.fromIterable(cells.values())
+                .concatMap(c -> apply(c.getIdState(), c.getLoanTypeID(), c.getCount(), c.getTotalAmount()))
+                .then();
+    }
+
+    private Mono<Void> apply(Long idState, Long loanTypeId, long count, BigDecimal amount) {
+        if (idState == null || loanTypeId == null) {
+            // Sin celda a la que sumar; la reconciliación la incluirá cuando tenga estado y tipo
+            return Mono.empty();
+        }
+        log.debug(ApplicationConstants.LOG_ESTADISTICAS_DELTA, idState, loanTypeId, count, amount);
+        return databaseClient.sql(SQL_UPSERT)
+                .bind("idState", idState)
+                .bind("loanTypeId", loanTypeId)
+                .bind("count", count)
+                .bind("amount", amount)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    private static Long keyOf(Long id) {
+        return id == null ? -1L : id;
+    }
+
+    private static BigDecimal amountOf(Application application) {
+        return application.getAmount() == null ? BigDecimal.ZERO : application.getAmount();
+    }
+
+    static ApplicationStats toDrift(Row row) {
+        Long count = row.get("delta_count", Long.class);
+        BigDecimal amount = row.get("delta_amount", BigDecimal.class);
+        return new ApplicationStats(
+                row.get("id_state", Long.class),
+                row.get("loan_type_id", Long.class),
+                count == null ? 0 : count,
+                amount == null ? BigDecimal.ZERO : amount);
+    }
+
+    static ApplicationStats toStats(Row row) {
+        Long count = row.get("application_count", Long.class);
+        return new ApplicationStats(
+                row.get("id_state", Long.class),
+                row.get("loan_type_id", Long.class),
+                count == null ? 0 : count,
+                row.get("total_amount", BigDecimal.class));
+    }
+}
@@ -1,26 +1,26 @@
 package co.com.pragma.solicitudes.r2dbc;
 
 import co.com.pragma.solicitudes.r2dbc.entity.ApplicationEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.query.ReactiveQueryByExampleExecutor;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
-import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
-// TODO: This file is just an example, you should delete or modify it
 @Repository
 public interface IApplicationReactiveRepository extends ReactiveCrudRepository<ApplicationEntity, Long>, ReactiveQueryByExampleExecutor<ApplicationEntity> {
     /**
-     * Busca todas las solicitudes de un cliente específico por su documento de identidad.
+     * Cambia el estado solo si la solicitud sigue en alguno de fromStates; devuelve las filas afectadas (0 o 1).
+     * fecha_decision marca desde cuándo cuenta la antigüedad para el archivo.
+     * El estado previo queda en la variable de sesión @transition_from (el IF solo sirve para
+     * capturarlo en la misma sentencia), y de ahí lo toma ApplicationStatsAdapter#moveTransitioned.
      */
-    Flux<ApplicationEntity> findByIdUser(String documentoCliente);
-
-    /**
-     * Busca todas las solicitudes por estado (ejemplo: PENDIENTE, APROBADA, RECHAZADA).
-     */
-    Flux<ApplicationEntity> findByIdState(String idEstado);
-
-    // Busca solicitudes por un conjunto de estados
-    Flux<ApplicationEntity> findByIdStateIn(List<Long> estados);
+    @Modifying
+    @Query("UPDATE application SET fecha_decision = CURRENT_TIMESTAMP, "
+            + "id_state = IF((@transition_from := id_state) IS NULL, :toState, :toState) "
+            + "WHERE id_application = :id AND id_state IN (:fromStates)")
+    Mono<Integer> transitionState(Long id, List<Long> fromStates, Long toState);
 }
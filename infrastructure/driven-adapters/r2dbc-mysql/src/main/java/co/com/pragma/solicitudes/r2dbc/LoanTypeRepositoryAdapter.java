@@ -6,8 +6,10 @@ import co.com.pragma.solicitudes.model.loantype.gateways.LoanTypeRepository;
 import co.com.pragma.solicitudes.r2dbc.entity.LoanTypeEntity;
 import co.com.pragma.solicitudes.r2dbc.helper.ReactiveAdapterOperations;
 import co.com.pragma.solicitudes.r2dbc.mapper.LoanTypeMapper;
+import co.com.pragma.solicitudes.r2dbc.mapper.RowMappers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -22,14 +24,20 @@ public class LoanTypeRepositoryAdapter extends ReactiveAdapterOperations<
 
     private static final Logger log = LoggerFactory.getLogger(LoanTypeRepositoryAdapter.class);
 
+    static final String SQL_SELECT = "SELECT " + RowMappers.LOAN_TYPE_COLUMNS + " FROM loan_type";
+    static final String SQL_FIND_BY_ID = SQL_SELECT + " WHERE loan_type_id = :id";
+
     private final LoanTypeMapper loanTypeMapper;
     private final ILoanTypeReactiveRepository reactiveRepository;
+    private final DatabaseClient databaseClient;   // lecturas fila → dominio sin entidad intermedia
 
     public LoanTypeRepositoryAdapter(ILoanTypeReactiveRepository repository,
-                                     LoanTypeMapper loanTypeMapper) {
-        super(repository, null, loanTypeMapper::toModel);
+                                     LoanTypeMapper loanTypeMapper,
+                                     DatabaseClient databaseClient) {
+        super(repository, loanTypeMapper::toEntity, loanTypeMapper::toModel);
         this.loanTypeMapper = loanTypeMapper;
         this.reactiveRepository = repository;
+        this.databaseClient = databaseClient;
     }
 
     @Override
@@ -45,8 +53,10 @@ public class LoanTypeRepositoryAdapter extends ReactiveAdapterOperations<
     public Mono<LoanType> findById(Long id) {
         log.debug(ApplicationConstants.LOG_FOUND_BY_ID, id);
 
-        return reactiveRepository.findById(id)
-                .map(loanTypeMapper::toModel)
+        return databaseClient.sql(SQL_FIND_BY_ID)
+                .bind("id", id)
+                .map((row, metadata) -> RowMappers.toLoanType(row))
+                .one()
                 .doOnNext(t -> log.info(ApplicationConstants.LOG_LOANTYPE_FOUND, t))
                 .switchIfEmpty(Mono.defer(() -> {
                     log.warn(ApplicationConstants.LOG_LOANTYPE_NO_FOUND, id);
@@ -58,8 +68,9 @@ public class LoanTypeRepositoryAdapter extends ReactiveAdapterOperations<
     public Flux<LoanType> findAll() {
         log.debug(ApplicationConstants.LOG_LIST_LOAN);
 
-        return reactiveRepository.findAll()
-                .map(loanTypeMapper::toModel)
+        return databaseClient.sql(SQL_SELECT)
+                .map((row, metadata) -> RowMappers.toLoanType(row))
+                .all()
                 .doOnNext(t -> log.info(ApplicationConstants.LOG_LOANTYPE_LIST, t.getName()));
     }
 
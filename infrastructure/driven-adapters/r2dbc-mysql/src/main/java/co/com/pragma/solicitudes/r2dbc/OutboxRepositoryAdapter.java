@@ -0,0 +1,230 @@
+package co.com.pragma.solicitudes.r2dbc;
+
+import co.com.pragma.solicitudes.model.applicationdecisionevent.ApplicationDecisionEvent;
+import co.com.pragma.solicitudes.model.capacity.CapacityRequestEvent;
+import co.com.pragma.solicitudes.model.outbox.OutboxEventType;
+import co.com.pragma.solicitudes.model.outbox.OutboxMessage;
+import co.com.pragma.solicitudes.model.outbox.gateways.OutboxRepository;
+import co.com.pragma.solicitudes.r2dbc.config.OutboxProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outbox transaccional sobre la tabla outbox (ver V3__outbox.sql).
+ *
+ * Las inserciones usan la conexión de la transacción en curso. El relay reserva lotes
+ * con un UPDATE ... LIMIT marcado con un dueño único y un vencimiento (lease), así
+ * varias instancias pueden drenar la tabla sin tomar las mismas filas.
+ * Un evento que llega a max-attempts fallos, o cuyo payload no se puede leer, queda
+ * marcado con dead_at (ver V6__outbox_dead_letter.sql) y no vuelve a reservarse.
+ */
+@Repository
+public class OutboxRepositoryAdapter implements OutboxRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRepositoryAdapter.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    static final String SQL_CLAIM = """
+            UPDATE outbox
+            SET claimed_by = :owner, claimed_until = DATE_ADD(NOW(3), INTERVAL :leaseMillis * 1000 MICROSECOND)
+            WHERE sent_at IS NULL
+              AND dead_at IS NULL
+              AND next_attempt_at <= NOW(3)
+              AND (claimed_until IS NULL OR claimed_until < NOW(3))
+            ORDER BY id
+            LIMIT :limit""";
+
+    static final String SQL_CLAIMED = """
+            SELECT id, event_type, aggregate_id, payload, attempts
+            FROM outbox
+            WHERE claimed_by = :owner AND sent_at IS NULL
+            ORDER BY id""";
+
+    static final String SQL_MARK_SENT = """
+            UPDATE outbox SET sent_at = NOW(3), claimed_by = NULL, claimed_until = NULL
+            WHERE id IN (:ids)""";
+
+    // MySQL evalúa el SET de izquierda a derecha: tras el incremento, attempts ya es el nuevo valor
+    static final String SQL_MARK_FAILED = """
+            UPDATE outbox
+            SET attempts = attempts + 1,
+                next_attempt_at = DATE_ADD(NOW(3),
+                    INTERVAL LEAST(:retryMaxMillis, :retryBaseMillis * POW(2, LEAST(attempts, 30))) * 1000 MICROSECOND),
+                dead_at = IF(attempts >= :maxAttempts, NOW(3), NULL),
+                last_error = :error, claimed_by = NULL, claimed_until = NULL
+            WHERE id IN (:ids)""";
+
+    static final String SQL_MARK_DEAD = """
+            UPDATE outbox
+            SET attempts = attempts + 1, dead_at = NOW(3),
+                last_error = :error, claimed_by = NULL, claimed_until = NULL
+            WHERE id = :id""";
+
+    static final String SQL_PURGE = """
+            DELETE FROM outbox
+            WHERE sent_at IS NOT NULL AND sent_at < DATE_SUB(NOW(3), INTERVAL :retentionSeconds SECOND)
+            LIMIT :limit""";
+
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+
+    public OutboxRepositoryAdapter(DatabaseClient databaseClient, ObjectMapper objectMapper,
+                                   OutboxProperties properties) {
+        this.databaseClient = databaseClient;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<Void> enqueueDecision(ApplicationDecisionEvent event) {
+        return insert(List.of(new PendingRow(OutboxEventType.APPLICATION_DECISION, event.getIdApplication(), event)));
+    }
+
+    @Override
+    public Mono<Void> enqueueCapacityRequests(List<CapacityRequestEvent> events) {
+        return insert(events.stream()
+                .map(e -> new PendingRow(OutboxEventType.CAPACITY_REQUEST, e.getIdApplication(), e))
+                .toList());
+    }
+
+    @Override
+    public Flux<OutboxMessage> claimPending(int limit) {
+        String owner = UUID.randomUUID().toString();
+        return databaseClient.sql(SQL_CLAIM)
+                .bind("owner", owner)
+                .bind("leaseMillis", properties.claimLease().toMillis())
+                .bind("limit", limit)
+                .fetch()
+                .rowsUpdated()
+                .flatMapMany(claimed -> claimed == 0
+                        ? Flux.empty()
+                        : databaseClient.sql(SQL_CLAIMED)
+                                .bind("owner", owner)
+                                .map((row, metadata) -> new StoredRow(
+                                        row.get("id", Long.class),
+                                        row.get("event_type", String.class),
+                                        row.get("aggregate_id", Long.class),
+                                        row.get("payload", String.class),
+                                        row.get("attempts", Integer.class)))
+                                .all())
+                .concatMap(this::toMessage);
+    }
+
+    @Override
+    public Mono<Void> markSent(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(SQL_MARK_SENT)
+                .bind("ids", ids)
+                .then();
+    }
+
+    @Override
+    public Mono<Void> markFailed(List<Long> ids, String error) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(SQL_MARK_FAILED)
+                .bind("ids", ids)
+                .bind("error", truncate(error))
+                .bind("retryBaseMillis", properties.retryBase().toMillis())
+                .bind("retryMaxMillis", properties.retryMax().toMillis())
+                .bind("maxAttempts", Math.max(1, properties.maxAttempts()))
+                .then();
+    }
+
+    /**
+     * Un reintento no arregla un payload ilegible: pasa directo a dead_at.
+     */
+    private Mono<Void> markDead(Long id, String error) {
+        return databaseClient.sql(SQL_MARK_DEAD)
+                .bind("id", id)
+                .bind("error", truncate(error))
+                .then();
+    }
+
+    private static String truncate(String error) {
+        return error == null ? "" : error.substring(0, Math.min(error.length(), MAX_ERROR_LENGTH));
+    }
+
+    @Override
+    public Mono<Long> purgeSent() {
+        return databaseClient.sql(SQL_PURGE)
+                .bind("retentionSeconds", properties.retention().toSeconds())
+                .bind("limit", properties.purgeLimit())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private Mono<Void> insert(List<PendingRow> rows) {
+        if (rows.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            StringBuilder sql = new StringBuilder("INSERT INTO outbox (event_type, aggregate_id, payload) VALUES ");
+            for (int i = 0; i < rows.size(); i++) {
+                sql.append(i == 0 ? "" : ", ")
+                        .append("(:type").append(i)
+                        .append(", :aggregateId").append(i)
+                        .append(", :payload").append(i)
+                        .append(')');
+            }
+            DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+            for (int i = 0; i < rows.size(); i++) {
+                PendingRow row = rows.get(i);
+                spec = spec.bind("type" + i, row.type().name())
+                        .bind("aggregateId" + i, row.aggregateId())
+                        .bind("payload" + i, toJson(row.event()));
+            }
+            return spec.then();
+        });
+    }
+
+    /**
+     * Un payload ilegible no debe frenar el relay: se descarta a dead_at y se omite.
+     */
+    private Mono<OutboxMessage> toMessage(StoredRow row) {
+        try {
+            OutboxEventType type = OutboxEventType.valueOf(row.type());
+            Class<?> eventClass = switch (type) {
+                case APPLICATION_DECISION -> ApplicationDecisionEvent.class;
+                case CAPACITY_REQUEST -> CapacityRequestEvent.class;
+            };
+            return Mono.just(OutboxMessage.builder()
+                    .id(row.id())
+                    .type(type)
+                    .aggregateId(row.aggregateId())
+                    .payload(objectMapper.readValue(row.payload(), eventClass))
+                    .attempts(row.attempts() == null ? 0 : row.attempts())
+                    .build());
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.error("OUTBOX payload inválido id={}: {}", row.id(), e.getMessage());
+            return markDead(row.id(), "payload inválido: " + e.getMessage()).then(Mono.empty());
+        }
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("No se pudo serializar el evento para el outbox", e);
+        }
+    }
+
+    private record PendingRow(OutboxEventType type, Long aggregateId, Object event) {
+    }
+
+    private record StoredRow(Long id, String type, Long aggregateId, String payload, Integer attempts) {
+    }
+}
@@ -0,0 +1,25 @@
+package co.com.pragma.solicitudes.r2dbc;
+
+import co.com.pragma.solicitudes.model.transaction.gateways.UnitOfWork;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementa UnitOfWork con la transacción reactiva de R2DBC.
+ * Los adapters que ya usan TransactionalOperator se unen a esta transacción.
+ */
+@Component
+public class R2dbcUnitOfWork implements UnitOfWork {
+
+    private final TransactionalOperator transactionalOperator;
+
+    public R2dbcUnitOfWork(TransactionalOperator transactionalOperator) {
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    @Override
+    public <T> Mono<T> transactional(Mono<T> work) {
+        return transactionalOperator.transactional(work);
+    }
+}
@@ -0,0 +1,66 @@
+package co.com.pragma.solicitudes.r2dbc;
+
+import co.com.pragma.solicitudes.model.application.ReviewApplication;
+import co.com.pragma.solicitudes.model.application.gateways.ReviewApplicationRepository;
+import co.com.pragma.solicitudes.model.constants.ApplicationConstants;
+import co.com.pragma.solicitudes.r2dbc.replica.ReplicaRouting;
+import io.r2dbc.spi.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+
+/**
+ * Modelo de lectura de la bandeja de revisión: une application y loan_type en una sola
+ * sentencia en lugar de una consulta por fila para el tipo de préstamo. El nombre del
+ * estado no se consulta: la respuesta lo toma de CodeState a partir de id_state.
+ * Las filas salen de la más antigua a la más reciente, en el orden del índice
+ * idx_application_state_created. Es un listado de solo lectura: puede ir a la réplica.
+ */
+@Repository
+public class ReviewApplicationQueryAdapter implements ReviewApplicationRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewApplicationQueryAdapter.class);
+
+    // Público para que ReviewQueryPlanTest (app-service) haga EXPLAIN de esta misma sentencia
+    public static final String SQL_FIND_BY_STATE = """
+            SELECT a.id_application, a.amount, a.term, a.email, a.id_user, a.id_state,
+                   a.loan_type_id, lt.name AS loan_type_name, lt.rateInterest
+            FROM application a
+            JOIN loan_type lt ON lt.loan_type_id = a.loan_type_id
+            WHERE a.id_state = :idState
+            ORDER BY a.fecha_creacion, a.id_application""";
+
+    private final DatabaseClient databaseClient;
+
+    public ReviewApplicationQueryAdapter(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<ReviewApplication> findByState(Long idState) {
+        log.debug(ApplicationConstants.LOG_LISTANDO_REVISION_JOIN, idState);
+        return databaseClient.sql(SQL_FIND_BY_STATE)
+                .bind("idState", idState)
+                .map((row, metadata) -> toReviewApplication(row))
+                .all()
+                .as(ReplicaRouting::onReplica);
+    }
+
+    static ReviewApplication toReviewApplication(Row row) {
+        return ReviewApplication.builder()
+                .idApplication(row.get("id_application", Long.class))
+                .amount(row.get("amount", BigDecimal.class))
+                .term(row.get("term", Integer.class))
+                .email(row.get("email", String.class))
+                .idUser(row.get("id_user", Long.class))
+                .idState(row.get("id_state", Long.class))
+                .loanTypeID(row.get("loan_type_id", Long.class))
+                .loanTypeName(row.get("loan_type_name", String.class))
+                .rateInterest(row.get("rateInterest", BigDecimal.class))
+                .build();
+    }
+}
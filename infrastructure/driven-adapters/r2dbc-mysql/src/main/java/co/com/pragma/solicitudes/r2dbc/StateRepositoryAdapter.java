@@ -4,9 +4,11 @@ import co.com.pragma.solicitudes.model.state.State;
 import co.com.pragma.solicitudes.model.state.gateways.StateRepository;
 import co.com.pragma.solicitudes.r2dbc.entity.StateEntity;
 import co.com.pragma.solicitudes.r2dbc.helper.ReactiveAdapterOperations;
+import co.com.pragma.solicitudes.r2dbc.mapper.RowMappers;
 import co.com.pragma.solicitudes.r2dbc.mapper.StateMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -20,6 +22,7 @@ import reactor.core.publisher.Mono;
  * - Flux: representa 0 o más elementos (ej: findAll)
  *
  * Se usa SLF4J para trazabilidad profesional en microservicios.
+ * Las lecturas leen la fila directo al modelo de dominio ({@link RowMappers}).
  */
 @Repository
 public class StateRepositoryAdapter extends ReactiveAdapterOperations<
@@ -32,18 +35,26 @@ public class StateRepositoryAdapter extends ReactiveAdapterOperations<
     // Logger profesional, puede integrarse con CloudWatch, ELK, etc.
     private static final Logger log = LoggerFactory.getLogger(StateRepositoryAdapter.class);
 
+    static final String SQL_SELECT = "SELECT " + RowMappers.STATE_COLUMNS + " FROM state";
+    static final String SQL_FIND_BY_ID = SQL_SELECT + " WHERE id_state = :id";
+
     // Repositorio reactivo generado por Spring Data
     private final IStateReactiveRepository reactiveRepository;
 
     // Mapper para convertir entre Entidad ↔ Dominio
     private final StateMapper stateMapper;
 
+    // Cliente SQL para las lecturas fila → dominio
+    private final DatabaseClient databaseClient;
+
     // Constructor
     protected StateRepositoryAdapter(IStateReactiveRepository repository,
-                                     StateMapper stateMapper) {
-        super(repository, null, stateMapper::toModel); // Configura ReactiveAdapterOperations
+                                     StateMapper stateMapper,
+                                     DatabaseClient databaseClient) {
+        super(repository, stateMapper::toEntity, stateMapper::toModel); // Configura ReactiveAdapterOperations
         this.reactiveRepository = repository;
         this.stateMapper = stateMapper;
+        this.databaseClient = databaseClient;
     }
 
     @Override
@@ -62,9 +73,10 @@ public class StateRepositoryAdapter extends ReactiveAdapterOperations<
     public Flux<State> findAll() {
         log.debug("Listando todos los Estados");
 
-        // Flux se usa para representar múltiples elementos, mapeamos cada entidad a dominio
-        return reactiveRepository.findAll()
-                .map(stateMapper::toModel)
+        // Flux se usa para representar múltiples elementos, cada fila se lee directo a dominio
+        return databaseClient.sql(SQL_SELECT)
+                .map((row, metadata) -> RowMappers.toState(row))
+                .all()
                 .doOnNext(e -> log.info("State listado: {}", e.getIdState()));
     }
 
@@ -73,8 +85,10 @@ public class StateRepositoryAdapter extends ReactiveAdapterOperations<
         log.debug("Buscando State con ID: {}", id);
 
         // Mono: representa máximo 1 elemento
-        return reactiveRepository.findById(id)
-                .map(stateMapper::toModel) // Convertimos a dominio
+        return databaseClient.sql(SQL_FIND_BY_ID)
+                .bind("id", id)
+                .map((row, metadata) -> RowMappers.toState(row)) // Fila → dominio
+                .one()
                 .doOnNext(e -> log.info("State encontrado: {}", e))
                 .switchIfEmpty(Mono.defer(() -> {
                     // Trazabilidad si no se encuentra
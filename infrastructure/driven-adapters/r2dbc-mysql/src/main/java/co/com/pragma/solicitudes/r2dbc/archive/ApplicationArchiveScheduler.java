@@ -0,0 +1,50 @@
+package co.com.pragma.solicitudes.r2dbc.archive;
+
+import co.com.pragma.solicitudes.r2dbc.config.ArchiveProperties;
+import co.com.pragma.solicitudes.usecase.archive.ApplicationArchiveUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ejecuta el archivador de solicitudes finalizadas fuera del ciclo de las peticiones HTTP.
+ * La siguiente ejecución empieza tras el intervalo; si quedó trabajo pendiente, la retoma.
+ *
+ * No bloquea el hilo de @Scheduled, que es único y compartido con el relay del outbox y el
+ * consumidor de capacidad: se suscribe y retorna. Mientras una ejecución sigue en curso las
+ * siguientes se saltan, para no solapar dos archivadores.
+ */
+@Component
+public class ApplicationArchiveScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationArchiveScheduler.class);
+
+    private static final Duration RUN_TIMEOUT = Duration.ofMinutes(10);
+
+    private final ApplicationArchiveUseCase archiveUseCase;
+    private final ArchiveProperties properties;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ApplicationArchiveScheduler(ApplicationArchiveUseCase archiveUseCase, ArchiveProperties properties) {
+        this.archiveUseCase = archiveUseCase;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${adapters.r2dbc.archive.interval:15m}", initialDelayString = "1m")
+    public void archive() {
+        if (!properties.enabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        archiveUseCase.archive(properties.minAge(), properties.chunkSize(),
+                        properties.maxChunks(), properties.pause())
+                .timeout(RUN_TIMEOUT)
+                .doFinally(signal -> running.set(false))
+                .subscribe(
+                        archived -> log.info("ARCHIVO: {} solicitudes finalizadas movidas a application_archive", archived),
+                        e -> log.error("ARCHIVO error: {}", e.getMessage()));
+    }
+}
@@ -0,0 +1,150 @@
+package co.com.pragma.solicitudes.r2dbc.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Límite de concurrencia adaptativo (AIMD) para llamadas a un servicio remoto.
+ *
+ * - Aumento aditivo: +1 al límite cuando una llamada termina bien, rápido y
+ *   el servicio estaba siendo usado al menos a la mitad del límite.
+ * - Disminución multiplicativa: límite × backoffRatio cuando una llamada falla
+ *   o supera la latencia objetivo.
+ * - Si ya hay tantas llamadas en curso como el límite, la nueva se rechaza de
+ *   inmediato con {@link LimitExceededException}.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final Predicate<Throwable> isFailure;
+
+    private double limit;
+    private int inFlight;
+
+    private Counter rejected;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      Duration latencyThreshold, double backoffRatio,
+                                      Predicate<Throwable> isFailure) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.isFailure = isFailure;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Publica el límite actual, las llamadas en curso y los rechazos en Micrometer.
+     */
+    public AdaptiveConcurrencyLimiter bindTo(MeterRegistry registry, String name) {
+        Gauge.builder(name + ".concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Límite de concurrencia adaptativo actual")
+                .register(registry);
+        Gauge.builder(name + ".concurrency.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Llamadas en curso")
+                .register(registry);
+        this.rejected = Counter.builder(name + ".concurrency.rejected")
+                .description("Llamadas rechazadas por el límite de concurrencia")
+                .register(registry);
+        return this;
+    }
+
+    public <T> Mono<T> limit(Mono<T> call) {
+        return Mono.defer(() -> {
+            Permit permit = acquire();
+            if (permit == null) {
+                return Mono.error(new LimitExceededException(getLimit()));
+            }
+            return call.doOnError(permit::failed).doFinally(permit::release);
+        });
+    }
+
+    public <T> Flux<T> limit(Flux<T> call) {
+        return Flux.defer(() -> {
+            Permit permit = acquire();
+            if (permit == null) {
+                return Flux.error(new LimitExceededException(getLimit()));
+            }
+            return call.doOnError(permit::failed).doFinally(permit::release);
+        });
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private synchronized Permit acquire() {
+        if (inFlight >= (int) limit) {
+            if (rejected != null) {
+                rejected.increment();
+            }
+            return null;
+        }
+        inFlight++;
+        return new Permit(System.nanoTime(), inFlight);
+    }
+
+    private synchronized void onRelease(long startNanos, int inFlightAtStart, boolean dropped, boolean cancelled) {
+        inFlight--;
+        if (cancelled) {
+            // Una cancelación no dice nada de la salud del servicio
+            return;
+        }
+        long rtt = System.nanoTime() - startNanos;
+        if (dropped || rtt > latencyThresholdNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlightAtStart * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    /**
+     * Permiso de una llamada en curso; se libera una sola vez al terminar.
+     */
+    private final class Permit {
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean dropped;
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        void failed(Throwable error) {
+            dropped = isFailure.test(error);
+        }
+
+        void release(SignalType signal) {
+            if (released.compareAndSet(false, true)) {
+                onRelease(startNanos, inFlightAtStart, dropped, signal == SignalType.CANCEL);
+            }
+        }
+    }
+
+    /**
+     * Se superó el límite de concurrencia vigente.
+     */
+    public static class LimitExceededException extends RuntimeException {
+        public LimitExceededException(int limit) {
+            super("Límite de concurrencia alcanzado: " + limit);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package co.com.pragma.solicitudes.r2dbc.client;
+
+import co.com.pragma.solicitudes.model.user.User;
+import co.com.pragma.solicitudes.model.user.gateways.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorador estilo DataLoader para {@link UserRepository#getUserById}.
+ *
+ * Agrupa los ids pedidos dentro de una ventana corta (o hasta un tamaño máximo)
+ * y los resuelve con una sola llamada a {@link UserRepository#getUsersByIds}.
+ * Los lotes se separan por token porque cada llamada viaja con el JWT del solicitante.
+ *
+ * Semántica igual a la llamada individual: un id ausente en la respuesta del lote
+ * se consulta de forma individual para conservar el 404 original.
+ */
+public class BatchingUserRepository implements UserRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchingUserRepository.class);
+
+    private final UserRepository delegate;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Scheduler scheduler;
+    private final Map<String, PendingBatch> pending = new ConcurrentHashMap<>();
+
+    public BatchingUserRepository(UserRepository delegate, Duration window, int maxBatchSize) {
+        this(delegate, window, maxBatchSize, Schedulers.parallel());
+    }
+
+    BatchingUserRepository(UserRepository delegate, Duration window, int maxBatchSize, Scheduler scheduler) {
+        this.delegate = delegate;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Mono<User> getUserById(Long id, String token) {
+        if (id == null || token == null) {
+            return delegate.getUserById(id, token);
+        }
+        return Mono.defer(() -> enqueue(id, token));
+    }
+
+    @Override
+    public Flux<User> getUsersByIds(Set<Long> ids, String token) {
+        return delegate.getUsersByIds(ids, token);
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email, String token) {
+        return delegate.existsByEmail(email, token);
+    }
+
+    private Mono<User> enqueue(Long id, String token) {
+        while (true) {
+            PendingBatch batch = pending.computeIfAbsent(token, this::openBatch);
+            Mono<User> result = batch.add(id);
+            if (result == null) {
+                // Lote cerrado o lleno: se despacha y se reintenta en uno nuevo
+                dispatch(batch);
+                continue;
+            }
+            if (batch.isFull()) {
+                dispatch(batch);
+            }
+            return result;
+        }
+    }
+
+    private PendingBatch openBatch(String token) {
+        PendingBatch batch = new PendingBatch(token);
+        scheduler.schedule(() -> dispatch(batch), window.toNanos(), TimeUnit.NANOSECONDS);
+        return batch;
+    }
+
+    private void dispatch(PendingBatch batch) {
+        pending.remove(batch.token, batch);
+        Map<Long, Sinks.One<User>> waiters = batch.close();
+        if (waiters == null || waiters.isEmpty()) {
+            return;
+        }
+        log.debug("Resolviendo lote de {} usuarios", waiters.size());
+        delegate.getUsersByIds(waiters.keySet(), batch.token)
+                .collectMap(User::getIdNumber)
+                .subscribe(found -> waiters.forEach((id, sink) -> {
+                            User user = found.get(id);
+                            if (user != null) {
+                                sink.tryEmitValue(user);
+                            } else {
+                                resolveIndividually(id, batch.token, sink);
+                            }
+                        }),
+                        error -> {
+                            if (isBulkUnsupported(error)) {
+                                log.warn("Consulta en lote no disponible, se resuelve individualmente: {}", error.getMessage());
+                                waiters.forEach((id, sink) -> resolveIndividually(id, batch.token, sink));
+                            } else {
+                                waiters.values().forEach(sink -> sink.tryEmitError(error));
+                            }
+                        });
+    }
+
+    private void resolveIndividually(Long id, String token, Sinks.One<User> sink) {
+        delegate.getUserById(id, token)
+                .subscribe(sink::tryEmitValue, sink::tryEmitError, sink::tryEmitEmpty);
+    }
+
+    /**
+     * El micro de autenticación puede no exponer aún el endpoint de lote.
+     */
+    private static boolean isBulkUnsupported(Throwable error) {
+        return error instanceof WebClientResponseException e
+                && (e.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)
+                || e.getStatusCode().isSameCodeAs(HttpStatus.METHOD_NOT_ALLOWED)
+                || e.getStatusCode().isSameCodeAs(HttpStatus.NOT_IMPLEMENTED));
+    }
+
+    /**
+     * Ids pendientes de un token. Se cierra una sola vez al despacharse.
+     */
+    private final class PendingBatch {
+        private final String token;
+        private final Map<Long, Sinks.One<User>> waiters = new LinkedHashMap<>();
+        private boolean closed;
+
+        private PendingBatch(String token) {
+            this.token = token;
+        }
+
+        synchronized Mono<User> add(Long id) {
+            if (closed) {
+                return null;
+            }
+            Sinks.One<User> sink = waiters.get(id);
+            if (sink == null) {
+                if (waiters.size() >= maxBatchSize) {
+                    return null;
+                }
+                sink = Sinks.one();
+                waiters.put(id, sink);
+            }
+            return sink.asMono();
+        }
+
+        synchronized boolean isFull() {
+            return waiters.size() >= maxBatchSize;
+        }
+
+        synchronized Map<Long, Sinks.One<User>> close() {
+            if (closed) {
+                return null;
+            }
+            closed = true;
+            return waiters;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package co.com.pragma.solicitudes.r2dbc.client;
+
+import co.com.pragma.solicitudes.model.user.User;
+import co.com.pragma.solicitudes.model.user.gateways.UserRepository;
+import co.com.pragma.solicitudes.r2dbc.config.UserCacheProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Decorador de {@link UserRepository} con caché read-through asíncrona.
+ *
+ * - Tamaño acotado y TTL configurables (clients.autenticacion.cache.*).
+ * - Caché negativa corta para usuarios inexistentes (404 o respuesta vacía).
+ * - Single-flight: los "miss" concurrentes del mismo id comparten una sola llamada HTTP.
+ * - Exporta hits/miss/tiempos de carga a Micrometer (endpoint /actuator/prometheus).
+ *
+ * La clave es solo el id: el micro de autenticación devuelve la misma representación
+ * del usuario sin importar el token con el que se consulte.
+ */
+public class CachedUserRepository implements UserRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(CachedUserRepository.class);
+
+    public static final String CACHE_NAME = "auth.users";
+
+    private final UserRepository delegate;
+    private final AsyncCache<Long, UserLookup> cache;
+
+    public CachedUserRepository(UserRepository delegate,
+                                UserCacheProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new UserLookupExpiry(properties.ttl(), properties.negativeTtl()))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Mono<User> getUserById(Long id, String token) {
+        if (id == null) {
+            return delegate.getUserById(id, token);
+        }
+        // suppressCancel=true: si un suscriptor cancela no se cancela la carga compartida
+        return Mono.fromFuture(() -> cache.get(id, (key, executor) -> load(key, token)), true)
+                .flatMap(UserLookup::toMono);
+    }
+
+    /**
+     * Sirve desde caché los ids presentes y consulta en un solo lote los faltantes.
+     */
+    @Override
+    public Flux<User> getUsersByIds(Set<Long> ids, String token) {
+        if (ids == null || ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return Mono.fromFuture(() -> cache.getAll(ids, (missing, executor) -> loadAll(missing, token)), true)
+                .flatMapIterable(Map::values)
+                .filter(UserLookup::isPresent)
+                .map(UserLookup::user);
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email, String token) {
+        return delegate.existsByEmail(email, token);
+    }
+
+    /**
+     * Carga el usuario desde el delegado. Los errores distintos a 404 no se cachean:
+     * el futuro termina en excepción y Caffeine lo descarta.
+     */
+    private CompletableFuture<UserLookup> load(Long id, String token) {
+        log.debug("Cache miss de usuario id={}", id);
+        return delegate.getUserById(id, token)
+                .map(UserLookup::found)
+                .switchIfEmpty(Mono.fromSupplier(() -> UserLookup.notFound(null)))
+                .onErrorResume(WebClientResponseException.NotFound.class,
+                        e -> Mono.just(UserLookup.notFound(e)))
+                .toFuture();
+    }
+
+    /**
+     * Carga en lote. Solo se cachean los encontrados: un id ausente del lote no se
+     * marca como negativo, para que getUserById conserve el 404 del micro.
+     */
+    private CompletableFuture<Map<Long, UserLookup>> loadAll(Set<? extends Long> ids, String token) {
+        log.debug("Cache miss de {} usuarios en lote", ids.size());
+        return delegate.getUsersByIds(new HashSet<>(ids), token)
+                .collectMap(User::getIdNumber, UserLookup::found)
+                .toFuture();
+    }
+
+    /**
+     * Resultado cacheado: usuario encontrado o "no encontrado" (con el 404 original si lo hubo).
+     */
+    record UserLookup(User user, WebClientResponseException notFound) {
+
+        static UserLookup found(User user) {
+            return new UserLookup(user, null);
+        }
+
+        static UserLookup notFound(WebClientResponseException notFound) {
+            return new UserLookup(null, notFound);
+        }
+
+        boolean isPresent() {
+            return user != null;
+        }
+
+        Mono<User> toMono() {
+            if (user != null) {
+                return Mono.just(user);
+            }
+            return notFound != null ? Mono.error(notFound) : Mono.empty();
+        }
+    }
+
+    /**
+     * TTL distinto para positivos y negativos.
+     */
+    private record UserLookupExpiry(Duration ttl, Duration negativeTtl) implements Expiry<Long, UserLookup> {
+
+        @Override
+        public long expireAfterCreate(Long key, UserLookup value, long currentTime) {
+            return (value.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, UserLookup value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, UserLookup value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package co.com.pragma.solicitudes.r2dbc.client;
+
+import co.com.pragma.solicitudes.r2dbc.config.EmailIndexProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Índice en memoria de emails registrados en el micro de autenticación.
+ *
+ * - Positivos recientes: emails confirmados hace menos de positiveTtl (caché con TTL).
+ * - Filtro de Bloom: se reconstruye con la carga masiva (export) y además recibe
+ *   cada positivo confirmado. Un "no contiene" solo se considera definitivo mientras
+ *   la última carga masiva sea más reciente que maxStaleness; sin carga masiva el
+ *   filtro no descarta nada.
+ *
+ * Un email registrado después de la última carga aparece como NOT_EXISTS hasta la siguiente
+ * recarga (como máximo maxStaleness); por eso EmailIndexUserRepository confirma los negativos
+ * en el micro en lugar de responderlos desde aquí.
+ */
+public class EmailIndex implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailIndex.class);
+
+    /**
+     * Resultado de consultar el índice.
+     */
+    public enum Lookup { EXISTS, NOT_EXISTS, UNKNOWN }
+
+    private final EmailIndexProperties properties;
+    private final Cache<String, Boolean> positives;
+    private final AtomicReference<Snapshot> snapshot;
+    private final Clock clock;
+    private volatile Disposable warming;
+
+    public EmailIndex(EmailIndexProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    EmailIndex(EmailIndexProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.positives = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.positiveTtl())
+                .build();
+        this.snapshot = new AtomicReference<>(new Snapshot(newFilter(), null));
+    }
+
+    public Lookup lookup(String email) {
+        String key = normalize(email);
+        if (positives.getIfPresent(key) != null) {
+            return Lookup.EXISTS;
+        }
+        Snapshot current = snapshot.get();
+        if (isFresh(current) && !current.filter().mightContain(key)) {
+            return Lookup.NOT_EXISTS;
+        }
+        return Lookup.UNKNOWN;
+    }
+
+    public void recordExists(String email) {
+        String key = normalize(email);
+        positives.put(key, Boolean.TRUE);
+        snapshot.get().filter().put(key);
+    }
+
+    /**
+     * Reconstruye el filtro con todos los emails del export y lo publica de forma atómica.
+     */
+    public Mono<Long> warm(Flux<String> emails) {
+        return Mono.defer(() -> {
+            BloomFilter filter = newFilter();
+            return emails.map(EmailIndex::normalize)
+                    .doOnNext(filter::put)
+                    .count()
+                    .doOnNext(count -> {
+                        snapshot.set(new Snapshot(filter, clock.instant()));
+                        log.info("Índice de emails cargado con {} emails", count);
+                    });
+        });
+    }
+
+    /**
+     * Programa la carga masiva periódica. Un fallo se registra y se reintenta en el siguiente ciclo.
+     */
+    public void startWarming(Supplier<Flux<String>> export, Duration interval) {
+        warming = Flux.interval(Duration.ZERO, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> warm(export.get())
+                        .onErrorResume(e -> {
+                            log.warn("Error cargando índice de emails: {}", e.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @Override
+    public void close() {
+        Disposable current = warming;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current.warmedAt() != null
+                && current.warmedAt().plus(properties.warm().maxStaleness()).isAfter(clock.instant());
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(properties.expectedInsertions(), properties.falsePositiveRate());
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Snapshot(BloomFilter filter, Instant warmedAt) {
+    }
+}
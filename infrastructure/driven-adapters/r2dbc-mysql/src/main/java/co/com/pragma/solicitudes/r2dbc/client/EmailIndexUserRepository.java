@@ -0,0 +1,80 @@
+package co.com.pragma.solicitudes.r2dbc.client;
+
+import co.com.pragma.solicitudes.model.user.User;
+import co.com.pragma.solicitudes.model.user.gateways.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Decorador de {@link UserRepository#existsByEmail} que consulta primero el {@link EmailIndex}.
+ *
+ * Solo los positivos recientes se responden sin llamada HTTP. Un negativo del índice puede
+ * venir de una carga masiva anterior al registro del usuario, así que se confirma en el micro
+ * (los negativos son el camino raro) en vez de rechazar la solicitud con él. Todo "existe"
+ * remoto alimenta el índice.
+ *
+ * Métrica: auth.email.index.lookups con tag result (exists, not_exists, remote);
+ * not_exists cuenta los negativos del índice, que también van al micro.
+ */
+public class EmailIndexUserRepository implements UserRepository {
+
+    private static final String METRIC = "auth.email.index.lookups";
+
+    private final UserRepository delegate;
+    private final EmailIndex index;
+    private final Counter existsHits;
+    private final Counter notExistsHits;
+    private final Counter remote;
+
+    public EmailIndexUserRepository(UserRepository delegate, EmailIndex index, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.index = index;
+        this.existsHits = meterRegistry.counter(METRIC, "result", "exists");
+        this.notExistsHits = meterRegistry.counter(METRIC, "result", "not_exists");
+        this.remote = meterRegistry.counter(METRIC, "result", "remote");
+    }
+
+    @Override
+    public Mono<User> getUserById(Long id, String token) {
+        return delegate.getUserById(id, token);
+    }
+
+    @Override
+    public Flux<User> getUsersByIds(Set<Long> ids, String token) {
+        return delegate.getUsersByIds(ids, token);
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email, String token) {
+        if (email == null) {
+            return delegate.existsByEmail(email, token);
+        }
+        return Mono.defer(() -> switch (index.lookup(email)) {
+            case EXISTS -> {
+                existsHits.increment();
+                yield Mono.just(true);
+            }
+            case NOT_EXISTS -> {
+                notExistsHits.increment();
+                yield existsRemotely(email, token);
+            }
+            case UNKNOWN -> {
+                remote.increment();
+                yield existsRemotely(email, token);
+            }
+        });
+    }
+
+    private Mono<Boolean> existsRemotely(String email, String token) {
+        return delegate.existsByEmail(email, token)
+                .doOnNext(exists -> {
+                    if (Boolean.TRUE.equals(exists)) {
+                        index.recordExists(email);
+                    }
+                });
+    }
+}
@@ -0,0 +1,55 @@
+package co.com.pragma.solicitudes.r2dbc.client;
+
+import co.com.pragma.solicitudes.model.user.User;
+import co.com.pragma.solicitudes.model.user.gateways.UserRepository;
+import co.com.pragma.solicitudes.r2dbc.config.UserHedgingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Decorador de {@link UserRepository} que aplica {@link RequestHedger} a las lecturas individuales.
+ *
+ * Va por encima de {@link ResilientUserRepository}: la original y el hedge pasan cada uno por el
+ * circuit breaker, el bulkhead y el límite adaptativo, así un hedge ocupa su propio permiso y no
+ * puede saltarse la concurrencia máxima hacia el micro. Un hedge rechazado por falta de permiso
+ * no afecta la respuesta: queda la petición original.
+ *
+ * La consulta en lote (getUsersByIds) no se duplica.
+ */
+public class HedgingUserRepository implements UserRepository {
+
+    private final UserRepository delegate;
+    private final RequestHedger userHedger;
+    private final RequestHedger emailHedger;
+
+    public HedgingUserRepository(UserRepository delegate, UserHedgingProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this(delegate,
+                new RequestHedger("getUserById", properties, meterRegistry),
+                new RequestHedger("existsByEmail", properties, meterRegistry));
+    }
+
+    HedgingUserRepository(UserRepository delegate, RequestHedger userHedger, RequestHedger emailHedger) {
+        this.delegate = delegate;
+        this.userHedger = userHedger;
+        this.emailHedger = emailHedger;
+    }
+
+    @Override
+    public Mono<User> getUserById(Long id, String token) {
+        return userHedger.hedge(() -> delegate.getUserById(id, token));
+    }
+
+    @Override
+    public Flux<User> getUsersByIds(Set<Long> ids, String token) {
+        return delegate.getUsersByIds(ids, token);
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email, String token) {
+        return emailHedger.hedge(() -> delegate.existsByEmail(email, token));
+    }
+}
@@ -0,0 +1,188 @@
+package co.com.pragma.solicitudes.r2dbc.client;
+
+import co.com.pragma.solicitudes.r2dbc.config.UserHedgingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Hedging de lecturas idempotentes: si la petición no respondió pasado un percentil
+ * de la latencia reciente, se envía una segunda petición idéntica y gana la primera
+ * en responder (la otra se cancela).
+ *
+ * Un presupuesto tipo token bucket limita las peticiones extra: cada petición aporta
+ * budgetRatio tokens y cada hedge consume uno, así la carga adicional sobre el micro
+ * nunca supera ese porcentaje. Un hedge que falla (p. ej. rechazado por falta de permiso
+ * de concurrencia) no decide la respuesta: se espera a la original.
+ *
+ * Métricas (tag operation): auth.client.hedge.requests, auth.client.hedge.sent y
+ * auth.client.hedge.won. Tasa de hedge = sent / requests; tasa de acierto = won / sent.
+ */
+public class RequestHedger {
+
+    private static final String METRIC_PREFIX = "auth.client.hedge";
+    private static final int RECOMPUTE_EVERY = 50;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final Duration minDelay;
+    private final Duration initialDelay;
+    private final LatencyWindow latencies;
+    private final HedgeBudget budget;
+
+    private final Counter requests;
+    private final Counter sent;
+    private final Counter won;
+
+    public RequestHedger(String operation, UserHedgingProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.percentile = properties.percentile();
+        this.minDelay = properties.minDelay();
+        this.initialDelay = properties.initialDelay();
+        this.latencies = new LatencyWindow(properties.sampleSize());
+        this.budget = new HedgeBudget(properties.budgetRatio(), properties.maxTokens());
+        this.requests = counter(meterRegistry, ".requests", operation, "Lecturas elegibles para hedge");
+        this.sent = counter(meterRegistry, ".sent", operation, "Peticiones de hedge enviadas");
+        this.won = counter(meterRegistry, ".won", operation, "Hedges que respondieron antes que la original");
+    }
+
+    /**
+     * Hedger que solo delega; se usa cuando el hedging está desactivado.
+     */
+    public static RequestHedger disabled() {
+        return new RequestHedger();
+    }
+
+    private RequestHedger() {
+        this.enabled = false;
+        this.percentile = 0;
+        this.minDelay = Duration.ZERO;
+        this.initialDelay = Duration.ZERO;
+        this.latencies = null;
+        this.budget = null;
+        this.requests = null;
+        this.sent = null;
+        this.won = null;
+    }
+
+    /**
+     * @param call fabrica una petición nueva en cada invocación (la original y, si aplica, el hedge)
+     */
+    public <T> Mono<T> hedge(Supplier<Mono<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        return Mono.defer(() -> {
+            requests.increment();
+            budget.deposit();
+
+            Mono<T> primary = timed(call.get());
+            // Si no hay presupuesto el hedge nunca emite y gana siempre la original
+            Mono<T> hedge = Mono.delay(hedgeDelay())
+                    .flatMap(tick -> {
+                        if (!budget.tryAcquire()) {
+                            return Mono.never();
+                        }
+                        sent.increment();
+                        return timed(call.get())
+                                .doOnSuccess(value -> won.increment())
+                                .onErrorResume(error -> Mono.never());
+                    });
+            return Mono.firstWithSignal(primary, hedge);
+        });
+    }
+
+    Duration hedgeDelay() {
+        long nanos = latencies.percentile(percentile);
+        if (nanos < 0) {
+            return initialDelay;
+        }
+        return nanos < minDelay.toNanos() ? minDelay : Duration.ofNanos(nanos);
+    }
+
+    private <T> Mono<T> timed(Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doOnSuccess(value -> latencies.record(System.nanoTime() - start));
+        });
+    }
+
+    private static Counter counter(MeterRegistry registry, String suffix, String operation, String description) {
+        return Counter.builder(METRIC_PREFIX + suffix)
+                .tag("operation", operation)
+                .description(description)
+                .register(registry);
+    }
+
+    /**
+     * Ventana circular con las últimas latencias exitosas. El percentil se recalcula
+     * cada cierto número de muestras para no ordenar el arreglo en cada petición.
+     */
+    static final class LatencyWindow {
+        private final long[] samples;
+        private int next;
+        private int size;
+        private int sinceRecompute;
+        private double cachedPercentile = -1;
+        private long cachedValue = -1;
+
+        LatencyWindow(int capacity) {
+            this.samples = new long[capacity];
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+            sinceRecompute++;
+        }
+
+        /**
+         * @return el percentil pedido en nanos, o -1 si aún no hay muestras suficientes
+         */
+        synchronized long percentile(double p) {
+            if (size < RECOMPUTE_EVERY) {
+                return -1;
+            }
+            if (cachedValue < 0 || sinceRecompute >= RECOMPUTE_EVERY || cachedPercentile != p) {
+                long[] sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(p * size) - 1;
+                cachedValue = sorted[Math.max(0, Math.min(size - 1, index))];
+                cachedPercentile = p;
+                sinceRecompute = 0;
+            }
+            return cachedValue;
+        }
+    }
+
+    /**
+     * Token bucket del presupuesto de hedge.
+     */
+    static final class HedgeBudget {
+        private final double ratio;
+        private final double maxTokens;
+        private double tokens;
+
+        HedgeBudget(double ratio, int maxTokens) {
+            this.ratio = ratio;
+            this.maxTokens = maxTokens;
+        }
+
+        synchronized void deposit() {
+            tokens = Math.min(maxTokens, tokens + ratio);
+        }
+
+        synchronized boolean tryAcquire() {
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package co.com.pragma.solicitudes.r2dbc.client;
+
+import co.com.pragma.solicitudes.model.constants.ApplicationConstants;
+import co.com.pragma.solicitudes.model.user.User;
+import co.com.pragma.solicitudes.model.user.gateways.UserRepository;
+import co.com.pragma.solicitudes.r2dbc.config.UserResilienceProperties;
+import co.com.pragma.solicitudes.usecase.exceptions.DomainExceptions;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Decorador de {@link UserRepository} que protege al servicio de un micro de autenticación lento o caído.
+ *
+ * Capas, de afuera hacia adentro:
+ * - Circuit breaker: con el circuito abierto se falla de inmediato sin llamar al micro.
+ * - Bulkhead: tope duro de llamadas simultáneas.
+ * - Límite adaptativo (AIMD): ajusta la concurrencia según la latencia observada.
+ *
+ * Cualquier rechazo se traduce a {@link DomainExceptions.ServicioNoDisponible} (HTTP 503).
+ * Las respuestas 4xx del micro (p. ej. 404) son respuestas válidas y no cuentan como fallo.
+ *
+ * Métricas: resilience4j.circuitbreaker.*, resilience4j.bulkhead.* y auth.users.concurrency.*.
+ */
+public class ResilientUserRepository implements UserRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(ResilientUserRepository.class);
+
+    public static final String NAME = "auth.users";
+
+    private final UserRepository delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ResilientUserRepository(UserRepository delegate,
+                                   UserResilienceProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+
+        UserResilienceProperties.CircuitBreaker cb = properties.circuitBreaker();
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(cb.failureRateThreshold())
+                .slowCallRateThreshold(cb.slowCallRateThreshold())
+                .slowCallDurationThreshold(cb.slowCallDuration())
+                .slidingWindowSize(cb.slidingWindowSize())
+                .minimumNumberOfCalls(cb.minimumNumberOfCalls())
+                .waitDurationInOpenState(cb.waitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(cb.permittedCallsInHalfOpenState())
+                .recordException(ResilientUserRepository::isServiceFailure)
+                .ignoreExceptions(BulkheadFullException.class, AdaptiveConcurrencyLimiter.LimitExceededException.class)
+                .build());
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(NAME);
+        this.circuitBreaker.getEventPublisher()
+                .onStateTransition(e -> log.warn(ApplicationConstants.LOG_AUTH_CIRCUIT_STATE,
+                        e.getStateTransition().getFromState(), e.getStateTransition().getToState()));
+
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.bulkhead().maxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        this.bulkhead = bulkheadRegistry.bulkhead(NAME);
+
+        UserResilienceProperties.Limiter l = properties.limiter();
+        this.limiter = new AdaptiveConcurrencyLimiter(l.initialLimit(), l.minLimit(), l.maxLimit(),
+                l.latencyThreshold(), l.backoffRatio(), ResilientUserRepository::isServiceFailure)
+                .bindTo(meterRegistry, NAME);
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+    }
+
+    @Override
+    public Mono<User> getUserById(Long id, String token) {
+        return guard(delegate.getUserById(id, token));
+    }
+
+    @Override
+    public Flux<User> getUsersByIds(Set<Long> ids, String token) {
+        return guard(delegate.getUsersByIds(ids, token));
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email, String token) {
+        return guard(delegate.existsByEmail(email, token));
+    }
+
+    CircuitBreaker.State circuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private <T> Mono<T> guard(Mono<T> call) {
+        return limiter.limit(call)
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .onErrorMap(ResilientUserRepository::isRejection, ResilientUserRepository::unavailable);
+    }
+
+    private <T> Flux<T> guard(Flux<T> call) {
+        return limiter.limit(call)
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .onErrorMap(ResilientUserRepository::isRejection, ResilientUserRepository::unavailable);
+    }
+
+    /**
+     * Fallo atribuible al micro: 5xx, timeouts y errores de conexión. Los 4xx no lo son.
+     */
+    static boolean isServiceFailure(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return !(error instanceof DomainExceptions);
+    }
+
+    private static boolean isRejection(Throwable error) {
+        return error instanceof CallNotPermittedException
+                || error instanceof BulkheadFullException
+                || error instanceof AdaptiveConcurrencyLimiter.LimitExceededException;
+    }
+
+    private static Throwable unavailable(Throwable cause) {
+        log.warn(ApplicationConstants.LOG_AUTH_CALL_REJECTED, cause.getMessage());
+        return new DomainExceptions.ServicioNoDisponible(ApplicationConstants.MSG_AUTH_NO_DISPONIBLE);
+    }
+}
@@ -3,19 +3,41 @@ package co.com.pragma.solicitudes.r2dbc.client;
 import co.com.pragma.solicitudes.model.constants.ApplicationConstants;
 import co.com.pragma.solicitudes.model.user.User;
 import co.com.pragma.solicitudes.model.user.gateways.UserRepository;
-import lombok.RequiredArgsConstructor;
+import co.com.pragma.solicitudes.r2dbc.config.AuthClientProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.Set;
+
 @Component
-@RequiredArgsConstructor
 public class UserClientRest implements UserRepository {
 
     private static final Logger log = LoggerFactory.getLogger(UserClientRest.class);
-    private final WebClient webClient; // definido en WebClientsConfig
+    private static final Duration DEFAULT_CALL_TIMEOUT = Duration.ofSeconds(5);
+
+    private final WebClient webClient; // definido en WebClientConfig
+    private final Duration callTimeout; // tope de espera por llamada al micro
+
+    @Autowired
+    public UserClientRest(WebClient webClient, AuthClientProperties properties) {
+        this(webClient, properties.callTimeout());
+    }
+
+    public UserClientRest(WebClient webClient) {
+        this(webClient, DEFAULT_CALL_TIMEOUT);
+    }
+
+    public UserClientRest(WebClient webClient, Duration callTimeout) {
+        this.webClient = webClient;
+        this.callTimeout = callTimeout;
+    }
 
     @Override
     public Mono<User> getUserById(Long id, String token) {
@@ -25,10 +47,28 @@ public class UserClientRest implements UserRepository {
                 .headers(h -> h.setBearerAuth(token))   // 👈 evita problemas de prefijo y espacios
                 .retrieve()
                 .bodyToMono(User.class)
+                .timeout(callTimeout)
                 .doOnSuccess(u -> log.info(ApplicationConstants.LOG_USER_FOUND_OK, u))
                 .doOnError(e -> log.error(ApplicationConstants.LOG_ERROR_CONSULTA_USER, e.getMessage()));
     }
 
+    @Override
+    public Flux<User> getUsersByIds(Set<Long> ids, String token) {
+        if (ids == null || ids.isEmpty()) {
+            return Flux.empty();
+        }
+        log.info(ApplicationConstants.LOG_GET_USERS, ids.size());
+        return webClient.post()
+                .uri(ApplicationConstants.URI_GET_USERS_BY_IDS)
+                .headers(h -> h.setBearerAuth(token))
+                .bodyValue(new UsersByIdsRequest(ids))
+                .retrieve()
+                .bodyToFlux(User.class)
+                .timeout(callTimeout)
+                .doOnComplete(() -> log.info(ApplicationConstants.LOG_USERS_FOUND_OK, ids.size()))
+                .doOnError(e -> log.error(ApplicationConstants.LOG_ERROR_CONSULTA_USERS, e.getMessage()));
+    }
+
     @Override
     public Mono<Boolean> existsByEmail(String email, String token) {
         log.info(ApplicationConstants.LOG_VERIFICATE_EMAIL, email);
@@ -38,9 +78,34 @@ public class UserClientRest implements UserRepository {
                 .retrieve()
                 .bodyToMono(EmailExistsResponse.class)
                 .map(EmailExistsResponse::exists)
+                .timeout(callTimeout)
                 .doOnSuccess(exists -> log.info(ApplicationConstants.LOG_EMAIL_EXIST, email, exists))
                 .doOnError(e -> log.error(ApplicationConstants.LOG_ERROR_VERIFICATE_EMAIL, e.getMessage()));
     }
 
+    /**
+     * Export de todos los emails registrados, usado para cargar el índice local de emails.
+     * Acepta respuesta JSON (arreglo) o NDJSON.
+     */
+    public Flux<String> exportEmails(String token) {
+        log.info(ApplicationConstants.LOG_EXPORT_EMAILS);
+        return webClient.get()
+                .uri(ApplicationConstants.URI_EXPORT_EMAILS)
+                .headers(h -> {
+                    if (token != null && !token.isBlank()) {
+                        h.setBearerAuth(token);
+                    }
+                })
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToFlux(ExportedEmail.class)
+                .map(ExportedEmail::email)
+                .doOnError(e -> log.error(ApplicationConstants.LOG_ERROR_EXPORT_EMAILS, e.getMessage()));
+    }
+
     private static record EmailExistsResponse(Boolean exists) {}
+
+    private static record ExportedEmail(String email) {}
+
+    private static record UsersByIdsRequest(Set<Long> ids) {}
 }
@@ -0,0 +1,26 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Archivo de solicitudes finalizadas.
+ *
+ * @param enabled   activa el archivador periódico
+ * @param minAge    antigüedad mínima de la decisión para archivar
+ * @param chunkSize solicitudes movidas por transacción
+ * @param maxChunks lotes como máximo en cada ejecución
+ * @param pause     espera entre lotes, para no competir con el tráfico de la API
+ * @param interval  tiempo entre ejecuciones (p. ej. 15m)
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.archive")
+public record ArchiveProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("90d") Duration minAge,
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("20") int maxChunks,
+        @DefaultValue("250ms") Duration pause,
+        @DefaultValue("15m") Duration interval) {
+}
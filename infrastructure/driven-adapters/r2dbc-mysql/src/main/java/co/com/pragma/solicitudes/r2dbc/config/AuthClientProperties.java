@@ -0,0 +1,45 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración HTTP del cliente hacia el micro de autenticación.
+ *
+ * @param baseUrl         URL base del micro
+ * @param connectTimeout  tiempo máximo para abrir la conexión TCP
+ * @param responseTimeout tiempo máximo sin recibir respuesta una vez enviada la petición
+ * @param callTimeout     tiempo máximo total de cada llamada en UserClientRest
+ * @param http2           habilita HTTP/2 (h2c en http, h2 en https) con fallback a HTTP/1.1
+ * @param metrics         publica métricas del pool y del cliente en Micrometer
+ * @param pool            dimensionamiento y desalojo del pool de conexiones
+ */
+@ConfigurationProperties(prefix = "clients.autenticacion")
+public record AuthClientProperties(
+        String baseUrl,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("3s") Duration responseTimeout,
+        @DefaultValue("5s") Duration callTimeout,
+        @DefaultValue("false") boolean http2,
+        @DefaultValue("true") boolean metrics,
+        @DefaultValue Pool pool) {
+
+    /**
+     * @param maxConnections          conexiones simultáneas máximas hacia el micro
+     * @param pendingAcquireMaxCount  peticiones que pueden esperar una conexión libre
+     * @param pendingAcquireTimeout   tiempo máximo esperando una conexión del pool
+     * @param maxIdleTime             cierra conexiones ociosas más antiguas que este tiempo
+     * @param maxLifeTime             vida máxima de una conexión (rota conexiones detrás de balanceadores)
+     * @param evictionInterval        frecuencia del desalojo en segundo plano
+     */
+    public record Pool(
+            @DefaultValue("50") int maxConnections,
+            @DefaultValue("200") int pendingAcquireMaxCount,
+            @DefaultValue("2s") Duration pendingAcquireTimeout,
+            @DefaultValue("30s") Duration maxIdleTime,
+            @DefaultValue("5m") Duration maxLifeTime,
+            @DefaultValue("30s") Duration evictionInterval) {
+    }
+}
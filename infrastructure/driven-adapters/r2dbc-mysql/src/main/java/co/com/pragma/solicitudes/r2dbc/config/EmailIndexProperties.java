@@ -0,0 +1,39 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración del índice local de emails registrados.
+ *
+ * @param enabled            activa o desactiva el índice
+ * @param positiveTtl        tiempo durante el cual un email confirmado no se vuelve a consultar
+ * @param maximumSize        cantidad máxima de emails confirmados en memoria
+ * @param expectedInsertions emails esperados en el filtro de Bloom
+ * @param falsePositiveRate  tasa de falsos positivos del filtro de Bloom
+ * @param warm               carga masiva periódica desde el export del micro
+ */
+@ConfigurationProperties(prefix = "clients.autenticacion.email-index")
+public record EmailIndexProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10m") Duration positiveTtl,
+        @DefaultValue("100000") long maximumSize,
+        @DefaultValue("1000000") long expectedInsertions,
+        @DefaultValue("0.01") double falsePositiveRate,
+        @DefaultValue Warm warm) {
+
+    /**
+     * @param enabled      activa la carga masiva
+     * @param interval     frecuencia de recarga
+     * @param maxStaleness tiempo tras una carga durante el cual un "no existe" del filtro es confiable
+     * @param token        token de servicio para el endpoint de export
+     */
+    public record Warm(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("5m") Duration interval,
+            @DefaultValue("6m") Duration maxStaleness,
+            String token) {
+    }
+}
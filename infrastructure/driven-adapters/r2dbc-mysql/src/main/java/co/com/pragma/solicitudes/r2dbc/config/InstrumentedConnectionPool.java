@@ -0,0 +1,55 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.Connection;
+import reactor.core.publisher.Mono;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * {@link ConnectionPool} que publica su estado en Micrometer.
+ *
+ * Gauges r2dbc.pool.acquired, idle, pending y allocated (tag name) y el timer
+ * r2dbc.pool.acquire, que mide la espera desde que se pide una conexión hasta que se entrega.
+ * Un acquire lento con pending alto indica que maxSize se queda corto para la carga.
+ */
+public class InstrumentedConnectionPool extends ConnectionPool {
+
+    private final Timer acquireTimer;
+
+    public InstrumentedConnectionPool(ConnectionPoolConfiguration configuration, String name, MeterRegistry registry) {
+        super(configuration);
+        Tags tags = Tags.of("name", name);
+        gauge(registry, "r2dbc.pool.acquired", "Conexiones en uso", tags, PoolMetrics::acquiredSize);
+        gauge(registry, "r2dbc.pool.idle", "Conexiones ociosas", tags, PoolMetrics::idleSize);
+        gauge(registry, "r2dbc.pool.pending", "Peticiones esperando conexión", tags, PoolMetrics::pendingAcquireSize);
+        gauge(registry, "r2dbc.pool.allocated", "Conexiones abiertas", tags, PoolMetrics::allocatedSize);
+        this.acquireTimer = Timer.builder("r2dbc.pool.acquire")
+                .description("Espera hasta obtener una conexión del pool")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return super.create().doOnSuccess(connection -> sample.stop(acquireTimer));
+        });
+    }
+
+    private void gauge(MeterRegistry registry, String name, String description, Tags tags,
+                       ToDoubleFunction<PoolMetrics> value) {
+        Gauge.builder(name, this, pool -> pool.getMetrics().map(value::applyAsDouble).orElse(0d))
+                .description(description)
+                .tags(tags)
+                .register(registry);
+    }
+}
@@ -1,27 +1,40 @@
 package co.com.pragma.solicitudes.r2dbc.config;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.r2dbc.pool.ConnectionPool;
 import io.r2dbc.pool.ConnectionPoolConfiguration;
 import io.r2dbc.spi.ConnectionFactory;
 import org.mariadb.r2dbc.MariadbConnectionConfiguration;
 import org.mariadb.r2dbc.MariadbConnectionFactory;
 import org.mariadb.r2dbc.SslMode;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.time.Duration;
-
+/**
+ * Pool de conexiones R2DBC hacia MariaDB/MySQL. Tamaños, tiempos y opciones del driver
+ * salen de adapters.r2dbc.pool y adapters.r2dbc.driver ({@link MysqlConnectionProperties}).
+ */
 @Configuration
 public class MysqlConnectionPool {
 
-    /* Change these values for your project */
-    public static final int INITIAL_SIZE = 12;
-    public static final int MAX_SIZE = 15;
-    public static final int MAX_IDLE_TIME = 30;
-    public static final int DEFAULT_PORT = 5432;
+    public static final String POOL_NAME = "api-mariadb-connection-pool";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool getConnectionConfig(MysqlConnectionProperties properties,
+                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        ConnectionFactory connectionFactory = new MariadbConnectionFactory(connectionConfiguration(properties));
+        ConnectionPoolConfiguration poolConfiguration = poolConfiguration(properties.pool(), connectionFactory, POOL_NAME);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (properties.pool().metricsEnabled() && registry != null) {
+            return new InstrumentedConnectionPool(poolConfiguration, POOL_NAME, registry);
+        }
+        return new ConnectionPool(poolConfiguration);
+    }
 
-    @Bean
-    public ConnectionPool getConnectionConfig(MysqlConnectionProperties properties) {
-        MariadbConnectionConfiguration dbConfiguration = MariadbConnectionConfiguration.builder()
+    static MariadbConnectionConfiguration connectionConfiguration(MysqlConnectionProperties properties) {
+        MysqlConnectionProperties.Driver driver = properties.driver();
+        return MariadbConnectionConfiguration.builder()
                 .host(properties.host())
                 .port(properties.port())
                 .database(properties.database())
@@ -29,19 +42,28 @@ public class MysqlConnectionPool {
                 .password(properties.password())
                 .sslMode(SslMode.DISABLE)
                 .allowPublicKeyRetrieval(true)
+                .useServerPrepStmts(driver.useServerPrepStmts())
+                .prepareCacheSize(driver.prepareCacheSize())
+                .allowPipelining(driver.allowPipelining())
+                .connectTimeout(driver.connectTimeout())
+                .tcpKeepAlive(driver.tcpKeepAlive())
                 .build();
+    }
 
-        ConnectionFactory connectionFactory = new MariadbConnectionFactory(dbConfiguration);
-
-        ConnectionPoolConfiguration poolConfiguration = ConnectionPoolConfiguration.builder()
+    static ConnectionPoolConfiguration poolConfiguration(MysqlConnectionProperties.Pool pool,
+                                                         ConnectionFactory connectionFactory,
+                                                         String name) {
+        return ConnectionPoolConfiguration.builder()
                 .connectionFactory(connectionFactory)
-                .name("api-mariadb-connection-pool")
-                .initialSize(INITIAL_SIZE)
-                .maxSize(MAX_SIZE)
-                .maxIdleTime(Duration.ofMinutes(MAX_IDLE_TIME))
-                .validationQuery("SELECT 1")
+                .name(name)
+                .initialSize(pool.initialSize())
+                .maxSize(pool.maxSize())
+                .minIdle(pool.minIdle())
+                .maxIdleTime(pool.maxIdleTime())
+                .maxLifeTime(pool.maxLifeTime())
+                .maxAcquireTime(pool.maxAcquireTime())
+                .maxCreateConnectionTime(pool.maxCreateConnectionTime())
+                .validationQuery(pool.validationQuery())
                 .build();
-
-        return new ConnectionPool(poolConfiguration);
     }
-}
\ No newline at end of file
+}
@@ -3,11 +3,61 @@ package co.com.pragma.solicitudes.r2dbc.config;
 // TODO: Load properties from the Application.yaml file or from secrets manager
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Conexión a MariaDB/MySQL: datos de acceso, pool y opciones del driver.
+ *
+ * @param pool   tamaño y tiempos del pool de conexiones
+ * @param driver opciones del driver r2dbc-mariadb
+ */
 @ConfigurationProperties(prefix = "adapters.r2dbc")
 public record MysqlConnectionProperties(
         String host,
         Integer port,
         String database,
         String username,
-        String password) {
+        String password,
+        @DefaultValue Pool pool,
+        @DefaultValue Driver driver) {
+
+    /**
+     * @param initialSize             conexiones abiertas al arrancar
+     * @param maxSize                 máximo de conexiones simultáneas
+     * @param minIdle                 conexiones ociosas que se mantienen abiertas
+     * @param maxIdleTime             tiempo ocioso tras el cual se cierra una conexión
+     * @param maxLifeTime             vida máxima de una conexión (debe ser menor que wait_timeout del servidor)
+     * @param maxAcquireTime          espera máxima por una conexión libre antes de fallar
+     * @param maxCreateConnectionTime tiempo máximo para abrir una conexión nueva
+     * @param validationQuery         consulta de validación al entregar una conexión
+     * @param metricsEnabled          publica gauges y tiempo de adquisición en Micrometer
+     */
+    public record Pool(
+            @DefaultValue("12") int initialSize,
+            @DefaultValue("15") int maxSize,
+            @DefaultValue("0") int minIdle,
+            @DefaultValue("30m") Duration maxIdleTime,
+            @DefaultValue("1h") Duration maxLifeTime,
+            @DefaultValue("3s") Duration maxAcquireTime,
+            @DefaultValue("5s") Duration maxCreateConnectionTime,
+            @DefaultValue("SELECT 1") String validationQuery,
+            @DefaultValue("true") boolean metricsEnabled) {
+    }
+
+    /**
+     * @param useServerPrepStmts usa PREPARE del servidor (protocolo binario) para sentencias con parámetros
+     * @param prepareCacheSize   sentencias preparadas en caché por conexión
+     * @param allowPipelining    envía varias sentencias sin esperar cada respuesta
+     * @param connectTimeout     tiempo máximo de conexión TCP
+     * @param tcpKeepAlive       keep-alive en el socket
+     */
+    public record Driver(
+            @DefaultValue("true") boolean useServerPrepStmts,
+            @DefaultValue("256") int prepareCacheSize,
+            @DefaultValue("true") boolean allowPipelining,
+            @DefaultValue("10s") Duration connectTimeout,
+            @DefaultValue("true") boolean tcpKeepAlive) {
+    }
 }
@@ -0,0 +1,36 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración del outbox: la tabla y el relay que la drena hacia SQS.
+ *
+ * @param claimLease      tiempo durante el cual un lote reservado no lo toma otra instancia
+ * @param retryBase       espera tras el primer fallo; se duplica en cada intento
+ * @param retryMax        espera máxima entre reintentos
+ * @param maxAttempts     fallos tras los cuales el evento pasa a dead_at y no se reintenta más
+ * @param retention       tiempo que se conservan los eventos enviados antes de purgarlos
+ * @param purgeLimit      filas borradas como máximo en cada purga
+ * @param relayEnabled    activa el relay y la purga periódicos
+ * @param relayInterval   espera entre ejecuciones del relay
+ * @param relayBatchSize  eventos reservados por lote
+ * @param relayMaxBatches lotes como máximo en cada ejecución del relay
+ * @param purgeInterval   espera entre purgas
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.outbox")
+public record OutboxProperties(
+        @DefaultValue("30s") Duration claimLease,
+        @DefaultValue("2s") Duration retryBase,
+        @DefaultValue("5m") Duration retryMax,
+        @DefaultValue("10") int maxAttempts,
+        @DefaultValue("7d") Duration retention,
+        @DefaultValue("5000") int purgeLimit,
+        @DefaultValue("true") boolean relayEnabled,
+        @DefaultValue("500ms") Duration relayInterval,
+        @DefaultValue("50") int relayBatchSize,
+        @DefaultValue("20") int relayMaxBatches,
+        @DefaultValue("1h") Duration purgeInterval) {
+}
@@ -0,0 +1,47 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import co.com.pragma.solicitudes.r2dbc.replica.ReplicaLagMonitor;
+import co.com.pragma.solicitudes.r2dbc.replica.ReplicaRoutingConnectionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.mariadb.r2dbc.MariadbConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Con adapters.r2dbc.replica.enabled=true expone como @Primary una ConnectionFactory que
+ * reparte entre el pool primario ({@link MysqlConnectionPool}) y un pool de la réplica.
+ * DatabaseClient y el gestor de transacciones la usan sin cambios.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "adapters.r2dbc.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    public static final String REPLICA_POOL_NAME = "api-mariadb-replica-pool";
+
+    @Bean(destroyMethod = "dispose")
+    @Primary
+    public ReplicaRoutingConnectionFactory routingConnectionFactory(ConnectionPool primaryPool,
+                                                                    MysqlConnectionProperties primary,
+                                                                    ReplicaProperties properties,
+                                                                    ObjectProvider<MeterRegistry> meterRegistry) {
+        MysqlConnectionProperties connection = properties.connection(primary);
+        ConnectionFactory factory = new MariadbConnectionFactory(MysqlConnectionPool.connectionConfiguration(connection));
+        ConnectionPoolConfiguration poolConfiguration =
+                MysqlConnectionPool.poolConfiguration(connection.pool(), factory, REPLICA_POOL_NAME);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        ConnectionPool replicaPool = connection.pool().metricsEnabled() && registry != null
+                ? new InstrumentedConnectionPool(poolConfiguration, REPLICA_POOL_NAME, registry)
+                : new ConnectionPool(poolConfiguration);
+
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaPool, properties.maxLag());
+        monitor.start(properties.checkInterval());
+        return new ReplicaRoutingConnectionFactory(primaryPool, replicaPool, monitor);
+    }
+}
@@ -0,0 +1,58 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import co.com.pragma.solicitudes.model.loantype.LoanType;
+import co.com.pragma.solicitudes.model.loantype.gateways.LoanTypeRepository;
+import co.com.pragma.solicitudes.model.state.State;
+import co.com.pragma.solicitudes.model.state.gateways.StateRepository;
+import co.com.pragma.solicitudes.r2dbc.LoanTypeRepositoryAdapter;
+import co.com.pragma.solicitudes.r2dbc.StateRepositoryAdapter;
+import co.com.pragma.solicitudes.r2dbc.reference.ReferenceDataSnapshot;
+import co.com.pragma.solicitudes.r2dbc.reference.SnapshotLoanTypeRepository;
+import co.com.pragma.solicitudes.r2dbc.reference.SnapshotStateRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Expone LoanTypeRepository y StateRepository (@Primary) respaldados por copias en memoria
+ * de sus catálogos, cargadas al iniciar y recargadas periódicamente y tras cada escritura.
+ */
+@Configuration
+public class ReferenceDataConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReferenceDataSnapshot<LoanType> loanTypeSnapshot(LoanTypeRepositoryAdapter adapter,
+                                                            ReferenceDataProperties properties) {
+        ReferenceDataSnapshot<LoanType> snapshot = new ReferenceDataSnapshot<>("loan_type", LoanType::getLoanTypeID);
+        if (properties.enabled()) {
+            snapshot.startRefreshing(adapter::findAll, properties.refreshInterval());
+        }
+        return snapshot;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReferenceDataSnapshot<State> stateSnapshot(StateRepositoryAdapter adapter,
+                                                      ReferenceDataProperties properties) {
+        ReferenceDataSnapshot<State> snapshot = new ReferenceDataSnapshot<>("state", State::getIdState);
+        if (properties.enabled()) {
+            snapshot.startRefreshing(adapter::findAll, properties.refreshInterval());
+        }
+        return snapshot;
+    }
+
+    @Bean
+    @Primary
+    public LoanTypeRepository loanTypeRepository(LoanTypeRepositoryAdapter adapter,
+                                                 ReferenceDataSnapshot<LoanType> loanTypeSnapshot,
+                                                 ReferenceDataProperties properties) {
+        return properties.enabled() ? new SnapshotLoanTypeRepository(adapter, loanTypeSnapshot) : adapter;
+    }
+
+    @Bean
+    @Primary
+    public StateRepository stateRepository(StateRepositoryAdapter adapter,
+                                           ReferenceDataSnapshot<State> stateSnapshot,
+                                           ReferenceDataProperties properties) {
+        return properties.enabled() ? new SnapshotStateRepository(adapter, stateSnapshot) : adapter;
+    }
+}
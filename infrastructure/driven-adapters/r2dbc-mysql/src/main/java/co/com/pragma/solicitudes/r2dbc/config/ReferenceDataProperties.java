@@ -0,0 +1,18 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la copia en memoria de los catálogos loan_type y state.
+ *
+ * @param enabled         activa los decoradores respaldados por la copia
+ * @param refreshInterval frecuencia de recarga; acota cuánto tarda una instancia en ver altas de otra
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.reference-data")
+public record ReferenceDataProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5m") Duration refreshInterval) {
+}
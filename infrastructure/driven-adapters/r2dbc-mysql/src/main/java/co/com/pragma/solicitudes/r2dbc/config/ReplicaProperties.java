@@ -0,0 +1,46 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Réplica de lectura. Puerto, base y credenciales vacíos toman los del primario (adapters.r2dbc).
+ *
+ * @param enabled       activa el enrutamiento de lecturas a la réplica
+ * @param host          host de la réplica
+ * @param port          puerto de la réplica
+ * @param database      base de datos de la réplica
+ * @param username      usuario de la réplica
+ * @param password      contraseña de la réplica
+ * @param maxLag        retraso de replicación máximo para seguir leyendo de la réplica
+ * @param checkInterval frecuencia de la verificación de retraso
+ * @param pool          pool de conexiones de la réplica
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.replica")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        String host,
+        Integer port,
+        String database,
+        String username,
+        String password,
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("5s") Duration checkInterval,
+        @DefaultValue MysqlConnectionProperties.Pool pool) {
+
+    /**
+     * @return conexión de la réplica, completando con el primario lo que no se configuró
+     */
+    public MysqlConnectionProperties connection(MysqlConnectionProperties primary) {
+        return new MysqlConnectionProperties(
+                host,
+                port != null ? port : primary.port(),
+                database != null ? database : primary.database(),
+                username != null ? username : primary.username(),
+                password != null ? password : primary.password(),
+                pool,
+                primary.driver());
+    }
+}
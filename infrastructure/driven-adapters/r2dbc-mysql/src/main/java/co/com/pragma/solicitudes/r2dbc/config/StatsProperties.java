@@ -0,0 +1,18 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Estadísticas de cartera (application_stats).
+ *
+ * @param reconcileEnabled activa la reconciliación periódica del agregado
+ * @param reconcileInterval tiempo entre reconciliaciones (p. ej. 1h)
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.stats")
+public record StatsProperties(
+        @DefaultValue("true") boolean reconcileEnabled,
+        @DefaultValue("1h") Duration reconcileInterval) {
+}
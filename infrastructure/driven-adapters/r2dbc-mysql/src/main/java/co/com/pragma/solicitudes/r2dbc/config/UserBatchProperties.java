@@ -0,0 +1,20 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración del agrupamiento (micro-batching) de consultas de usuarios.
+ *
+ * @param enabled activa o desactiva el agrupamiento
+ * @param window  tiempo máximo que un id espera a que se complete su lote
+ * @param maxSize cantidad máxima de ids por llamada al micro de autenticación
+ */
+@ConfigurationProperties(prefix = "clients.autenticacion.batch")
+public record UserBatchProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5ms") Duration window,
+        @DefaultValue("100") int maxSize) {
+}
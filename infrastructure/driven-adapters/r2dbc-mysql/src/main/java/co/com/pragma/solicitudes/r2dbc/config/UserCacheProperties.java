@@ -0,0 +1,22 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la caché de usuarios consultados al micro de autenticación.
+ *
+ * @param enabled     activa o desactiva el decorador de caché
+ * @param maximumSize número máximo de usuarios en memoria
+ * @param ttl         tiempo de vida de un usuario encontrado
+ * @param negativeTtl tiempo de vida de un "no encontrado" (caché negativa)
+ */
+@ConfigurationProperties(prefix = "clients.autenticacion.cache")
+public record UserCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("5m") Duration ttl,
+        @DefaultValue("30s") Duration negativeTtl) {
+}
@@ -0,0 +1,28 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración del hedging de lecturas hacia el micro de autenticación (opt-in).
+ *
+ * @param enabled      activa el envío de peticiones de hedge
+ * @param percentile   percentil de la latencia reciente tras el cual se envía el hedge (0-1)
+ * @param minDelay     espera mínima antes de enviar un hedge
+ * @param initialDelay espera usada mientras no hay muestras suficientes
+ * @param sampleSize   cantidad de latencias recientes consideradas
+ * @param budgetRatio  fracción máxima de peticiones extra (0.05 = 5 % más de carga)
+ * @param maxTokens    ráfaga máxima de hedges acumulables
+ */
+@ConfigurationProperties(prefix = "clients.autenticacion.hedging")
+public record UserHedgingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("0.95") double percentile,
+        @DefaultValue("20ms") Duration minDelay,
+        @DefaultValue("200ms") Duration initialDelay,
+        @DefaultValue("1000") int sampleSize,
+        @DefaultValue("0.05") double budgetRatio,
+        @DefaultValue("10") int maxTokens) {
+}
@@ -0,0 +1,65 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import co.com.pragma.solicitudes.model.user.gateways.UserRepository;
+import co.com.pragma.solicitudes.r2dbc.client.BatchingUserRepository;
+import co.com.pragma.solicitudes.r2dbc.client.CachedUserRepository;
+import co.com.pragma.solicitudes.r2dbc.client.EmailIndex;
+import co.com.pragma.solicitudes.r2dbc.client.EmailIndexUserRepository;
+import co.com.pragma.solicitudes.r2dbc.client.HedgingUserRepository;
+import co.com.pragma.solicitudes.r2dbc.client.ResilientUserRepository;
+import co.com.pragma.solicitudes.r2dbc.client.UserClientRest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Arma la cadena de decoradores del puerto UserRepository.
+ * Los casos de uso y handlers reciben este bean (@Primary) en lugar del cliente REST directo.
+ *
+ * Orden: índice de emails → caché → agrupamiento en lotes → hedging → resiliencia → cliente REST.
+ * Los aciertos de caché no consumen capacidad del circuit breaker ni del límite de concurrencia;
+ * cada hedge sí consume la suya, igual que la petición original.
+ */
+@Configuration
+public class UserRepositoryConfig {
+
+    @Bean(destroyMethod = "close")
+    public EmailIndex emailIndex(EmailIndexProperties properties, UserClientRest userClientRest) {
+        EmailIndex index = new EmailIndex(properties);
+        EmailIndexProperties.Warm warm = properties.warm();
+        if (properties.enabled() && warm.enabled()) {
+            index.startWarming(() -> userClientRest.exportEmails(warm.token()), warm.interval());
+        }
+        return index;
+    }
+
+    @Bean
+    @Primary
+    public UserRepository userRepository(UserClientRest userClientRest,
+                                         UserCacheProperties cacheProperties,
+                                         UserBatchProperties batchProperties,
+                                         UserResilienceProperties resilienceProperties,
+                                         UserHedgingProperties hedgingProperties,
+                                         EmailIndexProperties emailIndexProperties,
+                                         EmailIndex emailIndex,
+                                         MeterRegistry meterRegistry) {
+        UserRepository repository = userClientRest;
+        if (resilienceProperties.enabled()) {
+            repository = new ResilientUserRepository(repository, resilienceProperties, meterRegistry);
+        }
+        if (hedgingProperties.enabled()) {
+            repository = new HedgingUserRepository(repository, hedgingProperties, meterRegistry);
+        }
+        if (batchProperties.enabled()) {
+            repository = new BatchingUserRepository(repository, batchProperties.window(), batchProperties.maxSize());
+        }
+        if (cacheProperties.enabled()) {
+            repository = new CachedUserRepository(repository, cacheProperties, meterRegistry);
+        }
+        if (emailIndexProperties.enabled()) {
+            repository = new EmailIndexUserRepository(repository, emailIndex, meterRegistry);
+        }
+        return repository;
+    }
+}
@@ -0,0 +1,63 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la capa de resiliencia hacia el micro de autenticación.
+ *
+ * @param enabled        activa o desactiva el decorador
+ * @param circuitBreaker umbrales del circuit breaker
+ * @param bulkhead       tope duro de llamadas simultáneas
+ * @param limiter        límite de concurrencia adaptativo (AIMD)
+ */
+@ConfigurationProperties(prefix = "clients.autenticacion.resilience")
+public record UserResilienceProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue CircuitBreaker circuitBreaker,
+        @DefaultValue Bulkhead bulkhead,
+        @DefaultValue Limiter limiter) {
+
+    /**
+     * @param failureRateThreshold        % de fallos que abre el circuito
+     * @param slowCallRateThreshold       % de llamadas lentas que abre el circuito
+     * @param slowCallDuration            a partir de esta duración una llamada cuenta como lenta
+     * @param slidingWindowSize           llamadas consideradas para calcular las tasas
+     * @param minimumNumberOfCalls        llamadas mínimas antes de evaluar las tasas
+     * @param waitDurationInOpenState     tiempo en abierto antes de pasar a semiabierto
+     * @param permittedCallsInHalfOpenState llamadas de prueba en semiabierto
+     */
+    public record CircuitBreaker(
+            @DefaultValue("50") float failureRateThreshold,
+            @DefaultValue("80") float slowCallRateThreshold,
+            @DefaultValue("2s") Duration slowCallDuration,
+            @DefaultValue("50") int slidingWindowSize,
+            @DefaultValue("20") int minimumNumberOfCalls,
+            @DefaultValue("10s") Duration waitDurationInOpenState,
+            @DefaultValue("5") int permittedCallsInHalfOpenState) {
+    }
+
+    /**
+     * @param maxConcurrentCalls llamadas simultáneas máximas; las demás se rechazan sin esperar
+     */
+    public record Bulkhead(
+            @DefaultValue("100") int maxConcurrentCalls) {
+    }
+
+    /**
+     * @param initialLimit     límite inicial
+     * @param minLimit         límite mínimo
+     * @param maxLimit         límite máximo
+     * @param latencyThreshold latencia objetivo; por encima se reduce el límite
+     * @param backoffRatio     factor de reducción del límite
+     */
+    public record Limiter(
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("5") int minLimit,
+            @DefaultValue("100") int maxLimit,
+            @DefaultValue("500ms") Duration latencyThreshold,
+            @DefaultValue("0.9") double backoffRatio) {
+    }
+}
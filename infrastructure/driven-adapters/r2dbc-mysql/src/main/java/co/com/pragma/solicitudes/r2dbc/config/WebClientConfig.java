@@ -1,16 +1,71 @@
 package co.com.pragma.solicitudes.r2dbc.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import io.netty.channel.ChannelOption;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.util.regex.Pattern;
+
+/**
+ * Cliente HTTP hacia el micro de autenticación.
+ *
+ * Pool de conexiones acotado con desalojo de ociosas, timeouts de conexión y respuesta,
+ * HTTP/2 opcional y métricas en Micrometer: las del pool y de Reactor Netty
+ * (reactor.netty.connection.provider.*, reactor.netty.http.client.*) y la latencia por
+ * endpoint (http.client.requests) que añade el WebClient.Builder de Spring Boot.
+ */
 @Configuration
 public class WebClientConfig {
-    @Value("${clients.autenticacion.base-url}")
-    private String authBaseUrl;
+
+    static final String AUTH_POOL_NAME = "autenticacion";
+
+    // Ids y emails de la ruta se reemplazan para no disparar la cardinalidad de las métricas
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    private static final Pattern EMAIL_SEGMENT = Pattern.compile("/email/[^/?]+");
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider autenticacionConnectionProvider(AuthClientProperties properties) {
+        AuthClientProperties.Pool pool = properties.pool();
+        return ConnectionProvider.builder(AUTH_POOL_NAME)
+                .maxConnections(pool.maxConnections())
+                .pendingAcquireMaxCount(pool.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+                .maxIdleTime(pool.maxIdleTime())
+                .maxLifeTime(pool.maxLifeTime())
+                .evictInBackground(pool.evictionInterval())
+                .metrics(properties.metrics())
+                .build();
+    }
+
     @Bean
-    public WebClient autenticacionClient() {
-        return WebClient.builder().baseUrl(authBaseUrl).build();
+    public WebClient autenticacionClient(WebClient.Builder builder,
+                                         ConnectionProvider autenticacionConnectionProvider,
+                                         AuthClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(autenticacionConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.connectTimeout().toMillis())
+                .responseTimeout(properties.responseTimeout())
+                .metrics(properties.metrics(), WebClientConfig::uriTemplate);
+
+        if (properties.http2()) {
+            boolean secure = properties.baseUrl() != null && properties.baseUrl().startsWith("https");
+            httpClient = secure
+                    ? httpClient.secure().protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                    : httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+
+        return builder
+                .baseUrl(properties.baseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    static String uriTemplate(String uri) {
+        String template = EMAIL_SEGMENT.matcher(uri).replaceAll("/email/{email}");
+        return NUMERIC_SEGMENT.matcher(template).replaceAll("/{id}");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package co.com.pragma.solicitudes.r2dbc.mapper;
+
+import co.com.pragma.solicitudes.model.application.Application;
+import co.com.pragma.solicitudes.model.loantype.LoanType;
+import co.com.pragma.solicitudes.model.state.State;
+import io.r2dbc.spi.Row;
+
+import java.math.BigDecimal;
+
+/**
+ * Lectura directa de filas R2DBC a modelos de dominio, para las consultas calientes.
+ * Evita materializar la entidad de Spring Data y luego copiarla con MapStruct:
+ * un solo objeto por fila y sin metadatos de mapeo reflexivo.
+ *
+ * Cada *_COLUMNS lista exactamente las columnas que lee su mapper; las consultas
+ * deben seleccionarlas con esos mismos nombres.
+ */
+public final class RowMappers {
+
+    public static final String APPLICATION_COLUMNS =
+            "id_application, amount, term, email, id_user, id_state, loan_type_id";
+
+    public static final String LOAN_TYPE_COLUMNS =
+            "loan_type_id, name, minimumAmount, maximumAmount, rateInterest, automaticValidation";
+
+    public static final String STATE_COLUMNS = "id_state, name, description";
+
+    private RowMappers() {
+    }
+
+    public static Application toApplication(Row row) {
+        return Application.builder()
+                .idApplication(row.get("id_application", Long.class))
+                .amount(row.get("amount", BigDecimal.class))
+                .term(row.get("term", Integer.class))
+                .email(row.get("email", String.class))
+                .idUser(row.get("id_user", Long.class))
+                .idState(row.get("id_state", Long.class))
+                .loanTypeID(row.get("loan_type_id", Long.class))
+                .build();
+    }
+
+    public static LoanType toLoanType(Row row) {
+        return LoanType.builder()
+                .loanTypeID(row.get("loan_type_id", Long.class))
+                .name(row.get("name", String.class))
+                .minimumAmount(row.get("minimumAmount", BigDecimal.class))
+                .maximumAmount(row.get("maximumAmount", BigDecimal.class))
+                .rateInterest(row.get("rateInterest", BigDecimal.class))
+                .automaticValidation(row.get("automaticValidation", Boolean.class))
+                .build();
+    }
+
+    public static State toState(Row row) {
+        return State.builder()
+                .idState(row.get("id_state", Long.class))
+                .name(row.get("name", String.class))
+                .description(row.get("description", String.class))
+                .build();
+    }
+}
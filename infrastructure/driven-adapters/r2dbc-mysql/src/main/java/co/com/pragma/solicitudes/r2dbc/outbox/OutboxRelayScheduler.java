@@ -0,0 +1,66 @@
+package co.com.pragma.solicitudes.r2dbc.outbox;
+
+import co.com.pragma.solicitudes.r2dbc.config.OutboxProperties;
+import co.com.pragma.solicitudes.usecase.outbox.OutboxRelayUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Dispara el relay del outbox hacia SQS fuera del ciclo de las peticiones HTTP.
+ * Cada ejecución drena lotes mientras vengan llenos; la siguiente empieza tras el intervalo.
+ *
+ * Como el archivador y la reconciliación de estadísticas, se suscribe sin bloquear el hilo
+ * único de @Scheduled y salta la ejecución si la anterior sigue en curso.
+ */
+@Component
+public class OutboxRelayScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelayScheduler.class);
+
+    private static final Duration RUN_TIMEOUT = Duration.ofMinutes(1);
+
+    private final OutboxRelayUseCase relayUseCase;
+    private final OutboxProperties properties;
+    private final AtomicBoolean relaying = new AtomicBoolean();
+    private final AtomicBoolean purging = new AtomicBoolean();
+
+    public OutboxRelayScheduler(OutboxRelayUseCase relayUseCase, OutboxProperties properties) {
+        this.relayUseCase = relayUseCase;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${adapters.r2dbc.outbox.relay-interval:500ms}")
+    public void relay() {
+        if (!properties.relayEnabled() || !relaying.compareAndSet(false, true)) {
+            return;
+        }
+        relayUseCase.drain(properties.relayBatchSize(), properties.relayMaxBatches())
+                .timeout(RUN_TIMEOUT)
+                .doFinally(signal -> relaying.set(false))
+                .subscribe(
+                        processed -> {
+                            if (processed != null && processed > 0) {
+                                log.debug("OUTBOX relay procesó {} eventos", processed);
+                            }
+                        },
+                        e -> log.error("OUTBOX relay error: {}", e.getMessage()));
+    }
+
+    @Scheduled(fixedDelayString = "${adapters.r2dbc.outbox.purge-interval:1h}")
+    public void purge() {
+        if (!properties.relayEnabled() || !purging.compareAndSet(false, true)) {
+            return;
+        }
+        relayUseCase.purgeSent()
+                .timeout(RUN_TIMEOUT)
+                .doFinally(signal -> purging.set(false))
+                .subscribe(
+                        purged -> log.info("OUTBOX purga: {} eventos enviados eliminados", purged),
+                        e -> log.error("OUTBOX purga error: {}", e.getMessage()));
+    }
+}
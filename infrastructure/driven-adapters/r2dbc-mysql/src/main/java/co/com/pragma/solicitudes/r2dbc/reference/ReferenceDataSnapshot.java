@@ -0,0 +1,116 @@
+package co.com.pragma.solicitudes.r2dbc.reference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Copia en memoria de una tabla de catálogo pequeña (tipos de préstamo, estados).
+ *
+ * Cada carga arma mapas inmutables y los publica de forma atómica; las lecturas nunca
+ * ven una carga a medias. Los Mono de cada entrada se crean al cargar, así un acierto
+ * no hace I/O ni reserva memoria.
+ *
+ * Los objetos del catálogo se comparten entre peticiones: no deben modificarse.
+ */
+public class ReferenceDataSnapshot<T> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataSnapshot.class);
+
+    private final String name;
+    private final Function<T, Long> idOf;
+    private final AtomicReference<Snapshot<T>> snapshot = new AtomicReference<>();
+    private volatile Disposable refreshing;
+
+    public ReferenceDataSnapshot(String name, Function<T, Long> idOf) {
+        this.name = name;
+        this.idOf = idOf;
+    }
+
+    /**
+     * @return true cuando ya hay una carga publicada
+     */
+    public boolean isLoaded() {
+        return snapshot.get() != null;
+    }
+
+    /**
+     * @return la entrada como Mono precalculado, o null si no hay carga o el id no está
+     */
+    public Mono<T> find(Long id) {
+        Snapshot<T> current = snapshot.get();
+        return current == null || id == null ? null : current.byId().get(id);
+    }
+
+    /**
+     * @return todas las entradas en el orden de carga, o null si aún no hay carga
+     */
+    public Collection<T> all() {
+        Snapshot<T> current = snapshot.get();
+        return current == null ? null : current.entries().values();
+    }
+
+    /**
+     * Carga todas las filas y reemplaza la copia vigente de forma atómica.
+     */
+    public Mono<Integer> refresh(Flux<T> source) {
+        return source.collectList()
+                .map(rows -> {
+                    Map<Long, T> entries = new LinkedHashMap<>();
+                    Map<Long, Mono<T>> byId = new HashMap<>();
+                    for (T row : rows) {
+                        Long id = idOf.apply(row);
+                        entries.put(id, row);
+                        byId.put(id, Mono.just(row));
+                    }
+                    snapshot.set(new Snapshot<>(Collections.unmodifiableMap(entries), Collections.unmodifiableMap(byId)));
+                    log.debug("Catálogo {} cargado con {} registros", name, entries.size());
+                    return entries.size();
+                });
+    }
+
+    /**
+     * Carga al iniciar y luego periódicamente, para que varias instancias converjan
+     * aunque la escritura haya ocurrido en otra. Un fallo se registra y se reintenta en el siguiente ciclo.
+     */
+    public void startRefreshing(Supplier<Flux<T>> source, Duration interval) {
+        refreshing = Flux.interval(Duration.ZERO, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refreshNow(source), 1)
+                .subscribe();
+    }
+
+    /**
+     * Recarga inmediata tras una escritura local; los errores no se propagan al llamador.
+     */
+    public Mono<Integer> refreshNow(Supplier<Flux<T>> source) {
+        return Mono.defer(() -> refresh(source.get()))
+                .onErrorResume(e -> {
+                    log.warn("Error cargando catálogo {}: {}", name, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public void close() {
+        Disposable current = refreshing;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private record Snapshot<T>(Map<Long, T> entries, Map<Long, Mono<T>> byId) {
+    }
+}
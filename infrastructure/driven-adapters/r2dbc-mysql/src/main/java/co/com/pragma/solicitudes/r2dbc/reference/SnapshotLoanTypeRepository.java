@@ -0,0 +1,53 @@
+package co.com.pragma.solicitudes.r2dbc.reference;
+
+import co.com.pragma.solicitudes.model.loantype.LoanType;
+import co.com.pragma.solicitudes.model.loantype.gateways.LoanTypeRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Decorador de {@link LoanTypeRepository} que responde las lecturas por id desde el
+ * {@link ReferenceDataSnapshot}. Un id ausente (p. ej. creado en otra instancia antes
+ * de la siguiente recarga) se consulta en la BD; cada save recarga la copia.
+ */
+public class SnapshotLoanTypeRepository implements LoanTypeRepository {
+
+    private final LoanTypeRepository delegate;
+    private final ReferenceDataSnapshot<LoanType> snapshot;
+
+    public SnapshotLoanTypeRepository(LoanTypeRepository delegate, ReferenceDataSnapshot<LoanType> snapshot) {
+        this.delegate = delegate;
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public Mono<LoanType> save(LoanType tipo) {
+        return delegate.save(tipo)
+                .flatMap(saved -> snapshot.refreshNow(delegate::findAll).thenReturn(saved));
+    }
+
+    @Override
+    public Mono<LoanType> findById(Long id) {
+        Mono<LoanType> cached = snapshot.find(id);
+        return cached != null ? cached : delegate.findById(id);
+    }
+
+    @Override
+    public Flux<LoanType> findAll() {
+        Collection<LoanType> all = snapshot.all();
+        return all != null ? Flux.fromIterable(all) : delegate.findAll();
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return snapshot.find(id) != null ? Mono.just(Boolean.TRUE) : delegate.existsById(id);
+    }
+
+    @Override
+    public Mono<Boolean> existsByNameIgnoreCase(String name) {
+        // Validación de escritura: siempre contra la BD para no perder altas de otras instancias
+        return delegate.existsByNameIgnoreCase(name);
+    }
+}
@@ -0,0 +1,41 @@
+package co.com.pragma.solicitudes.r2dbc.reference;
+
+import co.com.pragma.solicitudes.model.state.State;
+import co.com.pragma.solicitudes.model.state.gateways.StateRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Decorador de {@link StateRepository} respaldado por un {@link ReferenceDataSnapshot}.
+ * Mismo criterio que {@link SnapshotLoanTypeRepository}.
+ */
+public class SnapshotStateRepository implements StateRepository {
+
+    private final StateRepository delegate;
+    private final ReferenceDataSnapshot<State> snapshot;
+
+    public SnapshotStateRepository(StateRepository delegate, ReferenceDataSnapshot<State> snapshot) {
+        this.delegate = delegate;
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public Mono<State> save(State state) {
+        return delegate.save(state)
+                .flatMap(saved -> snapshot.refreshNow(delegate::findAll).thenReturn(saved));
+    }
+
+    @Override
+    public Flux<State> findAll() {
+        Collection<State> all = snapshot.all();
+        return all != null ? Flux.fromIterable(all) : delegate.findAll();
+    }
+
+    @Override
+    public Mono<State> findById(Long id) {
+        Mono<State> cached = snapshot.find(id);
+        return cached != null ? cached : delegate.findById(id);
+    }
+}
@@ -0,0 +1,113 @@
+package co.com.pragma.solicitudes.r2dbc.replica;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Vigila el retraso de replicación y decide si la réplica puede atender lecturas.
+ *
+ * La réplica está sana solo si SHOW REPLICA STATUS informa un retraso conocido y no mayor
+ * que maxLag. Sin estado de replicación, con el hilo SQL detenido (retraso NULL) o ante
+ * cualquier error, se considera no sana y las lecturas vuelven al primario.
+ * Arranca como no sana hasta la primera verificación.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String SQL_REPLICA_STATUS = "SHOW REPLICA STATUS";
+
+    private final ConnectionFactory replica;
+    private final Duration maxLag;
+    private final AtomicBoolean healthy = new AtomicBoolean(false);
+    private volatile Disposable checking;
+
+    public ReplicaLagMonitor(ConnectionFactory replica, Duration maxLag) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+    }
+
+    public boolean isHealthy() {
+        return healthy.get();
+    }
+
+    /**
+     * Saca la réplica de servicio hasta la próxima verificación correcta (p. ej. tras un fallo de conexión).
+     */
+    public void markUnhealthy(Throwable cause) {
+        if (healthy.getAndSet(false)) {
+            log.warn("Réplica fuera de servicio, lecturas al primario: {}", cause.getMessage());
+        }
+    }
+
+    /**
+     * Verifica periódicamente; cada verificación tiene como tope el propio intervalo.
+     */
+    public void start(Duration interval) {
+        checking = Flux.interval(Duration.ZERO, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> check().timeout(interval).onErrorResume(e -> {
+                    update(false, "error: " + e.getMessage());
+                    return Mono.just(false);
+                }), 1)
+                .subscribe();
+    }
+
+    /**
+     * @return true si la réplica quedó sana tras esta verificación
+     */
+    public Mono<Boolean> check() {
+        return Flux.usingWhen(replica.create(),
+                        connection -> Flux.from(connection.createStatement(SQL_REPLICA_STATUS).execute())
+                                .flatMap(result -> result.map(ReplicaLagMonitor::lagSeconds)),
+                        Connection::close)
+                .next()
+                .map(lag -> {
+                    boolean ok = lag.isPresent() && lag.get() <= maxLag.toSeconds();
+                    update(ok, lag.map(s -> s + "s").orElse("desconocido"));
+                    return ok;
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    update(false, "sin estado de replicación");
+                    return false;
+                }));
+    }
+
+    @Override
+    public void close() {
+        Disposable current = checking;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    /**
+     * MariaDB y MySQL anteriores a 8.0.22 exponen Seconds_Behind_Master; MySQL reciente, Seconds_Behind_Source.
+     */
+    static Optional<Long> lagSeconds(Row row, RowMetadata metadata) {
+        String column = metadata.contains("Seconds_Behind_Source") ? "Seconds_Behind_Source" : "Seconds_Behind_Master";
+        return Optional.ofNullable(row.get(column, Long.class));
+    }
+
+    private void update(boolean ok, String lag) {
+        boolean previous = healthy.getAndSet(ok);
+        if (previous != ok) {
+            if (ok) {
+                log.info("Réplica en servicio, retraso {}", lag);
+            } else {
+                log.warn("Réplica fuera de servicio (retraso {}, máximo {}s), lecturas al primario", lag, maxLag.toSeconds());
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package co.com.pragma.solicitudes.r2dbc.replica;
+
+import reactor.core.publisher.Flux;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Marca de solo lectura en el contexto de Reactor, que {@link ReplicaRoutingConnectionFactory}
+ * usa para enviar la consulta a la réplica.
+ *
+ * Solo se marcan listados que toleran unos segundos de retraso. Las lecturas que siguen a una
+ * escritura (findById tras un cambio de estado) se quedan en el primario, y dentro de una
+ * transacción se usa siempre su conexión aunque la consulta esté marcada.
+ */
+public final class ReplicaRouting {
+
+    private static final String READ_ONLY = ReplicaRouting.class.getName() + ".READ_ONLY";
+
+    private ReplicaRouting() {
+    }
+
+    public static <T> Flux<T> onReplica(Flux<T> reads) {
+        return reads.contextWrite(Context.of(READ_ONLY, Boolean.TRUE));
+    }
+
+    static boolean isReadOnly(ContextView context) {
+        return context.getOrDefault(READ_ONLY, Boolean.FALSE);
+    }
+}
@@ -0,0 +1,59 @@
+package co.com.pragma.solicitudes.r2dbc.replica;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/**
+ * ConnectionFactory que envía las lecturas marcadas con {@link ReplicaRouting#onReplica}
+ * al pool de la réplica y todo lo demás (escrituras, transacciones) al primario.
+ *
+ * Si la réplica no está sana según {@link ReplicaLagMonitor}, o no entrega una conexión,
+ * la lectura va al primario y la réplica queda fuera hasta la próxima verificación.
+ * El pool primario lo cierra su propio bean; este solo cierra el de la réplica.
+ */
+public class ReplicaRoutingConnectionFactory implements ConnectionFactory, Disposable {
+
+    private final ConnectionFactory primary;
+    private final ConnectionPool replica;
+    private final ReplicaLagMonitor monitor;
+
+    public ReplicaRoutingConnectionFactory(ConnectionFactory primary, ConnectionPool replica, ReplicaLagMonitor monitor) {
+        this.primary = primary;
+        this.replica = replica;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.deferContextual(context -> {
+            if (ReplicaRouting.isReadOnly(context) && monitor.isHealthy()) {
+                return Mono.<Connection>from(replica.create())
+                        .onErrorResume(e -> {
+                            monitor.markUnhealthy(e);
+                            return Mono.from(primary.create());
+                        });
+            }
+            return Mono.from(primary.create());
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return primary.getMetadata();
+    }
+
+    @Override
+    public void dispose() {
+        monitor.close();
+        replica.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return replica.isDisposed();
+    }
+}
@@ -0,0 +1,47 @@
+package co.com.pragma.solicitudes.r2dbc.stats;
+
+import co.com.pragma.solicitudes.r2dbc.config.StatsProperties;
+import co.com.pragma.solicitudes.usecase.stats.ApplicationStatsUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reconcilia periódicamente application_stats con las solicitudes, para corregir
+ * desvíos del agregado incremental (escrituras directas en base, restauraciones).
+ * Como el archivador, se suscribe sin bloquear el hilo único de @Scheduled y salta
+ * la ejecución si la anterior sigue en curso.
+ */
+@Component
+public class ApplicationStatsReconcileScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationStatsReconcileScheduler.class);
+
+    private static final Duration RUN_TIMEOUT = Duration.ofMinutes(5);
+
+    private final ApplicationStatsUseCase statsUseCase;
+    private final StatsProperties properties;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ApplicationStatsReconcileScheduler(ApplicationStatsUseCase statsUseCase, StatsProperties properties) {
+        this.statsUseCase = statsUseCase;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${adapters.r2dbc.stats.reconcile-interval:1h}", initialDelayString = "5m")
+    public void reconcile() {
+        if (!properties.reconcileEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        statsUseCase.reconcile()
+                .timeout(RUN_TIMEOUT)
+                .doFinally(signal -> running.set(false))
+                .subscribe(
+                        cells -> { },
+                        e -> log.error("ESTADISTICAS error reconciliando: {}", e.getMessage()));
+    }
+}
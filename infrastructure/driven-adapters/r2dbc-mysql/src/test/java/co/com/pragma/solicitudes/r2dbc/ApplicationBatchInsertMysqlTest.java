@@ -0,0 +1,112 @@
+package co.com.pragma.solicitudes.r2dbc;
+
+import co.com.pragma.solicitudes.model.application.Application;
+import co.com.pragma.solicitudes.r2dbc.mapper.ApplicationMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.mapstruct.factory.Mappers;
+import org.mariadb.r2dbc.MariadbConnectionConfiguration;
+import org.mariadb.r2dbc.MariadbConnectionFactory;
+import org.mockito.Mockito;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * saveAll contra un MySQL real: el INSERT de varias filas no tiene RETURNING en MySQL y los ids
+ * se derivan de LAST_INSERT_ID. Comprueba que cada solicitud quede con el id de su propia fila.
+ *
+ * Requiere SOLICITUDES_IT_R2DBC_HOST (más _PORT, _DATABASE, _USER y _PASSWORD) sobre un esquema
+ * ya migrado con Flyway. Crea su propio tipo de préstamo y estado y los borra al final.
+ */
+@EnabledIfEnvironmentVariable(named = "SOLICITUDES_IT_R2DBC_HOST", matches = ".+")
+class ApplicationBatchInsertMysqlTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final int ROWS = 7;
+
+    private static ConnectionPool pool;
+    private static DatabaseClient databaseClient;
+    private static ApplicationRepositoryAdapter adapter;
+    private static Long loanTypeId;
+    private static Long stateId;
+
+    @BeforeAll
+    static void setUp() {
+        MariadbConnectionConfiguration configuration = MariadbConnectionConfiguration.builder()
+                .host(System.getenv("SOLICITUDES_IT_R2DBC_HOST"))
+                .port(Integer.parseInt(System.getenv().getOrDefault("SOLICITUDES_IT_R2DBC_PORT", "3306")))
+                .database(System.getenv().getOrDefault("SOLICITUDES_IT_R2DBC_DATABASE", "solicitudes_it"))
+                .username(System.getenv().getOrDefault("SOLICITUDES_IT_R2DBC_USER", "root"))
+                .password(System.getenv().getOrDefault("SOLICITUDES_IT_R2DBC_PASSWORD", ""))
+                .build();
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(new MariadbConnectionFactory(configuration))
+                .maxSize(4)
+                .build());
+        databaseClient = DatabaseClient.create(pool);
+        TransactionalOperator tx = TransactionalOperator.create(new R2dbcTransactionManager(pool));
+        adapter = new ApplicationRepositoryAdapter(Mockito.mock(IApplicationReactiveRepository.class),
+                Mappers.getMapper(ApplicationMapper.class), tx, databaseClient,
+                new ApplicationStatsAdapter(databaseClient));
+
+        loanTypeId = databaseClient.sql("INSERT INTO loan_type (name, minimumAmount, maximumAmount, rateInterest) "
+                        + "VALUES ('IT_BATCH_LOAN', 1, 1000000, 1.0)")
+                .filter(statement -> statement.returnGeneratedValues("loan_type_id"))
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block(TIMEOUT);
+        stateId = databaseClient.sql("INSERT INTO state (name) VALUES ('IT_BATCH_STATE')")
+                .filter(statement -> statement.returnGeneratedValues("id_state"))
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block(TIMEOUT);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (pool == null) {
+            return;
+        }
+        if (loanTypeId != null) {
+            databaseClient.sql("DELETE FROM application WHERE loan_type_id = :id").bind("id", loanTypeId)
+                    .fetch().rowsUpdated().block(TIMEOUT);
+            databaseClient.sql("DELETE FROM application_stats WHERE loan_type_id = :id").bind("id", loanTypeId)
+                    .fetch().rowsUpdated().block(TIMEOUT);
+            databaseClient.sql("DELETE FROM loan_type WHERE loan_type_id = :id").bind("id", loanTypeId)
+                    .fetch().rowsUpdated().block(TIMEOUT);
+        }
+        if (stateId != null) {
+            databaseClient.sql("DELETE FROM state WHERE id_state = :id").bind("id", stateId)
+                    .fetch().rowsUpdated().block(TIMEOUT);
+        }
+        pool.dispose();
+    }
+
+    @Test
+    void saveAll_AsignaACadaSolicitudElIdDeSuFila() {
+        List<Application> applications = IntStream.range(0, ROWS)
+                .mapToObj(i -> Application.builder().amount(BigDecimal.valueOf(100 + i)).term(12)
+                        .email("batch" + i + "@it.test").idUser((long) i).idState(stateId).loanTypeID(loanTypeId).build())
+                .toList();
+
+        List<Application> saved = adapter.saveAll(applications).collectList().block(TIMEOUT);
+
+        assertEquals(ROWS, saved.size());
+        for (int i = 0; i < ROWS; i++) {
+            Application stored = adapter.findById(saved.get(i).getIdApplication()).block(TIMEOUT);
+            assertEquals("batch" + i + "@it.test", stored.getEmail());
+            assertEquals(0, BigDecimal.valueOf(100 + i).compareTo(stored.getAmount()));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package co.com.pragma.solicitudes.r2dbc;
+
+import co.com.pragma.solicitudes.model.application.Application;
+import co.com.pragma.solicitudes.model.application.ApplicationStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.FetchSpec;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ApplicationStatsAdapterTest {
+
+    private DatabaseClient databaseClient;
+    private DatabaseClient.GenericExecuteSpec upsert;
+    private ApplicationStatsAdapter adapter;
+
+    @BeforeEach
+    void setup() {
+        databaseClient = mock(DatabaseClient.class);
+        upsert = stubUpdate(ApplicationStatsAdapter.SQL_UPSERT, 1L);
+        adapter = new ApplicationStatsAdapter(databaseClient);
+    }
+
+    @Test
+    void upsert_SumaSobreLaCeldaExistente() {
+        String sql = ApplicationStatsAdapter.SQL_UPSERT;
+        assertTrue(sql.contains("ON DUPLICATE KEY UPDATE"));
+        assertTrue(sql.contains("AS new"));
+        assertTrue(sql.contains("application_count = application_count + new.application_count"));
+        assertTrue(sql.contains("total_amount = total_amount + new.total_amount"));
+    }
+
+    @Test
+    void moveTransitioned_UnSoloUpsertDesdeElEstadoCapturado() {
+        DatabaseClient.GenericExecuteSpec move = stubUpdate(ApplicationStatsAdapter.SQL_MOVE_TRANSITIONED, 2L);
+
+        StepVerifier.create(adapter.moveTransitioned(10L))
+                .verifyComplete();
+
+        verify(move).bind("id", 10L);
+        verify(databaseClient, never()).sql(ApplicationStatsAdapter.SQL_UPSERT);
+        String sql = ApplicationStatsAdapter.SQL_MOVE_TRANSITIONED;
+        assertTrue(sql.contains("SELECT @transition_from AS cell_state"));
+        assertTrue(sql.contains("id_state <> @transition_from"));
+        assertTrue(sql.contains("application_count = application_count + moved.delta_count"));
+    }
+
+    @Test
+    void addAll_UnUpsertPorCelda() {
+        List<Application> saved = List.of(
+                application(1L, 2L, "100"),
+                application(1L, 2L, "50"),
+                application(1L, 3L, "10"));
+
+        StepVerifier.create(adapter.addAll(saved))
+                .verifyComplete();
+
+        verify(databaseClient, times(2)).sql(ApplicationStatsAdapter.SQL_UPSERT);
+        verify(upsert).bind("count", 2L);
+        verify(upsert).bind("amount", new BigDecimal("150"));
+        verify(upsert).bind("count", 1L);
+    }
+
+    @Test
+    void add_SinTipoDePrestamoNoEscribe() {
+        StepVerifier.create(adapter.add(application(1L, null, "100")))
+                .verifyComplete();
+
+        verify(databaseClient, never()).sql(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reconcile_SumaSoloLaDiferenciaDeLasCeldasDesviadas() {
+        DatabaseClient.GenericExecuteSpec drift = mock(DatabaseClient.GenericExecuteSpec.class);
+        RowsFetchSpec<ApplicationStats> rows = mock(RowsFetchSpec.class);
+        when(databaseClient.sql(ApplicationStatsAdapter.SQL_DRIFT)).thenReturn(drift);
+        when(drift.map(any(BiFunction.class))).thenReturn(rows);
+        when(rows.all()).thenReturn(Flux.just(
+                new ApplicationStats(1L, 2L, -1, new BigDecimal("-100")),
+                new ApplicationStats(4L, 2L, 1, new BigDecimal("100"))));
+
+        StepVerifier.create(adapter.reconcile())
+                .expectNext(2)
+                .verifyComplete();
+
+        // Deltas sobre la fila, no DELETE + INSERT de toda la tabla en una transacción larga
+        InOrder order = inOrder(upsert);
+        order.verify(upsert).bind("idState", 1L);
+        order.verify(upsert).bind("count", -1L);
+        order.verify(upsert).bind("idState", 4L);
+        order.verify(upsert).bind("count", 1L);
+        String sql = ApplicationStatsAdapter.SQL_DRIFT;
+        assertTrue(sql.contains("application_archive"));
+        assertTrue(sql.contains("-application_count, -total_amount FROM application_stats"));
+        assertTrue(sql.contains("HAVING"));
+        assertFalse(sql.contains("DELETE"));
+    }
+
+    private static Application application(Long idState, Long loanTypeId, String amount) {
+        return Application.builder().idState(idState).loanTypeID(loanTypeId).amount(new BigDecimal(amount)).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private DatabaseClient.GenericExecuteSpec stubUpdate(String sql, long rows) {
+        DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class);
+        FetchSpec<Map<String, Object>> fetch = mock(FetchSpec.class);
+        when(databaseClient.sql(sql)).thenReturn(spec);
+        when(spec.bind(anyString(), any())).thenReturn(spec);
+        when(spec.fetch()).thenReturn(fetch);
+        when(fetch.rowsUpdated()).thenReturn(Mono.just(rows));
+        return spec;
+    }
+}
@@ -0,0 +1,182 @@
+package co.com.pragma.solicitudes.r2dbc;
+
+import co.com.pragma.solicitudes.model.applicationdecisionevent.ApplicationDecisionEvent;
+import co.com.pragma.solicitudes.model.outbox.OutboxEventType;
+import co.com.pragma.solicitudes.model.outbox.OutboxMessage;
+import co.com.pragma.solicitudes.r2dbc.config.OutboxProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.FetchSpec;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Sentencias y parámetros del outbox. La semántica en MySQL (vencimiento del lease,
+ * crecimiento del backoff, dead_at y purga) se comprueba en {@link OutboxRepositoryMysqlTest}.
+ */
+class OutboxRepositoryAdapterTest {
+
+    private static final OutboxProperties PROPERTIES = new OutboxProperties(
+            Duration.ofSeconds(30), Duration.ofSeconds(2), Duration.ofMinutes(5), 10, Duration.ofDays(7), 5000,
+            true, Duration.ofMillis(500), 50, 20, Duration.ofHours(1));
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private DatabaseClient databaseClient;
+    private OutboxRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setup() {
+        databaseClient = mock(DatabaseClient.class);
+        adapter = new OutboxRepositoryAdapter(databaseClient, objectMapper, PROPERTIES);
+    }
+
+    @Test
+    void claim_ReservaConLeaseYLimiteYLeeSoloLasFilasDelMismoDueno() throws Exception {
+        DatabaseClient.GenericExecuteSpec claim = stubUpdate(OutboxRepositoryAdapter.SQL_CLAIM, 1L);
+        String payload = objectMapper.writeValueAsString(
+                ApplicationDecisionEvent.builder().idApplication(9L).decision("APROBADA").build());
+        DatabaseClient.GenericExecuteSpec claimed = stubRows(OutboxRepositoryAdapter.SQL_CLAIMED,
+                storedRow(5L, OutboxEventType.APPLICATION_DECISION.name(), payload, 2));
+
+        List<OutboxMessage> messages = adapter.claimPending(50).collectList().block(Duration.ofSeconds(5));
+
+        assertEquals(1, messages.size());
+        assertEquals(5L, messages.get(0).getId());
+        assertEquals(2, messages.get(0).getAttempts());
+        assertEquals(9L, ((ApplicationDecisionEvent) messages.get(0).getPayload()).getIdApplication());
+
+        ArgumentCaptor<Object> owner = ArgumentCaptor.forClass(Object.class);
+        verify(claim).bind(eq("owner"), owner.capture());
+        verify(claim).bind("leaseMillis", 30_000L);
+        verify(claim).bind("limit", 50);
+        verify(claimed).bind("owner", owner.getValue());
+
+        String sql = OutboxRepositoryAdapter.SQL_CLAIM;
+        assertTrue(sql.contains("(claimed_until IS NULL OR claimed_until < NOW(3))"));
+        assertTrue(sql.contains("dead_at IS NULL"));
+        assertTrue(sql.contains("ORDER BY id\n") && sql.endsWith("LIMIT :limit"));
+    }
+
+    @Test
+    void claim_SinFilasReservadasNoConsulta() {
+        stubUpdate(OutboxRepositoryAdapter.SQL_CLAIM, 0L);
+
+        StepVerifier.create(adapter.claimPending(50)).verifyComplete();
+
+        verify(databaseClient, never()).sql(OutboxRepositoryAdapter.SQL_CLAIMED);
+    }
+
+    @Test
+    void claim_PayloadIlegibleVaDirectoADeadYSeOmite() {
+        stubUpdate(OutboxRepositoryAdapter.SQL_CLAIM, 1L);
+        stubRows(OutboxRepositoryAdapter.SQL_CLAIMED,
+                storedRow(6L, OutboxEventType.CAPACITY_REQUEST.name(), "{no-es-json", 0));
+        DatabaseClient.GenericExecuteSpec dead = stubUpdate(OutboxRepositoryAdapter.SQL_MARK_DEAD, 1L);
+
+        StepVerifier.create(adapter.claimPending(50)).verifyComplete();
+
+        verify(dead).bind("id", 6L);
+        verify(dead).bind(eq("error"), argThat(e -> ((String) e).startsWith("payload inválido")));
+        verify(databaseClient, never()).sql(OutboxRepositoryAdapter.SQL_MARK_FAILED);
+    }
+
+    @Test
+    void markSent_MarcaLosIdsYLiberaLaReserva() {
+        DatabaseClient.GenericExecuteSpec spec = stubUpdate(OutboxRepositoryAdapter.SQL_MARK_SENT, 2L);
+
+        StepVerifier.create(adapter.markSent(List.of(1L, 2L))).verifyComplete();
+
+        verify(spec).bind("ids", List.of(1L, 2L));
+        assertTrue(OutboxRepositoryAdapter.SQL_MARK_SENT.contains("claimed_by = NULL, claimed_until = NULL"));
+    }
+
+    @Test
+    void markSent_SinIdsNoEscribe() {
+        StepVerifier.create(adapter.markSent(List.of())).verifyComplete();
+        StepVerifier.create(adapter.markFailed(List.of(), "x")).verifyComplete();
+
+        verify(databaseClient, never()).sql(anyString());
+    }
+
+    @Test
+    void markFailed_EnlazaBackoffMaxAttemptsYTruncaElError() {
+        DatabaseClient.GenericExecuteSpec spec = stubUpdate(OutboxRepositoryAdapter.SQL_MARK_FAILED, 1L);
+
+        StepVerifier.create(adapter.markFailed(List.of(3L), "e".repeat(800))).verifyComplete();
+
+        verify(spec).bind("ids", List.of(3L));
+        verify(spec).bind("retryBaseMillis", 2_000L);
+        verify(spec).bind("retryMaxMillis", 300_000L);
+        verify(spec).bind("maxAttempts", 10);
+        verify(spec).bind("error", "e".repeat(500));
+    }
+
+    @Test
+    void purge_BorraEnviadosMasViejosQueLaRetencionConLimite() {
+        DatabaseClient.GenericExecuteSpec spec = stubUpdate(OutboxRepositoryAdapter.SQL_PURGE, 42L);
+
+        StepVerifier.create(adapter.purgeSent())
+                .expectNext(42L)
+                .verifyComplete();
+
+        verify(spec).bind("retentionSeconds", Duration.ofDays(7).toSeconds());
+        verify(spec).bind("limit", 5000);
+        assertTrue(OutboxRepositoryAdapter.SQL_PURGE.contains("sent_at IS NOT NULL"));
+    }
+
+    private static Row storedRow(Long id, String type, String payload, Integer attempts) {
+        Row row = mock(Row.class);
+        when(row.get("id", Long.class)).thenReturn(id);
+        when(row.get("event_type", String.class)).thenReturn(type);
+        when(row.get("aggregate_id", Long.class)).thenReturn(9L);
+        when(row.get("payload", String.class)).thenReturn(payload);
+        when(row.get("attempts", Integer.class)).thenReturn(attempts);
+        return row;
+    }
+
+    @SuppressWarnings("unchecked")
+    private DatabaseClient.GenericExecuteSpec stubRows(String sql, Row row) {
+        DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class);
+        when(databaseClient.sql(sql)).thenReturn(spec);
+        when(spec.bind(anyString(), any())).thenReturn(spec);
+        when(spec.map(any(BiFunction.class))).thenAnswer(inv -> {
+            BiFunction<Row, RowMetadata, Object> mapping = inv.getArgument(0);
+            RowsFetchSpec<Object> rows = mock(RowsFetchSpec.class);
+            when(rows.all()).thenReturn(Flux.just(mapping.apply(row, mock(RowMetadata.class))));
+            return rows;
+        });
+        return spec;
+    }
+
+    @SuppressWarnings("unchecked")
+    private DatabaseClient.GenericExecuteSpec stubUpdate(String sql, long rows) {
+        DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class);
+        FetchSpec<Map<String, Object>> fetch = mock(FetchSpec.class);
+        when(databaseClient.sql(sql)).thenReturn(spec);
+        when(spec.bind(anyString(), any())).thenReturn(spec);
+        when(spec.fetch()).thenReturn(fetch);
+        when(fetch.rowsUpdated()).thenReturn(Mono.just(rows));
+        when(spec.then()).thenReturn(Mono.empty());
+        return spec;
+    }
+}
@@ -0,0 +1,157 @@
+package co.com.pragma.solicitudes.r2dbc;
+
+import co.com.pragma.solicitudes.model.applicationdecisionevent.ApplicationDecisionEvent;
+import co.com.pragma.solicitudes.model.outbox.OutboxMessage;
+import co.com.pragma.solicitudes.r2dbc.config.OutboxProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.mariadb.r2dbc.MariadbConnectionConfiguration;
+import org.mariadb.r2dbc.MariadbConnectionFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * OutboxRepositoryAdapter contra un MySQL real: vencimiento del lease del UPDATE ... LIMIT,
+ * backoff creciente de markFailed, paso a dead_at al agotar max-attempts y purga.
+ *
+ * Requiere SOLICITUDES_IT_R2DBC_HOST (más _PORT, _DATABASE, _USER y _PASSWORD) sobre un esquema
+ * ya migrado con Flyway. Usa un aggregate_id propio y borra sus filas tras cada prueba.
+ */
+@EnabledIfEnvironmentVariable(named = "SOLICITUDES_IT_R2DBC_HOST", matches = ".+")
+class OutboxRepositoryMysqlTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final long AGGREGATE_ID = -1_700L;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static ConnectionPool pool;
+    private static DatabaseClient databaseClient;
+    private static OutboxRepositoryAdapter adapter;
+
+    @BeforeAll
+    static void setUp() {
+        MariadbConnectionConfiguration configuration = MariadbConnectionConfiguration.builder()
+                .host(System.getenv("SOLICITUDES_IT_R2DBC_HOST"))
+                .port(Integer.parseInt(System.getenv().getOrDefault("SOLICITUDES_IT_R2DBC_PORT", "3306")))
+                .database(System.getenv().getOrDefault("SOLICITUDES_IT_R2DBC_DATABASE", "solicitudes_it"))
+                .username(System.getenv().getOrDefault("SOLICITUDES_IT_R2DBC_USER", "root"))
+                .password(System.getenv().getOrDefault("SOLICITUDES_IT_R2DBC_PASSWORD", ""))
+                .build();
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(new MariadbConnectionFactory(configuration))
+                .maxSize(4)
+                .build());
+        databaseClient = DatabaseClient.create(pool);
+        OutboxProperties properties = new OutboxProperties(Duration.ofMillis(500), Duration.ofSeconds(10),
+                Duration.ofHours(1), MAX_ATTEMPTS, Duration.ofDays(7), 5000,
+                true, Duration.ofMillis(500), 50, 20, Duration.ofHours(1));
+        adapter = new OutboxRepositoryAdapter(databaseClient,
+                new ObjectMapper().registerModule(new JavaTimeModule()), properties);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        databaseClient.sql("DELETE FROM outbox WHERE aggregate_id = :id").bind("id", AGGREGATE_ID)
+                .fetch().rowsUpdated().block(TIMEOUT);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+
+    @Test
+    void claim_OtraInstanciaNoTomaLaFilaHastaQueVenceElLease() throws InterruptedException {
+        Long id = enqueue();
+
+        assertTrue(claimedIds().contains(id));
+        assertFalse(claimedIds().contains(id), "la fila sigue reservada mientras dura el lease");
+
+        Thread.sleep(700);
+        assertTrue(claimedIds().contains(id), "vencido el lease la fila vuelve a reservarse");
+    }
+
+    @Test
+    void markFailed_ElBackoffCreceYAlAgotarIntentosQuedaDead() {
+        Long id = enqueue();
+        claimedIds();
+
+        adapter.markFailed(List.of(id), "throttled").block(TIMEOUT);
+        long firstDelay = millisUntilNextAttempt(id);
+        adapter.markFailed(List.of(id), "throttled").block(TIMEOUT);
+        long secondDelay = millisUntilNextAttempt(id);
+
+        // retryBase * 2^attempts: 20s tras el primer fallo, 40s tras el segundo
+        assertTrue(firstDelay > 15_000 && firstDelay <= 20_000, "primer backoff " + firstDelay);
+        assertTrue(secondDelay > 35_000 && secondDelay <= 40_000, "segundo backoff " + secondDelay);
+        assertNull(deadAt(id));
+
+        adapter.markFailed(List.of(id), "throttled").block(TIMEOUT);
+        assertNotNull(deadAt(id));
+        databaseClient.sql("UPDATE outbox SET next_attempt_at = NOW(3) WHERE id = :id").bind("id", id)
+                .fetch().rowsUpdated().block(TIMEOUT);
+        assertFalse(claimedIds().contains(id), "una fila dead no se vuelve a reservar");
+    }
+
+    @Test
+    void purge_BorraSoloEnviadosFueraDeRetencion() {
+        Long old = enqueue();
+        Long recent = enqueue();
+        adapter.markSent(List.of(old, recent)).block(TIMEOUT);
+        databaseClient.sql("UPDATE outbox SET sent_at = DATE_SUB(NOW(3), INTERVAL 8 DAY) WHERE id = :id")
+                .bind("id", old).fetch().rowsUpdated().block(TIMEOUT);
+
+        adapter.purgeSent().block(TIMEOUT);
+
+        assertEquals(List.of(recent), databaseClient.sql("SELECT id FROM outbox WHERE aggregate_id = :id")
+                .bind("id", AGGREGATE_ID)
+                .map(row -> row.get("id", Long.class))
+                .all().collectList().block(TIMEOUT));
+    }
+
+    private Long enqueue() {
+        adapter.enqueueDecision(ApplicationDecisionEvent.builder()
+                .idApplication(AGGREGATE_ID).decision("APROBADA").build()).block(TIMEOUT);
+        return databaseClient.sql("SELECT MAX(id) AS id FROM outbox WHERE aggregate_id = :id")
+                .bind("id", AGGREGATE_ID)
+                .map(row -> row.get("id", Long.class))
+                .one().block(TIMEOUT);
+    }
+
+    private List<Long> claimedIds() {
+        return adapter.claimPending(1000).map(OutboxMessage::getId).collectList().block(TIMEOUT);
+    }
+
+    private long millisUntilNextAttempt(Long id) {
+        return databaseClient.sql("SELECT TIMESTAMPDIFF(MICROSECOND, NOW(3), next_attempt_at) DIV 1000 AS ms "
+                        + "FROM outbox WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("ms", Long.class))
+                .one().block(TIMEOUT);
+    }
+
+    private Object deadAt(Long id) {
+        return databaseClient.sql("SELECT dead_at FROM outbox WHERE id = :id")
+                .bind("id", id)
+                .map(row -> Optional.ofNullable(row.get("dead_at")))
+                .one().block(TIMEOUT)
+                .orElse(null);
+    }
+}
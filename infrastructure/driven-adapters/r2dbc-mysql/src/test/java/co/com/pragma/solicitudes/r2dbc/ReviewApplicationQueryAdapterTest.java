@@ -0,0 +1,80 @@
+package co.com.pragma.solicitudes.r2dbc;
+
+import co.com.pragma.solicitudes.model.application.ReviewApplication;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReviewApplicationQueryAdapterTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findByState_MapeaCadaFilaConToReviewApplication() {
+        DatabaseClient databaseClient = mock(DatabaseClient.class);
+        DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class);
+        when(databaseClient.sql(ReviewApplicationQueryAdapter.SQL_FIND_BY_STATE)).thenReturn(spec);
+        when(spec.bind(anyString(), any())).thenReturn(spec);
+        Row first = row(7L);
+        Row second = row(8L);
+        when(spec.map(any(BiFunction.class))).thenAnswer(inv -> {
+            BiFunction<Row, RowMetadata, ReviewApplication> mapping = inv.getArgument(0);
+            RowsFetchSpec<ReviewApplication> rows = mock(RowsFetchSpec.class);
+            when(rows.all()).thenReturn(Flux.just(first, second)
+                    .map(r -> mapping.apply(r, mock(RowMetadata.class))));
+            return rows;
+        });
+
+        StepVerifier.create(new ReviewApplicationQueryAdapter(databaseClient).findByState(1L))
+                .assertNext(review -> {
+                    assertEquals(7L, review.getIdApplication());
+                    assertEquals("LIBRE_INVERSION", review.getLoanTypeName());
+                })
+                .assertNext(review -> assertEquals(8L, review.getIdApplication()))
+                .verifyComplete();
+
+        verify(spec).bind("idState", 1L);
+    }
+
+    @Test
+    void mapeaFilaAProyeccion() {
+        ReviewApplication review = ReviewApplicationQueryAdapter.toReviewApplication(row(7L));
+
+        assertEquals(7L, review.getIdApplication());
+        assertEquals(BigDecimal.valueOf(5000), review.getAmount());
+        assertEquals(12, review.getTerm());
+        assertEquals("user@mail.com", review.getEmail());
+        assertEquals(3L, review.getIdUser());
+        assertEquals(1L, review.getIdState());
+        assertEquals(2L, review.getLoanTypeID());
+        assertEquals("LIBRE_INVERSION", review.getLoanTypeName());
+        assertEquals(BigDecimal.valueOf(1.5), review.getRateInterest());
+    }
+
+    private static Row row(Long idApplication) {
+        Row row = mock(Row.class);
+        when(row.get("id_application", Long.class)).thenReturn(idApplication);
+        when(row.get("amount", BigDecimal.class)).thenReturn(BigDecimal.valueOf(5000));
+        when(row.get("term", Integer.class)).thenReturn(12);
+        when(row.get("email", String.class)).thenReturn("user@mail.com");
+        when(row.get("id_user", Long.class)).thenReturn(3L);
+        when(row.get("id_state", Long.class)).thenReturn(1L);
+        when(row.get("loan_type_id", Long.class)).thenReturn(2L);
+        when(row.get("loan_type_name", String.class)).thenReturn("LIBRE_INVERSION");
+        when(row.get("rateInterest", BigDecimal.class)).thenReturn(BigDecimal.valueOf(1.5));
+        return row;
+    }
+}
@@ -5,15 +5,28 @@ import co.com.pragma.solicitudes.r2dbc.entity.ApplicationEntity;
 import co.com.pragma.solicitudes.r2dbc.mapper.ApplicationMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.FetchSpec;
+import org.springframework.r2dbc.core.RowsFetchSpec;
 import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 /**
@@ -25,7 +38,10 @@ class applicationRepositoryAdapterTest {
     private IApplicationReactiveRepository reactiveRepository; // Repo reactivo
     private ApplicationMapper mapper;                           // Mapper Dominio ↔ Entidad
     private TransactionalOperator transactionalOperator;     // Control transacciones
+    private DatabaseClient databaseClient;                   // INSERT de varias filas
+    private ApplicationStatsAdapter statsAdapter;            // Agregado application_stats
     private ApplicationRepositoryAdapter adapter;               // Adapter bajo prueba
+    private RowsFetchSpec<Application> rows;                    // Resultado de las lecturas directas
 
     @BeforeEach
     void setup() {
@@ -33,7 +49,15 @@ class applicationRepositoryAdapterTest {
         mapper = Mockito.mock(ApplicationMapper.class);
         transactionalOperator = Mockito.mock(TransactionalOperator.class);
 
-        adapter = new ApplicationRepositoryAdapter(reactiveRepository, mapper, transactionalOperator);
+        databaseClient = Mockito.mock(DatabaseClient.class);
+        statsAdapter = Mockito.mock(ApplicationStatsAdapter.class);
+        when(statsAdapter.add(any())).thenReturn(Mono.empty());
+        when(statsAdapter.remove(any())).thenReturn(Mono.empty());
+        when(statsAdapter.moveTransitioned(any())).thenReturn(Mono.empty());
+        when(statsAdapter.addAll(any())).thenReturn(Mono.empty());
+
+        adapter = new ApplicationRepositoryAdapter(reactiveRepository, mapper, transactionalOperator, databaseClient,
+                statsAdapter);
     }
 
     @Test
@@ -51,37 +75,274 @@ class applicationRepositoryAdapterTest {
         StepVerifier.create(adapter.save(application))
                 .expectNext(application)
                 .verifyComplete();
+
+        // Alta: suma al agregado sin leer ni bloquear filas previas
+        verify(statsAdapter).add(application);
+        verify(statsAdapter, never()).remove(any());
+        verify(databaseClient, never()).sql(anyString());
+    }
+
+    @Test
+    void save_ActualizacionRestaLoAnteriorYSumaLoNuevo() {
+        Application before = Application.builder().idApplication(5L).amount(BigDecimal.TEN)
+                .idState(1L).loanTypeID(2L).build();
+        Application after = Application.builder().idApplication(5L).amount(BigDecimal.ONE)
+                .idState(1L).loanTypeID(3L).build();
+        stubQuery(ApplicationRepositoryAdapter.SQL_LOCK_BY_ID);
+        when(rows.one()).thenReturn(Mono.just(before));
+        stubUpdate(ApplicationRepositoryAdapter.SQL_STAMP_DECISION);
+        when(mapper.toEntity(any())).thenReturn(new ApplicationEntity());
+        when(mapper.toModel(any())).thenReturn(after);
+        when(reactiveRepository.save(any())).thenReturn(Mono.just(new ApplicationEntity()));
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(adapter.save(after))
+                .expectNext(after)
+                .verifyComplete();
+
+        verify(statsAdapter).remove(before);
+        verify(statsAdapter).add(after);
+    }
+
+    @Test
+    void save_EnEstadoFinalMarcaFechaDecision() {
+        Application approved = Application.builder().idApplication(5L).amount(BigDecimal.TEN)
+                .idState(4L).loanTypeID(2L).build();
+        stubQuery(ApplicationRepositoryAdapter.SQL_LOCK_BY_ID);
+        when(rows.one()).thenReturn(Mono.just(Application.builder().idApplication(5L).idState(1L).build()));
+        DatabaseClient.GenericExecuteSpec stamp = stubUpdate(ApplicationRepositoryAdapter.SQL_STAMP_DECISION);
+        when(mapper.toEntity(any())).thenReturn(new ApplicationEntity());
+        when(mapper.toModel(any())).thenReturn(approved);
+        when(reactiveRepository.save(any())).thenReturn(Mono.just(new ApplicationEntity()));
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(adapter.save(approved))
+                .expectNext(approved)
+                .verifyComplete();
+
+        // Sin fecha_decision el archivador nunca la tomaría
+        verify(stamp).bind("ids", List.of(5L));
+        verify(stamp).bind("finalStates", ApplicationRepositoryAdapter.FINAL_STATES);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void saveAll_InsertaVariasFilasYDerivaIdsDesdeLastInsertId() {
+        Application a1 = Application.builder().amount(BigDecimal.TEN).term(12).email("a@mail.com")
+                .idUser(1L).idState(1L).loanTypeID(2L).build();
+        Application a2 = Application.builder().amount(BigDecimal.ONE).term(6).email("b@mail.com")
+                .idUser(2L).idState(1L).loanTypeID(2L).build();
+
+        when(mapper.toEntity(any())).thenAnswer(inv -> {
+            Application a = inv.getArgument(0);
+            return ApplicationEntity.builder().amount(a.getAmount()).term(a.getTerm()).email(a.getEmail())
+                    .idUser(a.getIdUser()).idState(a.getIdState()).loanTypeID(a.getLoanTypeID()).build();
+        });
+        when(mapper.toModel(any())).thenAnswer(inv -> {
+            ApplicationEntity e = inv.getArgument(0);
+            return Application.builder().idApplication(e.getIdApplication()).email(e.getEmail()).build();
+        });
+
+        DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class);
+        RowsFetchSpec<Long> fetch = mock(RowsFetchSpec.class);
+        when(databaseClient.sql(anyString())).thenReturn(spec);
+        when(spec.filter(any(Function.class))).thenReturn(spec);
+        when(spec.bind(anyString(), any())).thenReturn(spec);
+        when(spec.map(any(Function.class))).thenReturn(fetch);
+        // MySQL no tiene RETURNING: el driver devuelve solo LAST_INSERT_ID (id de la primera fila)
+        when(fetch.all()).thenReturn(Flux.just(100L));
+        when(transactionalOperator.transactional(any(Flux.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(adapter.saveAll(List.of(a1, a2)))
+                .assertNext(saved -> {
+                    assertEquals(100L, saved.getIdApplication());
+                    assertEquals("a@mail.com", saved.getEmail());
+                })
+                .assertNext(saved -> {
+                    assertEquals(101L, saved.getIdApplication());
+                    assertEquals("b@mail.com", saved.getEmail());
+                })
+                .verifyComplete();
+
+        // Una sola sentencia para ambas filas, dentro de la transacción
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(databaseClient, times(1)).sql(sql.capture());
+        assertTrue(sql.getValue().contains("(:amount0") && sql.getValue().contains("(:amount1"));
+        verify(reactiveRepository, never()).saveAll(any(Iterable.class));
+        verify(statsAdapter).addAll(argThat(saved -> saved.size() == 2));
+    }
+
+    @Test
+    void generatedIds_UsaLosIdsDevueltosSiHayUnoPorFila() {
+        assertEquals(List.of(7L, 9L), ApplicationRepositoryAdapter.generatedIds(List.of(7L, 9L), 2));
+        assertEquals(List.of(7L, 8L, 9L), ApplicationRepositoryAdapter.generatedIds(List.of(7L), 3));
+        assertNull(ApplicationRepositoryAdapter.generatedIds(List.of(), 2));
+        assertNull(ApplicationRepositoryAdapter.generatedIds(List.of(7L, 8L), 3));
     }
 
     @Test
     void findAllSolicitudes_Exitoso() {
         Application application = new Application();
-        when(reactiveRepository.findAll()).thenReturn(Flux.just(new ApplicationEntity()));
-        when(mapper.toModel(any())).thenReturn(application);
+        stubQuery(ApplicationRepositoryAdapter.SQL_SELECT);
+        when(rows.all()).thenReturn(Flux.just(application));
 
         StepVerifier.create(adapter.findAll())
                 .expectNext(application)
                 .verifyComplete();
+
+        // Lectura directa fila → dominio: ni entidad ni MapStruct
+        verify(reactiveRepository, never()).findAll();
+        verify(mapper, never()).toModel(any());
+    }
+
+    @Test
+    void findPage_Exitoso() {
+        Application application = new Application();
+        DatabaseClient.GenericExecuteSpec spec = stubQuery(ApplicationRepositoryAdapter.SQL_FIND_PAGE);
+        when(rows.all()).thenReturn(Flux.just(application));
+
+        StepVerifier.create(adapter.findPage(5L, 21))
+                .expectNext(application)
+                .verifyComplete();
+
+        verify(spec).bind("afterId", 5L);
+        verify(spec).bind("limit", 21);
+    }
+
+    @Test
+    void findByUser_KeysetSobreVigentesYArchivadas() {
+        Application application = new Application();
+        DatabaseClient.GenericExecuteSpec spec = stubQuery(ApplicationRepositoryAdapter.SQL_FIND_BY_USER);
+        when(rows.all()).thenReturn(Flux.just(application));
+
+        StepVerifier.create(adapter.findByUser(7L, 0L, 21))
+                .expectNext(application)
+                .verifyComplete();
+
+        verify(spec).bind("idUser", 7L);
+        verify(spec).bind("afterId", 0L);
+        verify(spec).bind("limit", 21);
+        String sql = ApplicationRepositoryAdapter.SQL_FIND_BY_USER;
+        assertTrue(sql.contains("FROM application WHERE id_user = :idUser AND id_application > :afterId"));
+        assertTrue(sql.contains("FROM application_archive WHERE id_user = :idUser"));
+    }
+
+    @Test
+    void findByState_Exitoso() {
+        Application application = new Application();
+        DatabaseClient.GenericExecuteSpec spec = stubQuery(ApplicationRepositoryAdapter.SQL_FIND_BY_STATES);
+        when(rows.all()).thenReturn(Flux.just(application));
+
+        StepVerifier.create(adapter.findByState(List.of(1L, 3L)))
+                .expectNext(application)
+                .verifyComplete();
+
+        verify(spec).bind("states", List.of(1L, 3L));
+    }
+
+    @Test
+    void transitionState_IndicaSiCambioLaFila() {
+        List<Long> abiertos = List.of(1L, 3L);
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reactiveRepository.transitionState(10L, abiertos, 4L)).thenReturn(Mono.just(1));
+        when(reactiveRepository.transitionState(11L, abiertos, 4L)).thenReturn(Mono.just(0));
+
+        StepVerifier.create(adapter.transitionState(10L, abiertos, 4L))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(adapter.transitionState(11L, abiertos, 4L))
+                .expectNext(false)
+                .verifyComplete();
+        verify(reactiveRepository, never()).save(any());
+        // Solo la transición que cambió la fila mueve el agregado, y sin bloquearla antes
+        verify(statsAdapter, times(1)).moveTransitioned(10L);
+        verify(statsAdapter, never()).moveTransitioned(11L);
+        verify(databaseClient, never()).sql(ApplicationRepositoryAdapter.SQL_LOCK_BY_ID);
     }
 
     @Test
     void findById_Exitoso() {
         Application application = new Application();
-        when(reactiveRepository.findById(1L)).thenReturn(Mono.just(new ApplicationEntity()));
-        when(mapper.toModel(any())).thenReturn(application);
+        stubQuery(ApplicationRepositoryAdapter.SQL_FIND_BY_ID);
+        when(rows.one()).thenReturn(Mono.just(application));
+
+        StepVerifier.create(adapter.findById(1L))
+                .expectNext(application)
+                .verifyComplete();
+    }
+
+    @Test
+    void findById_NoExiste() {
+        stubQuery(ApplicationRepositoryAdapter.SQL_FIND_BY_ID);
+        when(rows.one()).thenReturn(Mono.empty());
+        stubQuery(ApplicationRepositoryAdapter.SQL_FIND_ARCHIVED_BY_ID);
+        when(rows.one()).thenReturn(Mono.empty());
+
+        StepVerifier.create(adapter.findById(99L))
+                .verifyComplete();
+    }
+
+    @Test
+    void findById_BuscaEnElArchivoSiYaNoEstaEnLaTablaVigente() {
+        Application archived = Application.builder().idApplication(7L).idState(4L).build();
+        stubQuery(ApplicationRepositoryAdapter.SQL_FIND_BY_ID);
+        when(rows.one()).thenReturn(Mono.empty());
+        stubQuery(ApplicationRepositoryAdapter.SQL_FIND_ARCHIVED_BY_ID);
+        when(rows.one()).thenReturn(Mono.just(archived));
+
+        StepVerifier.create(adapter.findById(7L))
+                .expectNext(archived)
+                .verifyComplete();
+    }
+
+    @Test
+    void findById_NoConsultaElArchivoSiEstaVigente() {
+        Application application = new Application();
+        stubQuery(ApplicationRepositoryAdapter.SQL_FIND_BY_ID);
+        when(rows.one()).thenReturn(Mono.just(application));
 
         StepVerifier.create(adapter.findById(1L))
                 .expectNext(application)
                 .verifyComplete();
+
+        verify(databaseClient, never()).sql(ApplicationRepositoryAdapter.SQL_FIND_ARCHIVED_BY_ID);
     }
 
     @Test
     void delete_Exitoso() {
+        Application current = Application.builder().idApplication(1L).amount(BigDecimal.TEN)
+                .idState(1L).loanTypeID(2L).build();
+        stubQuery(ApplicationRepositoryAdapter.SQL_LOCK_BY_ID);
+        when(rows.one()).thenReturn(Mono.just(current));
         // Delete devuelve Mono vacío
         when(reactiveRepository.deleteById(1L)).thenReturn(Mono.empty());
         when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         StepVerifier.create(adapter.delete(1L))
                 .verifyComplete();
+
+        verify(reactiveRepository).deleteById(1L);
+        verify(statsAdapter).remove(current);
+    }
+
+    @SuppressWarnings("unchecked")
+    private DatabaseClient.GenericExecuteSpec stubUpdate(String sql) {
+        DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class);
+        FetchSpec<Map<String, Object>> fetch = mock(FetchSpec.class);
+        when(databaseClient.sql(sql)).thenReturn(spec);
+        when(spec.bind(anyString(), any())).thenReturn(spec);
+        when(spec.fetch()).thenReturn(fetch);
+        when(fetch.rowsUpdated()).thenReturn(Mono.just(1L));
+        return spec;
+    }
+
+    @SuppressWarnings("unchecked")
+    private DatabaseClient.GenericExecuteSpec stubQuery(String sql) {
+        DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class);
+        rows = mock(RowsFetchSpec.class);
+        when(databaseClient.sql(sql)).thenReturn(spec);
+        when(spec.bind(anyString(), any())).thenReturn(spec);
+        when(spec.map(any(BiFunction.class))).thenReturn(rows);
+        return spec;
     }
 }
@@ -0,0 +1,73 @@
+package co.com.pragma.solicitudes.r2dbc.client;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test unitario para AdaptiveConcurrencyLimiter (AIMD).
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void limit_RechazaCuandoSeAlcanzaElLimite() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, Duration.ofSeconds(1));
+        Sinks.One<String> pending = Sinks.one();
+
+        limiter.limit(pending.asMono()).subscribe();
+        limiter.limit(pending.asMono()).subscribe();
+
+        StepVerifier.create(limiter.limit(Mono.just("x")))
+                .expectError(AdaptiveConcurrencyLimiter.LimitExceededException.class)
+                .verify();
+        assertEquals(2, limiter.getInFlight());
+
+        pending.tryEmitValue("ok");
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void limit_AumentaConLlamadasRapidasYExitosas() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 5; i++) {
+            StepVerifier.create(limiter.limit(Mono.just("ok"))).expectNext("ok").verifyComplete();
+        }
+
+        // Solo crece mientras el límite se esté usando al menos a la mitad: 1 → 2 → 3
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void limit_DisminuyeConFallosDelServicio() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, Duration.ofSeconds(1));
+
+        StepVerifier.create(limiter.limit(Mono.error(new IllegalStateException("timeout"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertEquals(18, limiter.getLimit());
+    }
+
+    @Test
+    void limit_DisminuyeConLlamadasLentas() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, Duration.ofMillis(10));
+
+        StepVerifier.create(limiter.limit(Mono.delay(Duration.ofMillis(50)).thenReturn("lenta")))
+                .expectNext("lenta")
+                .verifyComplete();
+
+        assertTrue(limiter.getLimit() < 20);
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initial, Duration latencyThreshold) {
+        return new AdaptiveConcurrencyLimiter(initial, 1, 100, latencyThreshold, 0.9,
+                error -> !(error instanceof IllegalArgumentException));
+    }
+}
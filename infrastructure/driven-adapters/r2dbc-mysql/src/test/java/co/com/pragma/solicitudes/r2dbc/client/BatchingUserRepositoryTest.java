@@ -0,0 +1,77 @@
+package co.com.pragma.solicitudes.r2dbc.client;
+
+import co.com.pragma.solicitudes.model.user.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test de BatchingUserRepository contra el servidor stub de autenticación.
+ * Comprueba que N consultas individuales se resuelven con pocas llamadas en lote.
+ */
+class BatchingUserRepositoryTest {
+
+    private StubAuthServer authServer;
+    private BatchingUserRepository repository;
+
+    @BeforeEach
+    void setup() {
+        authServer = new StubAuthServer(Duration.ofMillis(20)).withUsers(500);
+        repository = new BatchingUserRepository(
+                new UserClientRest(authServer.webClient()), Duration.ofMillis(10), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        authServer.close();
+    }
+
+    @Test
+    void getUserById_ConsultasConcurrentesSeAgrupan() {
+        long start = System.nanoTime();
+
+        StepVerifier.create(Flux.range(1, 300)
+                        .flatMap(i -> repository.getUserById((long) i, "token"), 300)
+                        .map(User::getIdNumber)
+                        .collectList())
+                .assertNext(ids -> assertEquals(300, ids.size()))
+                .verifyComplete();
+
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertEquals(0, authServer.singleCalls.get());
+        assertTrue(authServer.batchCalls.get() >= 3 && authServer.batchCalls.get() <= 6,
+                "llamadas en lote: " + authServer.batchCalls.get());
+        // 300 llamadas de 20 ms en serie tardarían 6 s; los lotes salen en paralelo y con holgura para CI
+        assertTrue(elapsedMs < 2_000, "300 usuarios en " + elapsedMs + " ms");
+    }
+
+    @Test
+    void getUserById_IdsRepetidosSeConsultanUnaVez() {
+        StepVerifier.create(Flux.just(7L, 7L, 7L, 8L)
+                        .flatMap(id -> repository.getUserById(id, "token"))
+                        .count())
+                .expectNext(4L)
+                .verifyComplete();
+
+        assertEquals(1, authServer.batchCalls.get());
+    }
+
+    @Test
+    void getUserById_InexistenteConservaEl404() {
+        StepVerifier.create(repository.getUserById(9_999L, "token"))
+                .expectError(WebClientResponseException.NotFound.class)
+                .verify();
+
+        assertEquals(1, authServer.batchCalls.get());
+        assertEquals(1, authServer.singleCalls.get());
+    }
+}
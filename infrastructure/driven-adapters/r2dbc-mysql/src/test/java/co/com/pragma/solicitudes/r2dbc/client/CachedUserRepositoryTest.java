@@ -0,0 +1,110 @@
+package co.com.pragma.solicitudes.r2dbc.client;
+
+import co.com.pragma.solicitudes.model.user.User;
+import co.com.pragma.solicitudes.model.user.gateways.UserRepository;
+import co.com.pragma.solicitudes.r2dbc.config.UserCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test unitario para CachedUserRepository.
+ * Verifica hits, coalescencia de "miss" concurrentes y caché negativa.
+ */
+class CachedUserRepositoryTest {
+
+    private UserRepository delegate;
+    private CachedUserRepository repository;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setup() {
+        delegate = Mockito.mock(UserRepository.class);
+        calls = new AtomicInteger();
+        repository = new CachedUserRepository(delegate,
+                new UserCacheProperties(true, 100, Duration.ofMinutes(5), Duration.ofSeconds(30)),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getUserById_SegundaLlamadaEsHit() {
+        User user = User.builder().idNumber(1L).name("Test").build();
+        when(delegate.getUserById(eq(1L), anyString())).thenReturn(Mono.fromCallable(() -> {
+            calls.incrementAndGet();
+            return user;
+        }));
+
+        StepVerifier.create(repository.getUserById(1L, "token")).expectNext(user).verifyComplete();
+        StepVerifier.create(repository.getUserById(1L, "otro-token")).expectNext(user).verifyComplete();
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void getUserById_MissConcurrentesCompartenLlamada() {
+        User user = User.builder().idNumber(2L).name("Test").build();
+        when(delegate.getUserById(eq(2L), anyString())).thenReturn(Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.just(user).delayElement(Duration.ofMillis(100));
+        }));
+
+        StepVerifier.create(Mono.zip(
+                        repository.getUserById(2L, "token"),
+                        repository.getUserById(2L, "token"),
+                        repository.getUserById(2L, "token")))
+                .expectNextMatches(t -> t.getT1() == user && t.getT2() == user && t.getT3() == user)
+                .verifyComplete();
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void getUserById_NoEncontradoSeCacheaComoNegativo() {
+        WebClientResponseException notFound = WebClientResponseException.create(
+                404, "Not Found", HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8);
+        when(delegate.getUserById(eq(3L), anyString())).thenReturn(Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(notFound);
+        }));
+
+        StepVerifier.create(repository.getUserById(3L, "token"))
+                .expectError(WebClientResponseException.NotFound.class)
+                .verify();
+        StepVerifier.create(repository.getUserById(3L, "token"))
+                .expectError(WebClientResponseException.NotFound.class)
+                .verify();
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void getUserById_ErroresTransitoriosNoSeCachean() {
+        when(delegate.getUserById(eq(4L), anyString())).thenReturn(Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(new IllegalStateException("auth caído"));
+        }));
+
+        StepVerifier.create(repository.getUserById(4L, "token"))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(repository.getUserById(4L, "token"))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertEquals(2, calls.get());
+    }
+}
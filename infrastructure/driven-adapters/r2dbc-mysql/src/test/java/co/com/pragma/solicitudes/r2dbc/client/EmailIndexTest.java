@@ -0,0 +1,135 @@
+package co.com.pragma.solicitudes.r2dbc.client;
+
+import co.com.pragma.solicitudes.model.user.gateways.UserRepository;
+import co.com.pragma.solicitudes.r2dbc.config.EmailIndexProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test unitario para EmailIndex y EmailIndexUserRepository.
+ */
+class EmailIndexTest {
+
+    private MutableClock clock;
+    private EmailIndex index;
+    private UserRepository delegate;
+    private EmailIndexUserRepository repository;
+
+    @BeforeEach
+    void setup() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        index = new EmailIndex(new EmailIndexProperties(true, Duration.ofMinutes(10), 1000, 10_000, 0.01,
+                new EmailIndexProperties.Warm(true, Duration.ofMinutes(5), Duration.ofMinutes(6), null)), clock);
+        delegate = Mockito.mock(UserRepository.class);
+        repository = new EmailIndexUserRepository(delegate, index, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void existsByEmail_PositivoConfirmadoNoVuelveAlMicro() {
+        when(delegate.existsByEmail(eq("a@mail.com"), anyString())).thenReturn(Mono.just(true));
+
+        StepVerifier.create(repository.existsByEmail("a@mail.com", "t")).expectNext(true).verifyComplete();
+        StepVerifier.create(repository.existsByEmail(" A@Mail.com ", "t")).expectNext(true).verifyComplete();
+
+        verify(delegate, times(1)).existsByEmail(eq("a@mail.com"), anyString());
+    }
+
+    @Test
+    void existsByEmail_SinCargaMasivaLosNegativosVanAlMicro() {
+        when(delegate.existsByEmail(eq("nuevo@mail.com"), anyString())).thenReturn(Mono.just(false));
+
+        StepVerifier.create(repository.existsByEmail("nuevo@mail.com", "t")).expectNext(false).verifyComplete();
+        StepVerifier.create(repository.existsByEmail("nuevo@mail.com", "t")).expectNext(false).verifyComplete();
+
+        verify(delegate, times(2)).existsByEmail(eq("nuevo@mail.com"), anyString());
+    }
+
+    @Test
+    void existsByEmail_NegativoDelIndiceSeConfirmaEnElMicro() {
+        StepVerifier.create(index.warm(Flux.just("a@mail.com", "b@mail.com"))).expectNext(2L).verifyComplete();
+        assertEquals(EmailIndex.Lookup.NOT_EXISTS, index.lookup("nuevo@mail.com"));
+
+        // Registrado después de la carga: el índice dice que no, el micro que sí
+        when(delegate.existsByEmail(eq("nuevo@mail.com"), anyString())).thenReturn(Mono.just(true));
+        StepVerifier.create(repository.existsByEmail("nuevo@mail.com", "t")).expectNext(true).verifyComplete();
+
+        // Queda como positivo: la siguiente consulta no vuelve al micro
+        StepVerifier.create(repository.existsByEmail("nuevo@mail.com", "t")).expectNext(true).verifyComplete();
+        verify(delegate, times(1)).existsByEmail(eq("nuevo@mail.com"), anyString());
+    }
+
+    @Test
+    void existsByEmail_NegativoConfirmadoPorElMicro() {
+        StepVerifier.create(index.warm(Flux.just("a@mail.com"))).expectNext(1L).verifyComplete();
+        when(delegate.existsByEmail(eq("zzz@mail.com"), anyString())).thenReturn(Mono.just(false));
+
+        StepVerifier.create(repository.existsByEmail("zzz@mail.com", "t")).expectNext(false).verifyComplete();
+
+        verify(delegate, times(1)).existsByEmail(eq("zzz@mail.com"), anyString());
+    }
+
+    @Test
+    void bloomFilter_SinFalsosNegativosYFalsosPositivosAcotados() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("usuario" + i + "@mail.com");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("usuario" + i + "@mail.com"));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("otro" + i + "@mail.com")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "falsos positivos: " + falsePositives);
+        assertEquals(EmailIndex.Lookup.UNKNOWN, index.lookup("x@mail.com"));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
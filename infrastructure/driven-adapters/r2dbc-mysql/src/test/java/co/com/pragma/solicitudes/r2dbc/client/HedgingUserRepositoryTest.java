@@ -0,0 +1,81 @@
+package co.com.pragma.solicitudes.r2dbc.client;
+
+import co.com.pragma.solicitudes.model.user.User;
+import co.com.pragma.solicitudes.model.user.gateways.UserRepository;
+import co.com.pragma.solicitudes.r2dbc.config.UserHedgingProperties;
+import co.com.pragma.solicitudes.r2dbc.config.UserResilienceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * El hedging va por encima de ResilientUserRepository: cada hedge pide su propio permiso.
+ */
+class HedgingUserRepositoryTest {
+
+    private UserRepository client;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setup() {
+        client = Mockito.mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        calls = new AtomicInteger();
+        // La original tarda 300 ms; el hedge (a los 20 ms) responde en 10 ms
+        when(client.getUserById(anyLong(), anyString())).thenReturn(Mono.defer(() -> {
+            int n = calls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(n == 1 ? 300 : 10))
+                    .thenReturn(User.builder().idNumber((long) n).build());
+        }));
+    }
+
+    @Test
+    void getUserById_HedgeSinPermisoNoSeEnviaYRespondeLaOriginal() {
+        UserRepository repository = hedged(1);
+
+        StepVerifier.create(repository.getUserById(1L, "token"))
+                .assertNext(user -> assertEquals(1L, user.getIdNumber()))
+                .verifyComplete();
+
+        // El límite de concurrencia = 1 ya lo ocupa la original: el hedge no llega al micro
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.get("auth.client.hedge.sent").counter().count());
+        assertEquals(0.0, meterRegistry.get("auth.client.hedge.won").counter().count());
+    }
+
+    @Test
+    void getUserById_HedgeConPermisoGanaALaOriginalLenta() {
+        UserRepository repository = hedged(2);
+
+        StepVerifier.create(repository.getUserById(1L, "token"))
+                .assertNext(user -> assertEquals(2L, user.getIdNumber()))
+                .verifyComplete();
+
+        assertEquals(2, calls.get());
+        assertEquals(1.0, meterRegistry.get("auth.client.hedge.won").counter().count());
+    }
+
+    private UserRepository hedged(int concurrencyLimit) {
+        UserRepository resilient = new ResilientUserRepository(client, new UserResilienceProperties(true,
+                new UserResilienceProperties.CircuitBreaker(50, 100, Duration.ofSeconds(5), 4, 4,
+                        Duration.ofMinutes(1), 1),
+                new UserResilienceProperties.Bulkhead(10),
+                new UserResilienceProperties.Limiter(concurrencyLimit, concurrencyLimit, concurrencyLimit,
+                        Duration.ofSeconds(1), 0.9)),
+                meterRegistry);
+        return new HedgingUserRepository(resilient, new UserHedgingProperties(true, 0.95,
+                Duration.ofMillis(20), Duration.ofMillis(20), 1000, 1.0, 10), meterRegistry);
+    }
+}
@@ -0,0 +1,90 @@
+package co.com.pragma.solicitudes.r2dbc.client;
+
+import co.com.pragma.solicitudes.r2dbc.config.UserHedgingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test unitario para RequestHedger con tiempo virtual.
+ */
+class RequestHedgerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void hedge_PeticionLentaLaGanaElHedge() {
+        RequestHedger hedger = hedger(1.0);
+
+        // La original tarda 500 ms; el hedge sale a los 50 ms y tarda 10 ms
+        StepVerifier.withVirtualTime(() -> hedger.hedge(() -> call(500, 10)))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(59))
+                .expectNext("respuesta-2")
+                .verifyComplete();
+
+        assertEquals(2, calls.get());
+        assertEquals(1.0, count("auth.client.hedge.sent"));
+        assertEquals(1.0, count("auth.client.hedge.won"));
+    }
+
+    @Test
+    void hedge_SinPresupuestoNoSeEnviaHedge() {
+        RequestHedger hedger = hedger(0.0);
+
+        StepVerifier.withVirtualTime(() -> hedger.hedge(() -> call(500, 10)))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(499))
+                .expectNext("respuesta-1")
+                .verifyComplete();
+
+        assertEquals(1, calls.get());
+        assertEquals(1.0, count("auth.client.hedge.requests"));
+        assertEquals(0.0, count("auth.client.hedge.sent"));
+    }
+
+    @Test
+    void hedge_DesactivadoSoloDelega() {
+        StepVerifier.create(RequestHedger.disabled().hedge(() -> Mono.just("ok")))
+                .expectNext("ok")
+                .verifyComplete();
+    }
+
+    @Test
+    void latencyWindow_CalculaPercentil() {
+        RequestHedger.LatencyWindow window = new RequestHedger.LatencyWindow(100);
+        for (int i = 1; i <= 100; i++) {
+            window.record(i);
+        }
+        assertEquals(95, window.percentile(0.95));
+        assertEquals(50, window.percentile(0.5));
+    }
+
+    private Mono<String> call(long firstMillis, long nextMillis) {
+        int n = calls.incrementAndGet();
+        return Mono.delay(Duration.ofMillis(n == 1 ? firstMillis : nextMillis)).thenReturn("respuesta-" + n);
+    }
+
+    private RequestHedger hedger(double budgetRatio) {
+        return new RequestHedger("getUserById", new UserHedgingProperties(true, 0.95,
+                Duration.ofMillis(20), Duration.ofMillis(50), 1000, budgetRatio, 10), meterRegistry);
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+}
@@ -0,0 +1,118 @@
+package co.com.pragma.solicitudes.r2dbc.client;
+
+import co.com.pragma.solicitudes.model.user.User;
+import co.com.pragma.solicitudes.model.user.gateways.UserRepository;
+import co.com.pragma.solicitudes.r2dbc.config.UserResilienceProperties;
+import co.com.pragma.solicitudes.usecase.exceptions.DomainExceptions;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test unitario para ResilientUserRepository.
+ * Verifica apertura del circuito, que los 4xx no cuentan como fallo y el rechazo por concurrencia.
+ */
+class ResilientUserRepositoryTest {
+
+    private UserRepository delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private ResilientUserRepository repository;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setup() {
+        delegate = Mockito.mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        calls = new AtomicInteger();
+        repository = new ResilientUserRepository(delegate, properties(2), meterRegistry);
+    }
+
+    @Test
+    void getUserById_CircuitoAbiertoFallaRapidoCon503() {
+        when(delegate.getUserById(anyLong(), anyString())).thenReturn(Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(serverError());
+        }));
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(repository.getUserById(1L, "token"))
+                    .expectError(WebClientResponseException.InternalServerError.class)
+                    .verify();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, repository.circuitState());
+
+        StepVerifier.create(repository.getUserById(1L, "token"))
+                .expectError(DomainExceptions.ServicioNoDisponible.class)
+                .verify();
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void getUserById_404NoAbreElCircuito() {
+        when(delegate.getUserById(anyLong(), anyString())).thenReturn(Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(notFound());
+        }));
+
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(repository.getUserById(1L, "token"))
+                    .expectError(WebClientResponseException.NotFound.class)
+                    .verify();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, repository.circuitState());
+        assertEquals(10, calls.get());
+    }
+
+    @Test
+    void getUserById_SinCapacidadRechazaCon503() {
+        Sinks.One<User> slow = Sinks.one();
+        when(delegate.getUserById(anyLong(), anyString())).thenReturn(slow.asMono());
+
+        // Límite de concurrencia = 2: la tercera llamada simultánea se rechaza sin llegar al micro
+        repository.getUserById(1L, "token").subscribe();
+        repository.getUserById(2L, "token").subscribe();
+
+        StepVerifier.create(repository.getUserById(3L, "token"))
+                .expectError(DomainExceptions.ServicioNoDisponible.class)
+                .verify();
+
+        slow.tryEmitValue(User.builder().idNumber(1L).build());
+        assertNotNull(meterRegistry.find(ResilientUserRepository.NAME + ".concurrency.limit").gauge());
+        assertNotNull(meterRegistry.find("resilience4j.circuitbreaker.state").gauge());
+    }
+
+    private static UserResilienceProperties properties(int limit) {
+        return new UserResilienceProperties(true,
+                new UserResilienceProperties.CircuitBreaker(50, 100, Duration.ofSeconds(5), 4, 4,
+                        Duration.ofMinutes(1), 1),
+                new UserResilienceProperties.Bulkhead(10),
+                new UserResilienceProperties.Limiter(limit, limit, limit, Duration.ofSeconds(1), 0.9));
+    }
+
+    private static WebClientResponseException serverError() {
+        return WebClientResponseException.create(500, "Internal Server Error",
+                HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8);
+    }
+
+    private static WebClientResponseException notFound() {
+        return WebClientResponseException.create(404, "Not Found",
+                HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,115 @@
+package co.com.pragma.solicitudes.r2dbc.client;
+
+import co.com.pragma.solicitudes.model.user.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor local que imita al micro de autenticación para pruebas y mediciones offline.
+ *
+ * Expone los mismos endpoints que consume UserClientRest, con latencia configurable
+ * y contadores de llamadas por endpoint.
+ */
+public class StubAuthServer implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, User> users = new ConcurrentHashMap<>();
+    private final Duration latency;
+    private final DisposableServer server;
+
+    public final AtomicInteger singleCalls = new AtomicInteger();
+    public final AtomicInteger batchCalls = new AtomicInteger();
+    public final AtomicInteger emailCalls = new AtomicInteger();
+
+    public StubAuthServer(Duration latency) {
+        this.latency = latency;
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/api/v1/usuarios/exists/email/{email}", (req, res) -> {
+                            emailCalls.incrementAndGet();
+                            String email = req.param("email");
+                            boolean exists = users.values().stream().anyMatch(u -> email.equalsIgnoreCase(u.getEmail()));
+                            return json(res, Map.of("exists", exists));
+                        })
+                        .get("/api/v1/usuarios/{id}", (req, res) -> {
+                            singleCalls.incrementAndGet();
+                            User user = users.get(Long.valueOf(req.param("id")));
+                            if (user == null) {
+                                return Mono.delay(latency).then(res.status(404).send().then());
+                            }
+                            return json(res, user);
+                        })
+                        .post("/api/v1/usuarios/batch", (req, res) -> {
+                            batchCalls.incrementAndGet();
+                            return req.receive().aggregate().asString()
+                                    .flatMap(body -> json(res, findAll(body)).then());
+                        }))
+                .bindNow();
+    }
+
+    public StubAuthServer withUsers(int count) {
+        for (long id = 1; id <= count; id++) {
+            users.put(id, User.builder()
+                    .idNumber(id)
+                    .name("Usuario" + id)
+                    .lastName("Stub")
+                    .email("usuario" + id + "@mail.com")
+                    .baseSalary(BigDecimal.valueOf(3_000_000))
+                    .build());
+        }
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    public WebClient webClient() {
+        return WebClient.builder().baseUrl(baseUrl()).build();
+    }
+
+    private List<User> findAll(String body) {
+        try {
+            JsonNode ids = objectMapper.readTree(body).get("ids");
+            List<User> found = new ArrayList<>();
+            ids.forEach(id -> {
+                User user = users.get(id.asLong());
+                if (user != null) {
+                    found.add(user);
+                }
+            });
+            return found;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private Mono<Void> json(HttpServerResponse res, Object body) {
+        return Mono.delay(latency)
+                .then(Mono.fromCallable(() -> objectMapper.writeValueAsString(body)))
+                .flatMap(payload -> res.header("Content-Type", "application/json")
+                        .sendString(Mono.just(payload))
+                        .then());
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+}
@@ -0,0 +1,88 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.mariadb.r2dbc.MariadbConnectionFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Prueba de carga del pool contra una base real: misma consulta parametrizada con
+ * distintas combinaciones de caché de sentencias y pipelining, imprimiendo consultas/s
+ * y la espera media y máxima por una conexión.
+ *
+ * Requiere SOLICITUDES_IT_R2DBC_HOST (más _PORT, _DATABASE, _USER y _PASSWORD).
+ */
+@EnabledIfEnvironmentVariable(named = "SOLICITUDES_IT_R2DBC_HOST", matches = ".+")
+class ConnectionPoolLoadTest {
+
+    private static final int QUERIES = 20_000;
+    private static final int CONCURRENCY = 64;
+
+    @Test
+    void comparaCacheDeSentenciasYPipelining() {
+        run("sin caché, sin pipelining", driver(false, 0, false));
+        run("caché de sentencias", driver(true, 256, false));
+        run("caché + pipelining", driver(true, 256, true));
+    }
+
+    private void run(String label, MysqlConnectionProperties.Driver driver) {
+        MysqlConnectionProperties properties = properties(driver);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConnectionFactory factory = new MariadbConnectionFactory(MysqlConnectionPool.connectionConfiguration(properties));
+        ConnectionPool pool = new InstrumentedConnectionPool(
+                MysqlConnectionPool.poolConfiguration(properties.pool(), factory, "load"), "load", registry);
+        try {
+            // Calentamiento: abre las conexiones y llena la caché
+            query(pool, 1_000).block();
+
+            long start = System.nanoTime();
+            long rows = query(pool, QUERIES).block();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Timer acquire = registry.get("r2dbc.pool.acquire").timer();
+            System.out.printf("%-28s %8.0f consultas/s  acquire media=%.2f ms max=%.2f ms%n", label,
+                    QUERIES / seconds, acquire.mean(TimeUnit.MILLISECONDS), acquire.max(TimeUnit.MILLISECONDS));
+            assertEquals(QUERIES, rows);
+        } finally {
+            pool.dispose();
+        }
+    }
+
+    private static Mono<Long> query(ConnectionPool pool, int count) {
+        return Flux.range(0, count)
+                .flatMap(i -> Flux.usingWhen(pool.create(),
+                        connection -> Flux.from(connection.createStatement("SELECT ? + 1")
+                                        .bind(0, i)
+                                        .execute())
+                                .flatMap(result -> result.map((row, metadata) -> row.get(0))),
+                        connection -> connection.close()), CONCURRENCY)
+                .count();
+    }
+
+    private static MysqlConnectionProperties.Driver driver(boolean serverPrepStmts, int cacheSize, boolean pipelining) {
+        return new MysqlConnectionProperties.Driver(serverPrepStmts, cacheSize, pipelining, Duration.ofSeconds(10), true);
+    }
+
+    private static MysqlConnectionProperties properties(MysqlConnectionProperties.Driver driver) {
+        MysqlConnectionProperties.Pool pool = new MysqlConnectionProperties.Pool(
+                15, 15, 0, Duration.ofMinutes(30), Duration.ofHours(1),
+                Duration.ofSeconds(3), Duration.ofSeconds(5), "SELECT 1", true);
+        return new MysqlConnectionProperties(
+                System.getenv("SOLICITUDES_IT_R2DBC_HOST"),
+                Integer.parseInt(System.getenv().getOrDefault("SOLICITUDES_IT_R2DBC_PORT", "3306")),
+                System.getenv().getOrDefault("SOLICITUDES_IT_R2DBC_DATABASE", "solicitudes_it"),
+                System.getenv().getOrDefault("SOLICITUDES_IT_R2DBC_USER", "root"),
+                System.getenv().getOrDefault("SOLICITUDES_IT_R2DBC_PASSWORD", ""),
+                pool, driver);
+    }
+}
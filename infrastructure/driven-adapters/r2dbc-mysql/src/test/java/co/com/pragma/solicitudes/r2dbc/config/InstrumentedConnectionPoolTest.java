@@ -0,0 +1,68 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ValidationDepth;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class InstrumentedConnectionPoolTest {
+
+    private MeterRegistry registry;
+    private InstrumentedConnectionPool pool;
+
+    @BeforeEach
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void setUp() {
+        ConnectionFactory factory = mock(ConnectionFactory.class);
+        when(factory.create()).thenAnswer(inv -> {
+            Connection connection = mock(Connection.class);
+            when(connection.validate(any(ValidationDepth.class))).thenReturn((Mono) Mono.just(true));
+            when(connection.close()).thenReturn((Mono) Mono.empty());
+            return Mono.just(connection);
+        });
+
+        registry = new SimpleMeterRegistry();
+        pool = new InstrumentedConnectionPool(ConnectionPoolConfiguration.builder()
+                .connectionFactory(factory)
+                .initialSize(0)
+                .maxSize(2)
+                .maxAcquireTime(Duration.ofSeconds(1))
+                .build(), "test", registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.dispose();
+    }
+
+    @Test
+    void publicaConexionesEnUsoYTiempoDeAdquisicion() {
+        Connection connection = pool.create().block();
+
+        assertEquals(1.0, gauge("r2dbc.pool.acquired"));
+        assertEquals(1.0, gauge("r2dbc.pool.allocated"));
+        assertEquals(0.0, gauge("r2dbc.pool.pending"));
+        assertEquals(1L, registry.get("r2dbc.pool.acquire").tag("name", "test").timer().count());
+
+        Mono.from(connection.close()).block();
+
+        assertEquals(0.0, gauge("r2dbc.pool.acquired"));
+        assertEquals(1.0, gauge("r2dbc.pool.idle"));
+    }
+
+    private double gauge(String name) {
+        return registry.get(name).tag("name", "test").gauge().value();
+    }
+}
@@ -0,0 +1,97 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import co.com.pragma.solicitudes.r2dbc.replica.ReplicaLagMonitor;
+import co.com.pragma.solicitudes.r2dbc.replica.ReplicaRouting;
+import co.com.pragma.solicitudes.r2dbc.replica.ReplicaRoutingConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.mariadb.r2dbc.MariadbConnectionFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Enrutamiento contra dos MariaDB locales con replicación primario → réplica, por ejemplo:
+ * docker run mariadb:11 en 3306 (server_id=1, log_bin) y en 3307 (server_id=2) con CHANGE MASTER TO + START REPLICA.
+ *
+ * Requiere SOLICITUDES_IT_R2DBC_HOST y SOLICITUDES_IT_REPLICA_HOST
+ * (más sus _PORT; _DATABASE, _USER y _PASSWORD del primario valen también para la réplica).
+ */
+@EnabledIfEnvironmentVariable(named = "SOLICITUDES_IT_REPLICA_HOST", matches = ".+")
+class ReadReplicaRoutingLocalTest {
+
+    private static final String SQL_SERVER_ID = "SELECT @@server_id AS server_id";
+
+    private static ConnectionPool primaryPool;
+    private static ReplicaRoutingConnectionFactory routing;
+    private static ReplicaLagMonitor monitor;
+
+    @BeforeAll
+    static void setUp() {
+        MysqlConnectionProperties primary = new MysqlConnectionProperties(
+                System.getenv("SOLICITUDES_IT_R2DBC_HOST"),
+                Integer.parseInt(System.getenv().getOrDefault("SOLICITUDES_IT_R2DBC_PORT", "3306")),
+                System.getenv().getOrDefault("SOLICITUDES_IT_R2DBC_DATABASE", "solicitudes_it"),
+                System.getenv().getOrDefault("SOLICITUDES_IT_R2DBC_USER", "root"),
+                System.getenv().getOrDefault("SOLICITUDES_IT_R2DBC_PASSWORD", ""),
+                pool(), new MysqlConnectionProperties.Driver(true, 256, true, Duration.ofSeconds(10), true));
+        ReplicaProperties replica = new ReplicaProperties(true,
+                System.getenv("SOLICITUDES_IT_REPLICA_HOST"),
+                Integer.parseInt(System.getenv().getOrDefault("SOLICITUDES_IT_REPLICA_PORT", "3307")),
+                null, null, null, Duration.ofSeconds(5), Duration.ofSeconds(1), pool());
+
+        primaryPool = new ConnectionPool(MysqlConnectionPool.poolConfiguration(primary.pool(),
+                new MariadbConnectionFactory(MysqlConnectionPool.connectionConfiguration(primary)), "primary"));
+        MysqlConnectionProperties replicaConnection = replica.connection(primary);
+        ConnectionPool replicaPool = new ConnectionPool(MysqlConnectionPool.poolConfiguration(replicaConnection.pool(),
+                new MariadbConnectionFactory(MysqlConnectionPool.connectionConfiguration(replicaConnection)), "replica"));
+        monitor = new ReplicaLagMonitor(replicaPool, replica.maxLag());
+        routing = new ReplicaRoutingConnectionFactory(primaryPool, replicaPool, monitor);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        routing.dispose();
+        primaryPool.dispose();
+    }
+
+    @Test
+    void lecturasMarcadasVanALaReplicaYElRestoAlPrimario() {
+        assertTrue(monitor.check().block(), "la réplica debe estar replicando y al día");
+        DatabaseClient client = DatabaseClient.create(routing);
+
+        long fromPrimary = serverId(client, false);
+        long fromReplica = serverId(client, true);
+
+        assertNotEquals(fromPrimary, fromReplica);
+        assertEquals(fromPrimary, serverId(DatabaseClient.create(primaryPool), false));
+    }
+
+    @Test
+    void replicaAtrasada_LecturasAlPrimario() {
+        monitor.markUnhealthy(new IllegalStateException("simulado"));
+        DatabaseClient client = DatabaseClient.create(routing);
+
+        assertEquals(serverId(client, false), serverId(client, true));
+    }
+
+    private static long serverId(DatabaseClient client, boolean readOnly) {
+        Flux<Long> ids = client.sql(SQL_SERVER_ID)
+                .map((row, metadata) -> ((Number) row.get("server_id")).longValue())
+                .all();
+        return (readOnly ? ReplicaRouting.onReplica(ids) : ids).blockFirst();
+    }
+
+    private static MysqlConnectionProperties.Pool pool() {
+        return new MysqlConnectionProperties.Pool(1, 4, 0, Duration.ofMinutes(30), Duration.ofHours(1),
+                Duration.ofSeconds(3), Duration.ofSeconds(5), "SELECT 1", false);
+    }
+}
@@ -0,0 +1,77 @@
+package co.com.pragma.solicitudes.r2dbc.config;
+
+import co.com.pragma.solicitudes.r2dbc.client.StubAuthServer;
+import co.com.pragma.solicitudes.r2dbc.client.UserClientRest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WebClientConfigTest {
+
+    private final WebClientConfig config = new WebClientConfig();
+    private StubAuthServer authServer;
+    private ConnectionProvider connectionProvider;
+
+    @BeforeEach
+    void setup() {
+        authServer = new StubAuthServer(Duration.ofMillis(500)).withUsers(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionProvider != null) {
+            connectionProvider.disposeLater().block();
+        }
+        authServer.close();
+    }
+
+    @Test
+    void uriTemplate_ReemplazaIdsYEmails() {
+        assertEquals("/api/v1/usuarios/{id}", WebClientConfig.uriTemplate("/api/v1/usuarios/123"));
+        assertEquals("/api/v1/usuarios/exists/email/{email}",
+                WebClientConfig.uriTemplate("/api/v1/usuarios/exists/email/a@b.com"));
+        assertEquals("/api/v1/usuarios/batch", WebClientConfig.uriTemplate("/api/v1/usuarios/batch"));
+    }
+
+    @Test
+    void autenticacionClient_AplicaResponseTimeout() {
+        AuthClientProperties properties = properties(Duration.ofMillis(100), Duration.ofSeconds(5));
+        UserClientRest client = new UserClientRest(clientFor(properties), properties);
+
+        StepVerifier.create(client.getUserById(1L, "token"))
+                .expectError(WebClientRequestException.class)
+                .verify(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void userClientRest_AplicaCallTimeout() {
+        AuthClientProperties properties = properties(Duration.ofSeconds(5), Duration.ofMillis(100));
+        UserClientRest client = new UserClientRest(clientFor(properties), properties);
+
+        StepVerifier.create(client.existsByEmail("usuario1@mail.com", "token"))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(2));
+    }
+
+    private WebClient clientFor(AuthClientProperties properties) {
+        connectionProvider = config.autenticacionConnectionProvider(properties);
+        return config.autenticacionClient(WebClient.builder(), connectionProvider, properties);
+    }
+
+    private AuthClientProperties properties(Duration responseTimeout, Duration callTimeout) {
+        return new AuthClientProperties(
+                authServer.baseUrl(),
+                Duration.ofSeconds(1), responseTimeout, callTimeout, false, false,
+                new AuthClientProperties.Pool(4, 10, Duration.ofSeconds(1),
+                        Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(30)));
+    }
+}
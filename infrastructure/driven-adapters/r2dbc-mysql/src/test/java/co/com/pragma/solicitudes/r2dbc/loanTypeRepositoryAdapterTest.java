@@ -6,24 +6,32 @@ import co.com.pragma.solicitudes.r2dbc.mapper.LoanTypeMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.function.BiFunction;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 class loanTypeRepositoryAdapterTest {
 
     private ILoanTypeReactiveRepository reactiveRepository;
     private LoanTypeMapper mapper;
+    private DatabaseClient databaseClient;
     private LoanTypeRepositoryAdapter adapter;
+    private RowsFetchSpec<LoanType> rows;
 
     @BeforeEach
     void setup() {
         reactiveRepository = Mockito.mock(ILoanTypeReactiveRepository.class);
         mapper = Mockito.mock(LoanTypeMapper.class);
-        adapter = new LoanTypeRepositoryAdapter(reactiveRepository, mapper);
+        databaseClient = Mockito.mock(DatabaseClient.class);
+        adapter = new LoanTypeRepositoryAdapter(reactiveRepository, mapper, databaseClient);
     }
 
     @Test
@@ -41,8 +49,8 @@ class loanTypeRepositoryAdapterTest {
     @Test
     void findAllTiposPrestamo_Exitoso() {
         LoanType tipo = new LoanType();
-        when(reactiveRepository.findAll()).thenReturn(Flux.just(new LoanTypeEntity()));
-        when(mapper.toModel(any())).thenReturn(tipo);
+        stubQuery(LoanTypeRepositoryAdapter.SQL_SELECT);
+        when(rows.all()).thenReturn(Flux.just(tipo));
 
         StepVerifier.create(adapter.findAll())
                 .expectNext(tipo)
@@ -52,12 +60,15 @@ class loanTypeRepositoryAdapterTest {
     @Test
     void findById_Exitoso() {
         LoanType tipo = new LoanType();
-        when(reactiveRepository.findById(1L)).thenReturn(Mono.just(new LoanTypeEntity()));
-        when(mapper.toModel(any())).thenReturn(tipo);
+        DatabaseClient.GenericExecuteSpec spec = stubQuery(LoanTypeRepositoryAdapter.SQL_FIND_BY_ID);
+        when(rows.one()).thenReturn(Mono.just(tipo));
 
         StepVerifier.create(adapter.findById(1L))
                 .expectNext(tipo)
                 .verifyComplete();
+
+        verify(spec).bind("id", 1L);
+        verify(mapper, never()).toModel(any());
     }
 
     @Test
@@ -68,4 +79,14 @@ class loanTypeRepositoryAdapterTest {
                 .expectNext(true)
                 .verifyComplete();
     }
+
+    @SuppressWarnings("unchecked")
+    private DatabaseClient.GenericExecuteSpec stubQuery(String sql) {
+        DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class);
+        rows = mock(RowsFetchSpec.class);
+        when(databaseClient.sql(sql)).thenReturn(spec);
+        when(spec.bind(anyString(), any())).thenReturn(spec);
+        when(spec.map(any(BiFunction.class))).thenReturn(rows);
+        return spec;
+    }
 }
@@ -0,0 +1,87 @@
+package co.com.pragma.solicitudes.r2dbc.mapper;
+
+import co.com.pragma.solicitudes.model.application.Application;
+import co.com.pragma.solicitudes.model.loantype.LoanType;
+import co.com.pragma.solicitudes.model.state.State;
+import co.com.pragma.solicitudes.r2dbc.entity.ApplicationEntity;
+import co.com.pragma.solicitudes.r2dbc.entity.LoanTypeEntity;
+import co.com.pragma.solicitudes.r2dbc.entity.StateEntity;
+import io.r2dbc.spi.Row;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * La lectura directa debe producir el mismo modelo que el camino entidad + MapStruct.
+ *
+ * No hay JMH en el build: en lugar del benchmark de asignaciones por fila se verifica
+ * la equivalencia y que cada mapper lee solo las columnas que declara su *_COLUMNS.
+ */
+class RowMappersTest {
+
+    @Test
+    void application_IgualQueEntidadMasMapStruct() {
+        Row row = mock(Row.class);
+        when(row.get("id_application", Long.class)).thenReturn(7L);
+        when(row.get("amount", BigDecimal.class)).thenReturn(BigDecimal.valueOf(5000));
+        when(row.get("term", Integer.class)).thenReturn(12);
+        when(row.get("email", String.class)).thenReturn("user@mail.com");
+        when(row.get("id_user", Long.class)).thenReturn(3L);
+        when(row.get("id_state", Long.class)).thenReturn(1L);
+        when(row.get("loan_type_id", Long.class)).thenReturn(2L);
+
+        ApplicationEntity entity = new ApplicationEntity(7L, BigDecimal.valueOf(5000), 12, "user@mail.com", 3L, 1L, 2L);
+        Application expected = Mappers.getMapper(ApplicationMapper.class).toModel(entity);
+
+        assertEquals(expected, RowMappers.toApplication(row));
+        assertColumns(RowMappers.APPLICATION_COLUMNS, row);
+    }
+
+    @Test
+    void loanType_IgualQueEntidadMasMapStruct() {
+        Row row = mock(Row.class);
+        when(row.get("loan_type_id", Long.class)).thenReturn(2L);
+        when(row.get("name", String.class)).thenReturn("LIBRE_INVERSION");
+        when(row.get("minimumAmount", BigDecimal.class)).thenReturn(BigDecimal.valueOf(1000));
+        when(row.get("maximumAmount", BigDecimal.class)).thenReturn(BigDecimal.valueOf(10000));
+        when(row.get("rateInterest", BigDecimal.class)).thenReturn(BigDecimal.valueOf(1.5));
+        when(row.get("automaticValidation", Boolean.class)).thenReturn(true);
+
+        LoanTypeEntity entity = new LoanTypeEntity(2L, "LIBRE_INVERSION", BigDecimal.valueOf(1000),
+                BigDecimal.valueOf(10000), BigDecimal.valueOf(1.5), true);
+        LoanType expected = Mappers.getMapper(LoanTypeMapper.class).toModel(entity);
+
+        assertEquals(expected, RowMappers.toLoanType(row));
+        assertColumns(RowMappers.LOAN_TYPE_COLUMNS, row);
+    }
+
+    @Test
+    void state_IgualQueEntidadMasMapStruct() {
+        Row row = mock(Row.class);
+        when(row.get("id_state", Long.class)).thenReturn(1L);
+        when(row.get("name", String.class)).thenReturn("PENDIENTE_REVISION");
+        when(row.get("description", String.class)).thenReturn("En revisión");
+
+        StateEntity entity = new StateEntity(1L, "PENDIENTE_REVISION", "En revisión");
+        State expected = Mappers.getMapper(StateMapper.class).toModel(entity);
+
+        assertEquals(expected, RowMappers.toState(row));
+        assertColumns(RowMappers.STATE_COLUMNS, row);
+    }
+
+    // Cada columna declarada se leyó exactamente una vez, y ninguna otra
+    private static void assertColumns(String columns, Row row) {
+        String[] names = columns.split(",");
+        Arrays.stream(names).map(String::trim)
+                .forEach(column -> verify(row).get(eq(column), any(Class.class)));
+        verify(row, times(names.length)).get(anyString(), any(Class.class));
+    }
+}
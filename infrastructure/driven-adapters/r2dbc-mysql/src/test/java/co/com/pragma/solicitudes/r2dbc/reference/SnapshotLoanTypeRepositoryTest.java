@@ -0,0 +1,99 @@
+package co.com.pragma.solicitudes.r2dbc.reference;
+
+import co.com.pragma.solicitudes.model.loantype.LoanType;
+import co.com.pragma.solicitudes.model.loantype.gateways.LoanTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SnapshotLoanTypeRepositoryTest {
+
+    private LoanTypeRepository delegate;
+    private ReferenceDataSnapshot<LoanType> snapshot;
+    private SnapshotLoanTypeRepository repository;
+
+    private final LoanType libre = LoanType.builder().loanTypeID(1L).name("LIBRE").build();
+    private final LoanType vivienda = LoanType.builder().loanTypeID(2L).name("VIVIENDA").build();
+
+    @BeforeEach
+    void setUp() {
+        delegate = Mockito.mock(LoanTypeRepository.class);
+        snapshot = new ReferenceDataSnapshot<>("loan_type", LoanType::getLoanTypeID);
+        repository = new SnapshotLoanTypeRepository(delegate, snapshot);
+    }
+
+    @Test
+    void sinCarga_DelegaEnLaBd() {
+        when(delegate.findById(1L)).thenReturn(Mono.just(libre));
+
+        StepVerifier.create(repository.findById(1L))
+                .expectNext(libre)
+                .verifyComplete();
+        verify(delegate).findById(1L);
+    }
+
+    @Test
+    void conCarga_ResuelveSinConsultarYReutilizaElMono() {
+        snapshot.refresh(Flux.just(libre, vivienda)).block();
+
+        Mono<LoanType> first = repository.findById(2L);
+        StepVerifier.create(first)
+                .expectNext(vivienda)
+                .verifyComplete();
+        StepVerifier.create(repository.findAll())
+                .expectNext(libre, vivienda)
+                .verifyComplete();
+        StepVerifier.create(repository.existsById(1L))
+                .expectNext(true)
+                .verifyComplete();
+
+        assertSame(first, repository.findById(2L));
+        verify(delegate, never()).findById(any());
+        verify(delegate, never()).findAll();
+    }
+
+    @Test
+    void idAusente_ConsultaLaBd() {
+        snapshot.refresh(Flux.just(libre)).block();
+        when(delegate.findById(9L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(repository.findById(9L))
+                .verifyComplete();
+        verify(delegate).findById(9L);
+    }
+
+    @Test
+    void save_RecargaLaCopia() {
+        snapshot.refresh(Flux.just(libre)).block();
+        when(delegate.save(vivienda)).thenReturn(Mono.just(vivienda));
+        when(delegate.findAll()).thenReturn(Flux.just(libre, vivienda));
+
+        StepVerifier.create(repository.save(vivienda))
+                .expectNext(vivienda)
+                .verifyComplete();
+
+        StepVerifier.create(repository.findById(2L))
+                .expectNext(vivienda)
+                .verifyComplete();
+        verify(delegate, never()).findById(any());
+    }
+
+    @Test
+    void errorAlRecargar_ConservaLaCopiaAnterior() {
+        snapshot.refresh(Flux.just(libre)).block();
+
+        StepVerifier.create(snapshot.refreshNow(() -> Flux.error(new IllegalStateException("bd caída"))))
+                .verifyComplete();
+
+        StepVerifier.create(repository.findById(1L))
+                .expectNext(libre)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,90 @@
+package co.com.pragma.solicitudes.r2dbc.replica;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReplicaLagMonitorTest {
+
+    @Test
+    void retrasoDentroDelMaximo_Sana() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaReporting(2L, true), Duration.ofSeconds(5));
+
+        StepVerifier.create(monitor.check()).expectNext(true).verifyComplete();
+        assertTrue(monitor.isHealthy());
+    }
+
+    @Test
+    void retrasoMayorAlMaximo_NoSana() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaReporting(30L, true), Duration.ofSeconds(5));
+
+        StepVerifier.create(monitor.check()).expectNext(false).verifyComplete();
+        assertFalse(monitor.isHealthy());
+    }
+
+    @Test
+    void replicacionDetenida_NoSana() {
+        // Seconds_Behind_Master NULL: el hilo SQL no corre
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaReporting(null, true), Duration.ofSeconds(5));
+
+        StepVerifier.create(monitor.check()).expectNext(false).verifyComplete();
+        assertFalse(monitor.isHealthy());
+    }
+
+    @Test
+    void sinEstadoDeReplicacion_NoSana() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaReporting(null, false), Duration.ofSeconds(5));
+
+        StepVerifier.create(monitor.check()).expectNext(false).verifyComplete();
+        assertFalse(monitor.isHealthy());
+    }
+
+    @Test
+    void fallaDeConexion_SacaDeServicio() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaReporting(0L, true), Duration.ofSeconds(5));
+        monitor.check().block();
+        assertTrue(monitor.isHealthy());
+
+        monitor.markUnhealthy(new IllegalStateException("réplica caída"));
+
+        assertFalse(monitor.isHealthy());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ConnectionFactory replicaReporting(Long lagSeconds, boolean hasStatus) {
+        Row row = mock(Row.class);
+        RowMetadata metadata = mock(RowMetadata.class);
+        when(metadata.contains(anyString())).thenReturn(false);
+        when(row.get("Seconds_Behind_Master", Long.class)).thenReturn(lagSeconds);
+
+        Result result = mock(Result.class);
+        when(result.map(any(BiFunction.class))).thenAnswer(inv -> {
+            BiFunction<Row, RowMetadata, ?> mapper = inv.getArgument(0);
+            return hasStatus ? Flux.just(mapper.apply(row, metadata)) : Flux.empty();
+        });
+        Statement statement = mock(Statement.class);
+        when(statement.execute()).thenReturn((Flux) Flux.just(result));
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement(ReplicaLagMonitor.SQL_REPLICA_STATUS)).thenReturn(statement);
+        when(connection.close()).thenReturn((Mono) Mono.empty());
+        ConnectionFactory factory = mock(ConnectionFactory.class);
+        when(factory.create()).thenReturn((Mono) Mono.just(connection));
+        return factory;
+    }
+}
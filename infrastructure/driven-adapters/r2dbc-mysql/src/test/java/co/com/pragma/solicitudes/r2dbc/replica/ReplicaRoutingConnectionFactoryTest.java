@@ -0,0 +1,75 @@
+package co.com.pragma.solicitudes.r2dbc.replica;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingConnectionFactoryTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private ConnectionFactory primary;
+    private ConnectionPool replica;
+    private ReplicaLagMonitor monitor;
+    private ReplicaRoutingConnectionFactory routing;
+
+    @BeforeEach
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void setUp() {
+        primary = mock(ConnectionFactory.class);
+        replica = mock(ConnectionPool.class);
+        monitor = mock(ReplicaLagMonitor.class);
+        when(primary.create()).thenReturn((Mono) Mono.just(primaryConnection));
+        when(replica.create()).thenReturn(Mono.just(replicaConnection));
+        routing = new ReplicaRoutingConnectionFactory(primary, replica, monitor);
+    }
+
+    @Test
+    void sinMarca_VaAlPrimario() {
+        when(monitor.isHealthy()).thenReturn(true);
+
+        StepVerifier.create(routing.create())
+                .expectNext(primaryConnection)
+                .verifyComplete();
+        verify(replica, never()).create();
+    }
+
+    @Test
+    void lecturaMarcadaConReplicaSana_VaALaReplica() {
+        when(monitor.isHealthy()).thenReturn(true);
+
+        StepVerifier.create(ReplicaRouting.onReplica(Flux.from(routing.create())))
+                .expectNext(replicaConnection)
+                .verifyComplete();
+        verify(primary, never()).create();
+    }
+
+    @Test
+    void lecturaMarcadaConReplicaAtrasada_VaAlPrimario() {
+        when(monitor.isHealthy()).thenReturn(false);
+
+        StepVerifier.create(ReplicaRouting.onReplica(Flux.from(routing.create())))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+        verify(replica, never()).create();
+    }
+
+    @Test
+    void replicaSinConexion_CaeAlPrimarioYLaSacaDeServicio() {
+        when(monitor.isHealthy()).thenReturn(true);
+        when(replica.create()).thenReturn(Mono.error(new IllegalStateException("réplica caída")));
+
+        StepVerifier.create(ReplicaRouting.onReplica(Flux.from(routing.create())))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+        verify(monitor).markUnhealthy(any(IllegalStateException.class));
+    }
+}
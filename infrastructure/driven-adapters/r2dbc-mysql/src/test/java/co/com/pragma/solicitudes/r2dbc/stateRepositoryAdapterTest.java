@@ -6,11 +6,16 @@ import co.com.pragma.solicitudes.r2dbc.mapper.StateMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.function.BiFunction;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 /**
@@ -21,16 +26,19 @@ class stateRepositoryAdapterTest {
 
     private IStateReactiveRepository reactiveRepository; // Mock del repositorio reactivo
     private StateMapper mapper;                           // Mock del mapper Dominio ↔ Entidad
+    private DatabaseClient databaseClient;
     private StateRepositoryAdapter adapter;               // Adapter que vamos a probar
+    private RowsFetchSpec<State> rows;
 
     @BeforeEach
     void setup() {
         // Creamos mocks
         reactiveRepository = Mockito.mock(IStateReactiveRepository.class);
         mapper = Mockito.mock(StateMapper.class);
+        databaseClient = Mockito.mock(DatabaseClient.class);
 
         // Inicializamos el adapter con los mocks
-        adapter = new StateRepositoryAdapter(reactiveRepository, mapper);
+        adapter = new StateRepositoryAdapter(reactiveRepository, mapper, databaseClient);
     }
 
     @Test
@@ -53,8 +61,8 @@ class stateRepositoryAdapterTest {
         State state = new State();
 
         // Configuramos los mocks
-        when(reactiveRepository.findAll()).thenReturn(Flux.just(new StateEntity())); // Repositorio devuelve Flux<Entidad>
-        when(mapper.toModel(any())).thenReturn(state); // Mapper convierte a dominio
+        stubQuery(StateRepositoryAdapter.SQL_SELECT);    // Lectura directa fila → dominio
+        when(rows.all()).thenReturn(Flux.just(state));
 
         StepVerifier.create(adapter.findAll())   // Probamos el método findAll
                 .expectNext(state)             // Verificamos que devuelva el objeto dominio
@@ -66,11 +74,22 @@ class stateRepositoryAdapterTest {
         State state = new State();
 
         // Mock del repositorio y del mapper
-        when(reactiveRepository.findById(1L)).thenReturn(Mono.just(new StateEntity()));
-        when(mapper.toModel(any())).thenReturn(state);
+        stubQuery(StateRepositoryAdapter.SQL_FIND_BY_ID);
+        when(rows.one()).thenReturn(Mono.just(state));
 
         StepVerifier.create(adapter.findById(1L)) // Probamos findById
                 .expectNext(state)               // Verificamos que retorne el objeto dominio
                 .verifyComplete();
     }
+
+    // Simula DatabaseClient: sql → bind → map → RowsFetchSpec
+    @SuppressWarnings("unchecked")
+    private DatabaseClient.GenericExecuteSpec stubQuery(String sql) {
+        DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class);
+        rows = mock(RowsFetchSpec.class);
+        when(databaseClient.sql(sql)).thenReturn(spec);
+        when(spec.bind(anyString(), any())).thenReturn(spec);
+        when(spec.map(any(BiFunction.class))).thenReturn(rows);
+        return spec;
+    }
 }
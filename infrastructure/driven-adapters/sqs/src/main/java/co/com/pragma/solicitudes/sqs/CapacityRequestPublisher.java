@@ -2,43 +2,49 @@ package co.com.pragma.solicitudes.sqs;
 
 import co.com.pragma.solicitudes.model.capacity.CapacityRequestEvent;
 import co.com.pragma.solicitudes.model.capacity.gateways.ValidationPublisher;
+import co.com.pragma.solicitudes.sqs.config.SqsBatchProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
-import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
-import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
-import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 
+import java.util.List;
+
+/**
+ * Publica solicitudes de validación de capacidad. Los mensajes salen en micro-lotes
+ * de SendMessageBatch ({@link SqsBatchSender}); cada llamador recibe su propio resultado.
+ * Si la cola es FIFO (URL .fifo) cada mensaje lleva grupo por solicitud y deduplicación por
+ * eventId, igual que {@link DecisionSqsPublisher}.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class CapacityRequestPublisher implements ValidationPublisher {
+public class CapacityRequestPublisher implements ValidationPublisher, InitializingBean, DisposableBean {
 
     private final ObjectMapper objectMapper;
-
-    @Value("${aws.region}")
-    private String awsRegion;
+    private final SqsAsyncClient sqsAsyncClient;   // compartido, ver SqsClientConfig
+    private final SqsBatchProperties batchProperties;
 
     @Value("${aws.sqs.capacity-req-url}")
     private String capacityReqQueueUrl;
 
-    @Value("${aws.credentials.access-key}")
-    private String accessKey;
+    private SqsBatchSender batchSender;
+    private boolean fifo;
 
-    @Value("${aws.credentials.secret-key}")
-    private String secretKey;
+    @Override
+    public void afterPropertiesSet() {
+        fifo = capacityReqQueueUrl != null && capacityReqQueueUrl.endsWith(".fifo");
+        batchSender = new SqsBatchSender(sqsAsyncClient, capacityReqQueueUrl, batchProperties);
+    }
 
-    private SqsAsyncClient client() {
-        return SqsAsyncClient.builder()
-                .region(Region.of(awsRegion))
-                .credentialsProvider(StaticCredentialsProvider.create(
-                        AwsBasicCredentials.create(accessKey, secretKey)))
-                .build();
+    @Override
+    public void destroy() {
+        batchSender.close();
     }
 
     @Override
@@ -47,14 +53,24 @@ public class CapacityRequestPublisher implements ValidationPublisher {
                 .flatMap(body -> {
                     log.info("SQS-REQ: Enviando validación idApp={} bytes={} queue={}",
                             event.getIdApplication(), body.length(), capacityReqQueueUrl);
-                    return Mono.fromFuture(client().sendMessage(
-                            SendMessageRequest.builder()
-                                    .queueUrl(capacityReqQueueUrl)
-                                    .messageBody(body)
-                                    .build()));
+                    String groupId = fifo ? "application-" + event.getIdApplication() : null;
+                    String deduplicationId = fifo ? event.getEventId() : null;
+                    return batchSender.send(body, groupId, deduplicationId);
                 })
-                .doOnNext(resp -> log.info("SQS-REQ: messageId={}", resp.messageId()))
+                .doOnNext(messageId -> log.info("SQS-REQ: messageId={}", messageId))
                 .doOnError(err -> log.error("SQS-REQ ERROR idApp={}: {}", event.getIdApplication(), err.toString()))
                 .then();
     }
+
+    /**
+     * Encola todos los eventos a la vez para que compartan lotes (hasta 10 por SendMessageBatch).
+     * Espera el resultado de cada uno; si alguno falla, el Mono termina en error.
+     */
+    @Override
+    public Mono<Void> publishAll(List<CapacityRequestEvent> events) {
+        if (events.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.whenDelayError(events.stream().map(this::publish).toList());
+    }
 }
@@ -9,7 +9,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
-import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
@@ -21,14 +20,11 @@ public class CapacityResultConsumer {
 
     private final ObjectMapper objectMapper;
     private final ApplicationUseCase applicationUseCase;
+    private final SqsAsyncClient client;   // compartido, ver SqsClientConfig
 
     @Value("${aws.sqs.capacity-res-url}")
     private String capacityResQueueUrl;
 
-    private final SqsAsyncClient client = SqsAsyncClient.builder()
-            .credentialsProvider(DefaultCredentialsProvider.create())
-            .build();
-
     @Scheduled(fixedDelay = 5000)
     public void poll() {
         client.receiveMessage(ReceiveMessageRequest.builder()
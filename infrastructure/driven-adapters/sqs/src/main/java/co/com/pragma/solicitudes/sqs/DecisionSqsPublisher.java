@@ -3,32 +3,40 @@ package co.com.pragma.solicitudes.sqs;
 import co.com.pragma.solicitudes.model.applicationdecisionevent.ApplicationDecisionEvent;
 import co.com.pragma.solicitudes.model.applicationdecisionevent.gateways.DecisionPublisher;
 import co.com.pragma.solicitudes.model.constants.ApplicationConstants;
+import co.com.pragma.solicitudes.sqs.config.SqsBatchProperties;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
-import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
-import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
-import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+import java.util.List;
 
 /**
  * Publicador de eventos en Amazon SQS.
  * Implementa el puerto DecisionPublisher definido en el dominio.
- * Usa AWS SDK v2 (cliente asíncrono) para enviar mensajes en formato JSON.
+ * Usa el SqsAsyncClient compartido del módulo (SqsClientConfig) para enviar mensajes en formato JSON,
+ * agrupados en micro-lotes de SendMessageBatch por {@link SqsBatchSender}.
  */
 @Slf4j // Habilita logging usando Lombok.
 @Component // Spring lo detecta como un bean gestionado.
 @RequiredArgsConstructor // Genera constructor con todos los atributos finales.
-public class DecisionSqsPublisher implements DecisionPublisher {
+public class DecisionSqsPublisher implements DecisionPublisher, InitializingBean, DisposableBean {
 
     // Jackson para serializar los eventos a JSON antes de enviarlos a SQS.
     private final ObjectMapper objectMapper;
 
+    // Cliente SQS compartido: conexiones y credenciales se reutilizan entre publicaciones.
+    private final SqsAsyncClient sqsAsyncClient;
+
+    // Tamaño de lote, linger y reintentos de los micro-lotes.
+    private final SqsBatchProperties batchProperties;
+
     // Región de AWS donde se encuentra la cola. Se inyecta desde application.yml.
     @Value("${aws.region}")
     private String awsRegion;
@@ -41,31 +49,33 @@ public class DecisionSqsPublisher implements DecisionPublisher {
     @Value("${aws.sqs.fifo:false}")
     private boolean fifo;
 
-    // Clave pública de AWS. Se inyecta desde application.yml.
-    @Value("${aws.credentials.access-key}")
-    private String accessKey;
+    // Agrupa las publicaciones en SendMessageBatch; se crea cuando ya se inyectó la URL de la cola.
+    private SqsBatchSender batchSender;
 
-    // Clave privada de AWS. También se inyecta desde application.yml.
-    @Value("${aws.credentials.secret-key}")
-    private String secretKey;
+    // Inconsistencia entre aws.sqs.fifo y la URL, detectada una vez al iniciar; null si la configuración es válida.
+    private IllegalStateException configError;
 
     /**
-     * Crea una instancia del cliente asíncrono de Amazon SQS.
-     * Usa la región y credenciales configuradas en el application.yml.
-     * Podríamos extraerlo a un @Bean para reutilizarlo y optimizar recursos.
+     * Revisa la configuración de SQS una sola vez, al crear el bean. Si fifo no coincide con la URL
+     * se registra el error y cada publicación falla de inmediato, sin volver a revisar ni loguear.
      */
-    private SqsAsyncClient client() {
-        return SqsAsyncClient.builder()
-                .region(Region.of(awsRegion)) // Especificamos la región de AWS.
-                .credentialsProvider(
-                        StaticCredentialsProvider.create(
-                                AwsBasicCredentials.create(
-                                        accessKey, // Access Key
-                                        secretKey  // Secret Key
-                                )
-                        )
-                )
-                .build(); // Construimos el cliente SQS.
+    @Override
+    public void afterPropertiesSet() {
+        log.info("SQS config: region={}, url={}, fifo={}", awsRegion, decisionQueueUrl, fifo);
+
+        // Detectamos si la URL apunta a una cola FIFO y validamos que coincida con la configuración.
+        boolean urlIsFifo = decisionQueueUrl != null && decisionQueueUrl.endsWith(".fifo");
+        if (urlIsFifo != fifo) {
+            configError = new IllegalStateException("Inconsistencia SQS FIFO: url=" + decisionQueueUrl + " fifo=" + fifo);
+            log.error(configError.getMessage());
+        }
+        batchSender = new SqsBatchSender(sqsAsyncClient, decisionQueueUrl, batchProperties);
+    }
+
+    @Override
+    public void destroy() {
+        // Envía lo que quede en el buffer antes de cerrar.
+        batchSender.close();
     }
 
     /**
@@ -75,44 +85,28 @@ public class DecisionSqsPublisher implements DecisionPublisher {
      */
     @Override
     public Mono<Void> publish(ApplicationDecisionEvent event) {
-        // Logueamos la configuración actual de SQS para depuración.
-        log.info("SQS config: region={}, url={}, fifo={}", awsRegion, decisionQueueUrl, fifo);
-
-        // Detectamos si la URL apunta a una cola FIFO.
-        boolean urlIsFifo = decisionQueueUrl != null && decisionQueueUrl.endsWith(".fifo");
-
-        // Validamos que la configuración de FIFO coincida con la URL.
-        if (urlIsFifo != fifo) {
-            String msg = "Inconsistencia SQS FIFO: url=" + decisionQueueUrl + " fifo=" + fifo;
-            log.error(msg);
-            // Si hay inconsistencia, lanzamos un error y no publicamos nada.
-            return Mono.error(new IllegalStateException(msg));
+        // Configuración inconsistente (ver afterPropertiesSet): no publicamos nada.
+        if (configError != null) {
+            return Mono.error(configError);
         }
 
         // Convertimos el evento a JSON de forma reactiva.
         return Mono.fromCallable(() -> objectMapper.writeValueAsString(event))
 
                 .flatMap(body -> {
-                    // Construimos la solicitud para enviar el mensaje.
-                    SendMessageRequest.Builder builder = SendMessageRequest.builder()
-                            .queueUrl(decisionQueueUrl)  // Cola destino.
-                            .messageBody(body);          // Payload JSON.
-
                     // Si la cola es FIFO, configuramos deduplicación y grupo de mensajes.
-                    if (fifo) {
-                        builder.messageGroupId("application-" + event.getIdApplication()) // Agrupamos por aplicación.
-                                .messageDeduplicationId(event.getEventId()); // Evitamos duplicados usando eventId.
-                    }
+                    String groupId = fifo ? "application-" + event.getIdApplication() : null; // Agrupamos por aplicación.
+                    String deduplicationId = fifo ? event.getEventId() : null; // Evitamos duplicados usando eventId.
 
                     // Logueamos la publicación.
                     log.info(ApplicationConstants.LOG_SQS_PUBLISHING,
                             event.getIdApplication(), event.getDecision(), event.getCorrelationId());
 
-                    // Enviamos el mensaje a SQS de forma asíncrona.
-                    return Mono.fromFuture(client().sendMessage(builder.build()))
+                    // Encolamos el mensaje en el próximo lote; el Mono recibe el resultado de esta entrada.
+                    return batchSender.send(body, groupId, deduplicationId)
                             // Si es exitoso, logueamos el ID de mensaje devuelto por SQS.
-                            .doOnNext(resp -> log.info(ApplicationConstants.LOG_SQS_PUBLISHED,
-                                    event.getIdApplication(), resp.messageId()))
+                            .doOnNext(messageId -> log.info(ApplicationConstants.LOG_SQS_PUBLISHED,
+                                    event.getIdApplication(), messageId))
                             // Retornamos un Mono<Void> ya que no necesitamos devolver datos.
                             .then();
                 })
@@ -127,4 +121,16 @@ public class DecisionSqsPublisher implements DecisionPublisher {
                     return Mono.error(ex);
                 });
     }
+
+    /**
+     * Encola todos los eventos a la vez para que compartan lotes, en el orden recibido.
+     * Espera el resultado de cada uno; si alguno falla, el Mono termina en error.
+     */
+    @Override
+    public Mono<Void> publishAll(List<ApplicationDecisionEvent> events) {
+        if (events.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.whenDelayError(events.stream().map(this::publish).toList());
+    }
 }
\ No newline at end of file
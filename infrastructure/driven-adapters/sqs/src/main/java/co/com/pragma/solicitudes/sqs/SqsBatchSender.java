@@ -0,0 +1,217 @@
+package co.com.pragma.solicitudes.sqs;
+
+import co.com.pragma.solicitudes.sqs.config.SqsBatchProperties;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agrupa los envíos a una cola en SendMessageBatch: un lote sale al juntar maxBatchSize
+ * mensajes o al cumplirse linger desde el primero, lo que ocurra antes.
+ *
+ * Cada llamador recibe su propio resultado (messageId o error). Las entradas que SQS
+ * rechaza por causas transitorias (senderFault=false) o un fallo de la llamada completa
+ * se reintentan solas, sin reenviar las que ya salieron; las rechazadas por el contenido
+ * (senderFault=true) fallan de inmediato.
+ *
+ * Colas FIFO (URL terminada en .fifo): los ids de grupo y deduplicación viajan en cada entrada,
+ * sale un lote a la vez (los reintentos incluidos) y, si una entrada se reintenta, las
+ * posteriores de su mismo grupo en ese lote se reenvían con ella en lugar de confirmarse antes.
+ * El id de deduplicación evita que ese reenvío duplique mensajes ya aceptados.
+ */
+@Slf4j
+public class SqsBatchSender implements AutoCloseable {
+
+    static final int SQS_MAX_BATCH = 10;
+
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final SqsAsyncClient client;
+    private final String queueUrl;
+    private final SqsBatchProperties properties;
+    private final boolean fifo;
+    private final Sinks.Many<Pending> queue = Sinks.many().unicast().onBackpressureBuffer();
+    private final Set<Pending> unresolved = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private final Disposable pipeline;
+
+    public SqsBatchSender(SqsAsyncClient client, String queueUrl, SqsBatchProperties properties) {
+        this.client = client;
+        this.queueUrl = queueUrl;
+        this.properties = properties;
+        this.fifo = queueUrl != null && queueUrl.endsWith(".fifo");
+        // En FIFO un solo lote en vuelo: lotes concurrentes podrían llegar desordenados dentro de un grupo
+        int inFlight = fifo ? 1 : Math.max(1, properties.maxInFlight());
+        int batchSize = Math.max(1, Math.min(properties.maxBatchSize(), SQS_MAX_BATCH));
+        this.pipeline = queue.asFlux()
+                // fairBackpressure: si todos los lotes en vuelo siguen ocupados, el buffer espera en lugar de fallar
+                .bufferTimeout(batchSize, properties.linger(), true)
+                .flatMap(batch -> sendBatch(batch, 1), inFlight)
+                .doFinally(signal -> {
+                    failUnresolved(new IllegalStateException("SQS-BATCH: envío a " + queueUrl + " terminado (" + signal + ")"));
+                    terminated.countDown();
+                })
+                .subscribe(null, err -> log.error("SQS-BATCH ERROR pipeline {}: {}", queueUrl, err.toString()));
+    }
+
+    /**
+     * Encola un mensaje para el próximo lote.
+     *
+     * @param groupId         MessageGroupId (solo colas FIFO; null en colas estándar)
+     * @param deduplicationId MessageDeduplicationId (solo colas FIFO; null en colas estándar)
+     * @return messageId asignado por SQS
+     */
+    public Mono<String> send(String body, String groupId, String deduplicationId) {
+        return Mono.defer(() -> {
+            Pending pending = new Pending(body, groupId, deduplicationId, Sinks.one());
+            unresolved.add(pending);
+            Sinks.EmitResult result;
+            // Publican varios hilos a la vez y el sink exige emisiones serializadas
+            synchronized (queue) {
+                result = queue.tryEmitNext(pending);
+            }
+            if (result.isFailure()) {
+                unresolved.remove(pending);
+                return Mono.error(new IllegalStateException("SQS-BATCH: cola " + queueUrl + " cerrada (" + result + ")"));
+            }
+            return pending.result().asMono();
+        });
+    }
+
+    private Mono<Void> sendBatch(List<Pending> batch, int attempt) {
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            entries.add(toEntry(i, batch.get(i)));
+        }
+        return Mono.fromFuture(() -> client.sendMessageBatch(SendMessageBatchRequest.builder()
+                        .queueUrl(queueUrl)
+                        .entries(entries)
+                        .build()))
+                .map(resp -> resolve(batch, resp, attempt))
+                .onErrorResume(err -> {
+                    // Falló la llamada completa: cuentan como fallidas todas las entradas del lote
+                    log.warn("SQS-BATCH ERROR lote de {} intento={}: {}", batch.size(), attempt, err.toString());
+                    if (attempt >= properties.maxAttempts()) {
+                        batch.forEach(pending -> fail(pending, err));
+                        return Mono.just(List.of());
+                    }
+                    return Mono.just(batch);
+                })
+                .flatMap(retry -> {
+                    if (retry.isEmpty()) {
+                        return Mono.<Void>empty();
+                    }
+                    log.info("SQS-BATCH: reintentando {} de {} entradas intento={}", retry.size(), batch.size(), attempt + 1);
+                    return Mono.delay(properties.retryBackoff().multipliedBy(attempt))
+                            .then(sendBatch(retry, attempt + 1));
+                });
+    }
+
+    /**
+     * Resuelve las entradas en el orden del lote y devuelve las que hay que reenviar. En FIFO,
+     * desde la primera entrada reintentable de un grupo, las siguientes del mismo grupo se
+     * reenvían con ella aunque SQS las haya aceptado.
+     */
+    private List<Pending> resolve(List<Pending> batch, SendMessageBatchResponse resp, int attempt) {
+        Map<String, String> accepted = new HashMap<>();
+        for (SendMessageBatchResultEntry ok : resp.successful()) {
+            accepted.put(ok.id(), ok.messageId());
+        }
+        Map<String, BatchResultErrorEntry> rejected = new HashMap<>();
+        for (BatchResultErrorEntry failed : resp.failed()) {
+            rejected.put(failed.id(), failed);
+        }
+
+        List<Pending> retry = new ArrayList<>();
+        Set<String> heldGroups = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Pending pending = batch.get(i);
+            String id = String.valueOf(i);
+            BatchResultErrorEntry failed = rejected.get(id);
+            if (failed != null) {
+                if (Boolean.TRUE.equals(failed.senderFault()) || attempt >= properties.maxAttempts()) {
+                    fail(pending, new IllegalStateException(
+                            "SQS-BATCH: entrada rechazada " + failed.code() + " " + failed.message()));
+                } else {
+                    retry.add(pending);
+                    if (fifo && pending.groupId() != null) {
+                        heldGroups.add(pending.groupId());
+                    }
+                }
+            } else if (pending.groupId() != null && heldGroups.contains(pending.groupId())) {
+                retry.add(pending);
+            } else if (accepted.containsKey(id)) {
+                succeed(pending, accepted.get(id));
+            } else {
+                fail(pending, new IllegalStateException("SQS-BATCH: entrada sin resultado en la respuesta"));
+            }
+        }
+        return retry;
+    }
+
+    private void succeed(Pending pending, String messageId) {
+        unresolved.remove(pending);
+        pending.result().tryEmitValue(messageId);
+    }
+
+    private void fail(Pending pending, Throwable error) {
+        unresolved.remove(pending);
+        pending.result().tryEmitError(error);
+    }
+
+    /** Ningún llamador queda esperando si el pipeline termina con mensajes todavía sin resultado. */
+    private void failUnresolved(Throwable error) {
+        for (Pending pending : List.copyOf(unresolved)) {
+            fail(pending, error);
+        }
+    }
+
+    private static SendMessageBatchRequestEntry toEntry(int index, Pending pending) {
+        return SendMessageBatchRequestEntry.builder()
+                .id(String.valueOf(index))
+                .messageBody(pending.body())
+                .messageGroupId(pending.groupId())
+                .messageDeduplicationId(pending.deduplicationId())
+                .build();
+    }
+
+    /**
+     * Deja de aceptar mensajes y espera a que salgan los ya encolados.
+     */
+    @Override
+    public void close() {
+        synchronized (queue) {
+            queue.tryEmitComplete();
+        }
+        try {
+            if (!terminated.await(CLOSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("SQS-BATCH: quedaron mensajes sin enviar al cerrar {}", queueUrl);
+                pipeline.dispose();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pipeline.dispose();
+        }
+    }
+
+    private record Pending(String body, String groupId, String deduplicationId, Sinks.One<String> result) {
+    }
+}
@@ -0,0 +1,24 @@
+package co.com.pragma.solicitudes.sqs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Micro-lotes de SendMessageBatch de los publicadores SQS.
+ *
+ * @param linger       espera máxima de un mensaje antes de enviar un lote incompleto
+ * @param maxBatchSize mensajes por lote (SQS admite hasta 10)
+ * @param maxInFlight  lotes enviándose a la vez por cola
+ * @param maxAttempts  intentos por mensaje; solo se reintentan las entradas fallidas
+ * @param retryBackoff espera base entre intentos (crece con cada intento)
+ */
+@ConfigurationProperties(prefix = "aws.sqs.batch")
+public record SqsBatchProperties(
+        @DefaultValue("20ms") Duration linger,
+        @DefaultValue("10") int maxBatchSize,
+        @DefaultValue("4") int maxInFlight,
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("100ms") Duration retryBackoff) {
+}
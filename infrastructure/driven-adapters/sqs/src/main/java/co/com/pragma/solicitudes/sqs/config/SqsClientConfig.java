@@ -0,0 +1,77 @@
+package co.com.pragma.solicitudes.sqs.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClientBuilder;
+
+/**
+ * Un único SqsAsyncClient para todo el módulo (publicadores y consumidor): un event loop,
+ * un pool de conexiones reutilizadas (sin TLS por mensaje) y credenciales resueltas una vez.
+ * El cliente es dueño del cliente HTTP y lo cierra al cerrarse el contexto.
+ */
+@Configuration
+public class SqsClientConfig {
+
+    /**
+     * Claves de aws.credentials si están configuradas; si no, la cadena por defecto del SDK
+     * (variables de entorno, perfil, rol de la instancia), que cachea y renueva las credenciales.
+     */
+    @Bean
+    public AwsCredentialsProvider sqsCredentialsProvider(
+            @Value("${aws.credentials.access-key:}") String accessKey,
+            @Value("${aws.credentials.secret-key:}") String secretKey) {
+        return credentialsProvider(accessKey, secretKey);
+    }
+
+    @Bean(destroyMethod = "close")
+    public SqsAsyncClient sqsAsyncClient(SqsClientProperties properties,
+                                         AwsCredentialsProvider sqsCredentialsProvider,
+                                         @Value("${aws.region}") String region) {
+        return clientBuilder(properties, sqsCredentialsProvider, region).build();
+    }
+
+    static AwsCredentialsProvider credentialsProvider(String accessKey, String secretKey) {
+        if (accessKey == null || accessKey.isBlank() || secretKey == null || secretKey.isBlank()) {
+            return DefaultCredentialsProvider.builder().build();
+        }
+        return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+    }
+
+    static SqsAsyncClientBuilder clientBuilder(SqsClientProperties properties,
+                                               AwsCredentialsProvider credentialsProvider,
+                                               String region) {
+        SqsAsyncClientBuilder builder = SqsAsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider)
+                .httpClientBuilder(httpClientBuilder(properties));
+        if (properties.endpoint() != null) {
+            builder.endpointOverride(properties.endpoint());
+        }
+        return builder;
+    }
+
+    static NettyNioAsyncHttpClient.Builder httpClientBuilder(SqsClientProperties properties) {
+        NettyNioAsyncHttpClient.Builder builder = NettyNioAsyncHttpClient.builder()
+                .maxConcurrency(properties.maxConcurrency())
+                .maxPendingConnectionAcquires(properties.maxPendingAcquires())
+                .connectionTimeout(properties.connectionTimeout())
+                .connectionAcquisitionTimeout(properties.acquisitionTimeout())
+                .readTimeout(properties.readTimeout())
+                .connectionMaxIdleTime(properties.connectionMaxIdleTime())
+                .tcpKeepAlive(true);
+        if (properties.eventLoopThreads() > 0) {
+            builder.eventLoopGroupBuilder(SdkEventLoopGroup.builder()
+                    .numberOfThreads(properties.eventLoopThreads()));
+        }
+        return builder;
+    }
+}
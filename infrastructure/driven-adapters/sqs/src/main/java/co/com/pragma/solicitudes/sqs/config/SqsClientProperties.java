@@ -0,0 +1,31 @@
+package co.com.pragma.solicitudes.sqs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Cliente HTTP (Netty) del SqsAsyncClient compartido.
+ *
+ * @param maxConcurrency        conexiones abiertas como máximo hacia SQS
+ * @param maxPendingAcquires    peticiones en espera de conexión antes de fallar
+ * @param connectionTimeout     tiempo máximo para abrir una conexión (incluye TLS)
+ * @param acquisitionTimeout    espera máxima por una conexión libre del pool
+ * @param readTimeout           tiempo de lectura; debe superar el long polling de ReceiveMessage
+ * @param connectionMaxIdleTime tiempo que una conexión ociosa sigue abierta para reutilizarse
+ * @param eventLoopThreads      hilos del event loop de Netty (0 = valor por defecto del SDK)
+ * @param endpoint              endpoint alternativo (p. ej. LocalStack); vacío para AWS
+ */
+@ConfigurationProperties(prefix = "aws.sqs.client")
+public record SqsClientProperties(
+        @DefaultValue("50") int maxConcurrency,
+        @DefaultValue("10000") int maxPendingAcquires,
+        @DefaultValue("2s") Duration connectionTimeout,
+        @DefaultValue("10s") Duration acquisitionTimeout,
+        @DefaultValue("30s") Duration readTimeout,
+        @DefaultValue("60s") Duration connectionMaxIdleTime,
+        @DefaultValue("0") int eventLoopThreads,
+        URI endpoint) {
+}
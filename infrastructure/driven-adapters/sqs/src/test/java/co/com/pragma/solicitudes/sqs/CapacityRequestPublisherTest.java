@@ -0,0 +1,90 @@
+package co.com.pragma.solicitudes.sqs;
+
+import co.com.pragma.solicitudes.model.capacity.CapacityRequestEvent;
+import co.com.pragma.solicitudes.sqs.config.SqsBatchProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * En una cola FIFO SQS rechaza las entradas sin MessageGroupId: el publicador debe derivarlos.
+ */
+class CapacityRequestPublisherTest {
+
+    private SqsAsyncClient client;
+    private CapacityRequestPublisher publisher;
+    private final List<SendMessageBatchRequest> requests = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        client = mock(SqsAsyncClient.class);
+        when(client.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(inv -> {
+            SendMessageBatchRequest request = inv.getArgument(0);
+            requests.add(request);
+            return CompletableFuture.completedFuture(SendMessageBatchResponse.builder()
+                    .successful(request.entries().stream()
+                            .map(e -> SendMessageBatchResultEntry.builder().id(e.id()).messageId("m-" + e.id()).build())
+                            .toList())
+                    .build());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.destroy();
+    }
+
+    @Test
+    void colaFifoAgrupaPorSolicitudYDeduplicaPorEventId() {
+        publisher = publisher("https://sqs.local/capacity-req.fifo");
+
+        StepVerifier.create(publisher.publish(event(7L, "evt-1")))
+                .verifyComplete();
+
+        SendMessageBatchRequestEntry entry = requests.get(0).entries().get(0);
+        assertEquals("application-7", entry.messageGroupId());
+        assertEquals("evt-1", entry.messageDeduplicationId());
+    }
+
+    @Test
+    void colaEstandarNoEnviaIdsFifo() {
+        publisher = publisher("https://sqs.local/capacity-req");
+
+        StepVerifier.create(publisher.publish(event(7L, "evt-1")))
+                .verifyComplete();
+
+        SendMessageBatchRequestEntry entry = requests.get(0).entries().get(0);
+        assertNull(entry.messageGroupId());
+        assertNull(entry.messageDeduplicationId());
+    }
+
+    private CapacityRequestPublisher publisher(String queueUrl) {
+        CapacityRequestPublisher created = new CapacityRequestPublisher(new ObjectMapper(), client,
+                new SqsBatchProperties(Duration.ofMillis(5), 10, 4, 3, Duration.ofMillis(1)));
+        ReflectionTestUtils.setField(created, "capacityReqQueueUrl", queueUrl);
+        created.afterPropertiesSet();
+        return created;
+    }
+
+    private static CapacityRequestEvent event(Long idApplication, String eventId) {
+        return CapacityRequestEvent.builder().eventId(eventId).idApplication(idApplication).build();
+    }
+}
@@ -0,0 +1,264 @@
+package co.com.pragma.solicitudes.sqs;
+
+import co.com.pragma.solicitudes.sqs.config.SqsBatchProperties;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SqsBatchSenderTest {
+
+    private static final String QUEUE = "https://sqs.local/queue.fifo";
+
+    private SqsAsyncClient client;
+    private SqsBatchSender sender;
+    private final List<SendMessageBatchRequest> requests = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        client = mock(SqsAsyncClient.class);
+        sender = new SqsBatchSender(client, QUEUE,
+                new SqsBatchProperties(Duration.ofMillis(50), 10, 4, 3, Duration.ofMillis(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sender.close();
+    }
+
+    @Test
+    void agrupaHastaDiezEntradasYDevuelveCadaMessageId() {
+        respond(req -> success(req.entries()));
+
+        List<String> ids = Flux.range(0, 12)
+                .flatMap(i -> sender.send("m" + i, null, null))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(12, ids.size());
+        assertEquals(2, requests.size());
+        assertEquals(10, requests.get(0).entries().size());
+        assertEquals(2, requests.get(1).entries().size());
+        assertTrue(ids.contains("id-m0") && ids.contains("id-m11"));
+    }
+
+    @Test
+    void loteIncompletoSaleAlCumplirseElLinger() {
+        respond(req -> success(req.entries()));
+
+        StepVerifier.create(sender.send("solo", null, null))
+                .expectNext("id-solo")
+                .verifyComplete();
+
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void reintentaSoloLasEntradasFallidas() {
+        respond(req -> requests.size() == 1
+                ? SendMessageBatchResponse.builder()
+                        .successful(ok(req.entries().get(0)))
+                        .failed(failed(req.entries().get(1), false))
+                        .build()
+                : success(req.entries()));
+
+        List<String> ids = Mono.zip(sender.send("a", null, null), sender.send("b", null, null),
+                        (a, b) -> List.of(a, b))
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(List.of("id-a", "id-b"), ids);
+        assertEquals(2, requests.size());
+        assertEquals(1, requests.get(1).entries().size());
+        assertEquals("b", requests.get(1).entries().get(0).messageBody());
+    }
+
+    @Test
+    void errorDelRemitenteNoSeReintenta() {
+        respond(req -> SendMessageBatchResponse.builder()
+                .failed(failed(req.entries().get(0), true))
+                .build());
+
+        StepVerifier.create(sender.send("invalido", null, null))
+                .expectErrorMatches(e -> e.getMessage().contains("InvalidMessageContents"))
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void falloDeLaLlamadaReintentaHastaMaxAttempts() {
+        when(client.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(inv -> {
+            requests.add(inv.getArgument(0));
+            return CompletableFuture.failedFuture(SqsException.builder().message("throttled").build());
+        });
+
+        StepVerifier.create(sender.send("x", null, null))
+                .expectErrorMatches(e -> e.getMessage().contains("throttled"))
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(3, requests.size());
+    }
+
+    @Test
+    void lotesEnEsperaNoFallanSiTodosLosEnviosEstanOcupados() {
+        sender.close();
+        sender = new SqsBatchSender(client, QUEUE,
+                new SqsBatchProperties(Duration.ofMillis(10), 10, 1, 3, Duration.ofMillis(1)));
+        CompletableFuture<SendMessageBatchResponse> stalled = new CompletableFuture<>();
+        when(client.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(inv -> {
+            SendMessageBatchRequest request = inv.getArgument(0);
+            requests.add(request);
+            return requests.size() == 1
+                    ? stalled.thenApply(ignored -> success(request.entries()))
+                    : CompletableFuture.completedFuture(success(request.entries()));
+        });
+
+        // El primer lote ocupa el único envío en vuelo y queda detenido
+        Mono<String> first = sender.send("primero", null, null).cache();
+        first.subscribe();
+        Awaitility.await().atMost(Duration.ofSeconds(2)).until(() -> requests.size() == 1);
+
+        // Mientras tanto se llenan lotes y vence el linger varias veces sin un envío libre
+        Mono<List<String>> rest = Flux.range(0, 15)
+                .flatMap(i -> sender.send("m" + i, null, null))
+                .collectList()
+                .cache();
+        rest.subscribe();
+        sleep(100);
+
+        stalled.complete(SendMessageBatchResponse.builder().build());
+
+        assertEquals("id-primero", first.block(Duration.ofSeconds(5)));
+        assertEquals(15, rest.block(Duration.ofSeconds(5)).size());
+        // Tras el atasco el envío sigue aceptando mensajes
+        assertEquals("id-despues", sender.send("despues", null, null).block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void colaFifoEnviaUnLoteALaVez() {
+        sender.close();
+        sender = new SqsBatchSender(client, QUEUE,
+                new SqsBatchProperties(Duration.ofMillis(10), 1, 4, 3, Duration.ofMillis(1)));
+        CompletableFuture<SendMessageBatchResponse> stalled = new CompletableFuture<>();
+        when(client.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(inv -> {
+            SendMessageBatchRequest request = inv.getArgument(0);
+            requests.add(request);
+            return requests.size() == 1
+                    ? stalled.thenApply(ignored -> success(request.entries()))
+                    : CompletableFuture.completedFuture(success(request.entries()));
+        });
+
+        Mono<List<String>> all = Flux.range(0, 3)
+                .flatMap(i -> sender.send("m" + i, "application-1", "evt-" + i))
+                .collectList()
+                .cache();
+        all.subscribe();
+        Awaitility.await().atMost(Duration.ofSeconds(2)).until(() -> requests.size() == 1);
+        sleep(100);
+
+        // Aunque maxInFlight=4, el segundo lote espera a que termine el primero
+        assertEquals(1, requests.size());
+
+        stalled.complete(SendMessageBatchResponse.builder().build());
+        assertEquals(3, all.block(Duration.ofSeconds(5)).size());
+        assertEquals(3, requests.size());
+    }
+
+    @Test
+    void colaFifoReenviaLasPosterioresDelMismoGrupoTrasUnFallo() {
+        respond(req -> requests.size() == 1
+                ? SendMessageBatchResponse.builder()
+                        .failed(failed(req.entries().get(0), false))
+                        .successful(ok(req.entries().get(1)), ok(req.entries().get(2)))
+                        .build()
+                : success(req.entries()));
+
+        List<String> ids = Flux.mergeSequential(
+                        sender.send("a", "application-1", "evt-a"),
+                        sender.send("b", "application-1", "evt-b"),
+                        sender.send("c", "application-2", "evt-c"))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(List.of("id-a", "id-b", "id-c"), ids);
+        assertEquals(2, requests.size());
+        // "b" no se confirma antes que "a": se reenvía detrás de ella; "c" es de otro grupo
+        List<SendMessageBatchRequestEntry> resent = requests.get(1).entries();
+        assertEquals(List.of("a", "b"), resent.stream().map(SendMessageBatchRequestEntry::messageBody).toList());
+        assertEquals("evt-b", resent.get(1).messageDeduplicationId());
+    }
+
+    @Test
+    void conservaGrupoYDeduplicacionFifo() {
+        respond(req -> success(req.entries()));
+
+        StepVerifier.create(sender.send("d", "application-7", "evt-1"))
+                .expectNext("id-d")
+                .verifyComplete();
+
+        ArgumentCaptor<SendMessageBatchRequest> captor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(client).sendMessageBatch(captor.capture());
+        SendMessageBatchRequestEntry entry = captor.getValue().entries().get(0);
+        assertEquals(QUEUE, captor.getValue().queueUrl());
+        assertEquals("application-7", entry.messageGroupId());
+        assertEquals("evt-1", entry.messageDeduplicationId());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void respond(Function<SendMessageBatchRequest, SendMessageBatchResponse> responder) {
+        when(client.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(inv -> {
+            SendMessageBatchRequest request = inv.getArgument(0);
+            requests.add(request);
+            return CompletableFuture.completedFuture(responder.apply(request));
+        });
+    }
+
+    private static SendMessageBatchResponse success(List<SendMessageBatchRequestEntry> entries) {
+        List<SendMessageBatchResultEntry> ok = new ArrayList<>();
+        entries.forEach(e -> ok.add(ok(e)));
+        return SendMessageBatchResponse.builder().successful(ok).build();
+    }
+
+    private static SendMessageBatchResultEntry ok(SendMessageBatchRequestEntry entry) {
+        return SendMessageBatchResultEntry.builder().id(entry.id()).messageId("id-" + entry.messageBody()).build();
+    }
+
+    private static BatchResultErrorEntry failed(SendMessageBatchRequestEntry entry, boolean senderFault) {
+        return BatchResultErrorEntry.builder()
+                .id(entry.id())
+                .senderFault(senderFault)
+                .code(senderFault ? "InvalidMessageContents" : "InternalError")
+                .message("rechazada")
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package co.com.pragma.solicitudes.sqs.config;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class SqsClientConfigTest {
+
+    @Test
+    void credenciales_UsaLasClavesConfiguradas() {
+        AwsCredentialsProvider provider = SqsClientConfig.credentialsProvider("AKIA", "secret");
+
+        assertInstanceOf(StaticCredentialsProvider.class, provider);
+        AwsCredentials credentials = provider.resolveCredentials();
+        assertEquals("AKIA", credentials.accessKeyId());
+        assertEquals("secret", credentials.secretAccessKey());
+    }
+
+    @Test
+    void credenciales_SinClavesUsaLaCadenaPorDefecto() {
+        assertInstanceOf(DefaultCredentialsProvider.class, SqsClientConfig.credentialsProvider("", null));
+    }
+
+    @Test
+    void cliente_SeConstruyeConNettyYSeCierra() {
+        SqsClientProperties properties = new SqsClientProperties(8, 100, Duration.ofSeconds(1),
+                Duration.ofSeconds(1), Duration.ofSeconds(25), Duration.ofSeconds(30), 2,
+                URI.create("http://localhost:4566"));
+
+        try (SqsAsyncClient client = SqsClientConfig.clientBuilder(properties,
+                StaticCredentialsProvider.create(AwsBasicCredentials.create("a", "b")),
+                "us-east-1").build()) {
+            assertNotNull(client.serviceClientConfiguration());
+            assertEquals(URI.create("http://localhost:4566"),
+                    client.serviceClientConfiguration().endpointOverride().orElseThrow());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package co.com.pragma.solicitudes.sqs.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara mensajes/s publicando con un SqsAsyncClient nuevo por mensaje (comportamiento
+ * anterior) y con el cliente compartido de {@link SqsClientConfig}.
+ *
+ * Requiere SOLICITUDES_IT_SQS_QUEUE_URL (cola estándar, no FIFO); con SOLICITUDES_IT_SQS_ENDPOINT apunta a LocalStack.
+ * Región y credenciales: SOLICITUDES_IT_SQS_REGION (por defecto us-east-1) y la cadena por defecto del SDK.
+ */
+@EnabledIfEnvironmentVariable(named = "SOLICITUDES_IT_SQS_QUEUE_URL", matches = ".+")
+class SqsClientThroughputTest {
+
+    private static final int MESSAGES = 500;
+    private static final int CONCURRENCY = 32;
+
+    private final String queueUrl = System.getenv("SOLICITUDES_IT_SQS_QUEUE_URL");
+    private final String region = env("SOLICITUDES_IT_SQS_REGION", "us-east-1");
+    private final String endpoint = System.getenv("SOLICITUDES_IT_SQS_ENDPOINT");
+
+    @Test
+    void clienteCompartidoVsClientePorMensaje() {
+        SqsClientProperties properties = new SqsClientProperties(CONCURRENCY, 10_000, Duration.ofSeconds(2),
+                Duration.ofSeconds(10), Duration.ofSeconds(30), Duration.ofSeconds(60), 0,
+                endpoint == null || endpoint.isBlank() ? null : URI.create(endpoint));
+        AwsCredentialsProvider credentials = SqsClientConfig.credentialsProvider(null, null);
+
+        run("cliente por mensaje", i -> {
+            SqsAsyncClient client = SqsClientConfig.clientBuilder(properties, credentials, region).build();
+            return send(client, i).doFinally(s -> client.close());
+        });
+
+        try (SqsAsyncClient shared = SqsClientConfig.clientBuilder(properties, credentials, region).build()) {
+            // Calentamiento: abre las conexiones del pool
+            Flux.range(0, CONCURRENCY).flatMap(i -> send(shared, i), CONCURRENCY).blockLast();
+            run("cliente compartido", i -> send(shared, i));
+        }
+    }
+
+    private void run(String label, Function<Integer, Mono<String>> sender) {
+        long start = System.nanoTime();
+        Long sent = Flux.range(0, MESSAGES)
+                .flatMap(sender, CONCURRENCY)
+                .count()
+                .block(Duration.ofMinutes(5));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%-22s %8.0f mensajes/s (%d en %.2f s)%n", label, MESSAGES / seconds, sent, seconds);
+        assertEquals(MESSAGES, sent);
+    }
+
+    private Mono<String> send(SqsAsyncClient client, int i) {
+        return Mono.fromFuture(() -> client.sendMessage(SendMessageRequest.builder()
+                        .queueUrl(queueUrl)
+                        .messageBody("{\"benchmark\":" + i + "}")
+                        .build()))
+                .map(resp -> resp.messageId());
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
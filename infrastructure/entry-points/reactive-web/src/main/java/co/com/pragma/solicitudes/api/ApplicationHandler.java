@@ -1,21 +1,27 @@
 package co.com.pragma.solicitudes.api;
 
+import co.com.pragma.solicitudes.api.dto.ApplicationPageResponse;
+import co.com.pragma.solicitudes.api.dto.ApplicationResponse;
+import co.com.pragma.solicitudes.api.dto.ApplicationStatsResponse;
+import co.com.pragma.solicitudes.api.config.ReviewProperties;
 import co.com.pragma.solicitudes.api.dto.DecisionRequest;
 import co.com.pragma.solicitudes.api.mapper.ApplicationMapper;
+import co.com.pragma.solicitudes.api.web.AuthenticatedUser;
+import co.com.pragma.solicitudes.api.web.PageCursor;
 import co.com.pragma.solicitudes.model.application.Application;
+import co.com.pragma.solicitudes.model.application.ApplicationStats;
+import co.com.pragma.solicitudes.model.application.ReviewApplication;
 import co.com.pragma.solicitudes.model.constants.ApplicationConstants;
 import co.com.pragma.solicitudes.model.enums.CodeState;
-import co.com.pragma.solicitudes.model.loantype.gateways.LoanTypeRepository;
 import co.com.pragma.solicitudes.model.state.gateways.StateRepository;
 import co.com.pragma.solicitudes.model.user.gateways.UserRepository;
 import co.com.pragma.solicitudes.usecase.application.ApplicationUseCase;
+import co.com.pragma.solicitudes.usecase.application.ReviewApplicationUseCase;
 import co.com.pragma.solicitudes.usecase.exceptions.DomainExceptions;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
+import co.com.pragma.solicitudes.usecase.stats.ApplicationStatsUseCase;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
@@ -23,23 +29,22 @@ import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
+import java.math.BigDecimal;
 import java.util.List;
 
+
 @Component
 @RequiredArgsConstructor
 public class ApplicationHandler {
 
     private final ApplicationUseCase useCase;
+    private final ReviewApplicationUseCase reviewUseCase;
     private final UserRepository userRepository;
-    private final LoanTypeRepository loanTypeRepository;
     private final StateRepository stateRepository;
+    private final ApplicationStatsUseCase statsUseCase;
+    private final ReviewProperties reviewProperties;
     private static final Logger log = LoggerFactory.getLogger(ApplicationHandler.class);
 
-    // Se inyecta desde application.yml
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-
     /**
      * Crear nueva solicitud
      * POST /api/v1/solicitudes
@@ -57,19 +62,9 @@ public class ApplicationHandler {
         return request.bodyToMono(Application.class)
                 .doOnNext(s -> log.debug(ApplicationConstants.LOG_CUERPO_RECIBIDO, s))
                 .flatMap(solicitud -> useCase.execute(solicitud, token))
-                .flatMap(saved ->
-                        // Zipear consultas: usuario y loan type (en paralelo)
-                        Mono.zip(
-                                userRepository.getUserById(saved.getIdUser(), token),
-                                loanTypeRepository.findById(saved.getLoanTypeID())
-                        ).map(tuple -> {
-                            var user = tuple.getT1();
-                            var loan = tuple.getT2();
-                            // Mapear a DTO enriquecido
-                            return ApplicationMapper.toResponse(saved, user, loan);
-                        })
-                )
-                // 3) Responder con DTO enriquecido
+                // Usuario y tipo de préstamo ya vienen del caso de uso: sin consultas adicionales
+                .map(ApplicationMapper::toResponse)
+                // Responder con DTO enriquecido
                 .flatMap(respDto -> ServerResponse.status(201)
                         .contentType(MediaType.APPLICATION_JSON)
                         .bodyValue(respDto)
@@ -77,22 +72,158 @@ public class ApplicationHandler {
     }
 
     /**
-     * Listar todas las solicitudes
-     * GET /api/v1/solicitudes
+     * Crear varias solicitudes en un solo llamado
+     * POST /api/v1/solicitudes/batch
+     * Responde un resultado por elemento (CREATED o REJECTED), en el orden recibido.
+     */
+    public Mono<ServerResponse> createApplicationsBatch(ServerRequest request) {
+        String authHeader = request.headers().firstHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ServerResponse.status(401)
+                    .bodyValue(ApplicationConstants.MSG_NO_TOKEN);
+        }
+        String token = authHeader.substring(7);
+
+        return request.bodyToFlux(Application.class)
+                .take(ApplicationConstants.BATCH_MAX_ITEMS + 1L)
+                .collectList()
+                .doOnNext(list -> log.info(ApplicationConstants.LOG_BATCH_RECIBIDO, list.size()))
+                .flatMap(list -> useCase.executeBatch(list, token))
+                .map(results -> results.stream().map(ApplicationMapper::toResponse).toList())
+                .flatMap(body -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(body));
+    }
+
+    /**
+     * Listar solicitudes paginadas por keyset
+     * GET /api/v1/solicitudes?limit=20&cursor=...
      */
     public Mono<ServerResponse> listApplications(ServerRequest request) {
         log.info(ApplicationConstants.LOG_LISTAR_SOLICITUDES);
 
-        Flux<Application> solicitudes = useCase.getAllApplication();
-        return ServerResponse.ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(solicitudes, Application.class);
+        final Long afterId;
+        final Integer limit;
+        try {
+            afterId = PageCursor.decode(request.queryParam(ApplicationConstants.PARAM_CURSOR).orElse(null));
+            limit = request.queryParam(ApplicationConstants.PARAM_LIMIT).map(Integer::valueOf).orElse(null);
+        } catch (NumberFormatException e) {
+            return Mono.error(new DomainExceptions.ValidationException(ApplicationConstants.MSG_LIMIT_INVALIDO));
+        } catch (DomainExceptions e) {
+            return Mono.error(e);
+        }
+
+        return useCase.getApplicationPage(afterId, limit)
+                .map(page -> new ApplicationPageResponse(page.getItems(), PageCursor.encode(page.getNextAfterId())))
+                .flatMap(body -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(body));
+    }
+
+    /**
+     * Listar las solicitudes de un usuario paginadas por keyset
+     * GET /api/v1/solicitudes/usuario/{idUser}?limit=20&cursor=...
+     * Solo el propio usuario o un rol ASESOR/ADMIN.
+     */
+    public Mono<ServerResponse> listApplicationsByUser(ServerRequest request) {
+        final Long idUser;
+        try {
+            idUser = Long.valueOf(request.pathVariable("idUser"));
+        } catch (NumberFormatException e) {
+            return Mono.error(new DomainExceptions.ValidationException(ApplicationConstants.MSG_ID_USUARIO_INVALIDO));
+        }
+
+        final Long afterId;
+        final Integer limit;
+        try {
+            afterId = PageCursor.decode(request.queryParam(ApplicationConstants.PARAM_CURSOR).orElse(null));
+            limit = request.queryParam(ApplicationConstants.PARAM_LIMIT).map(Integer::valueOf).orElse(null);
+        } catch (NumberFormatException e) {
+            return Mono.error(new DomainExceptions.ValidationException(ApplicationConstants.MSG_LIMIT_INVALIDO));
+        } catch (DomainExceptions e) {
+            return Mono.error(e);
+        }
+
+        return AuthenticatedUser.current()
+                .flatMap(user -> canReadApplicationsOf(user, idUser)
+                        .flatMap(allowed -> {
+                            if (!allowed) {
+                                log.warn("Usuario sin permisos sobre las solicitudes de {}: roles={}", idUser, user.roles());
+                                return ServerResponse.status(403).bodyValue(ApplicationConstants.MSG_SIN_PERMISOS);
+                            }
+                            return useCase.getApplicationsByUser(idUser, afterId, limit)
+                                    .map(page -> new ApplicationPageResponse(page.getItems(),
+                                            PageCursor.encode(page.getNextAfterId())))
+                                    .flatMap(body -> ServerResponse.ok()
+                                            .contentType(MediaType.APPLICATION_JSON)
+                                            .bodyValue(body));
+                        }))
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.warn(ApplicationConstants.MSG_TOKEN_INVALIDO);
+                    return ServerResponse.status(401).bodyValue(ApplicationConstants.MSG_TOKEN_INVALIDO);
+                }));
+    }
+
+    /**
+     * ASESOR y ADMIN ven cualquier usuario. Los demás solo a sí mismos: el token no trae el id
+     * del usuario (el subject es su email), así que se resuelve idUser en el micro de
+     * autenticación y se compara su email con el subject. Un usuario inexistente se niega igual.
+     */
+    private Mono<Boolean> canReadApplicationsOf(AuthenticatedUser user, Long idUser) {
+        if (user.hasAnyRole("ASESOR", "ADMIN")) {
+            return Mono.just(true);
+        }
+        String subject = user.claims().getSubject();
+        if (subject == null) {
+            return Mono.just(false);
+        }
+        return userRepository.getUserById(idUser, user.token())
+                .map(owner -> subject.equalsIgnoreCase(owner.getEmail()))
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * Estadísticas de cartera: cantidad y monto por estado × tipo de préstamo.
+     * GET /api/v1/solicitudes/stats
+     * Se leen del agregado application_stats, sin recorrer las solicitudes.
+     * Solo accesible con rol ASESOR o ADMIN.
+     */
+    public Mono<ServerResponse> getStats(ServerRequest request) {
+        return AuthenticatedUser.current()
+                .flatMap(user -> {
+                    if (!user.hasAnyRole("ASESOR", "ADMIN")) {
+                        log.warn("Usuario sin permisos: roles={}", user.roles());
+                        return ServerResponse.status(403).bodyValue(ApplicationConstants.MSG_SIN_PERMISOS);
+                    }
+                    return statsUseCase.getStats()
+                            .collectList()
+                            .map(ApplicationHandler::toStatsResponse)
+                            .flatMap(body -> ServerResponse.ok()
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .bodyValue(body));
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.warn(ApplicationConstants.MSG_TOKEN_INVALIDO);
+                    return ServerResponse.status(401).bodyValue(ApplicationConstants.MSG_TOKEN_INVALIDO);
+                }));
+    }
+
+    private static ApplicationStatsResponse toStatsResponse(List<ApplicationStats> items) {
+        long totalCount = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (ApplicationStats cell : items) {
+            totalCount += cell.getCount();
+            totalAmount = totalAmount.add(cell.getTotalAmount() == null ? BigDecimal.ZERO : cell.getTotalAmount());
+        }
+        return new ApplicationStatsResponse(items.stream().map(ApplicationMapper::toResponse).toList(),
+                totalCount, totalAmount);
     }
 
     /**
      * Listar solicitudes que requieren revisión manual.
      * GET /api/v1/solicitudes/revision?estado=RECHAZADA
      * Si no se envía query param → muestra PENDIENTE_REVISION.
+     * Con Accept application/x-ndjson o text/event-stream cada solicitud se envía apenas se enriquece.
      * Solo accesible con rol ASESOR o ADMIN.
      */
     public Mono<ServerResponse> listReviewApplication(ServerRequest request) {
@@ -115,32 +246,65 @@ public class ApplicationHandler {
 
         String rawToken = authHeader.substring(7).trim();
 
-        Claims claims;
-        try {
-            claims = getClaimsFromToken(rawToken, jwtSecret);
-        } catch (Exception e) {
-            log.warn(ApplicationConstants.MSG_TOKEN_INVALIDO + ": {}", e.getMessage());
-            return ServerResponse.status(401).bodyValue(ApplicationConstants.MSG_TOKEN_INVALIDO);
-        }
+        // El token ya fue verificado por JwtAuthenticationFilter
+        final Long idEstado = estado.getId();
+        final MediaType streamType = streamingType(request);
+        return AuthenticatedUser.current()
+                .flatMap(user -> {
+                    if (!user.hasAnyRole("ASESOR", "ADMIN")) {
+                        log.warn("Usuario sin permisos: roles={}", user.roles());
+                        return ServerResponse.status(403).bodyValue(ApplicationConstants.MSG_SIN_PERMISOS);
+                    }
+                    return listByState(idEstado, streamType, rawToken);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.warn(ApplicationConstants.MSG_TOKEN_INVALIDO);
+                    return ServerResponse.status(401).bodyValue(ApplicationConstants.MSG_TOKEN_INVALIDO);
+                }));
+    }
 
-        List<String> roles = claims.get("roles", List.class);
-        if (roles == null || (!roles.contains("ASESOR") && !roles.contains("ADMIN"))) {
-            log.warn("Usuario sin permisos: roles={}", roles);
-            return ServerResponse.status(403).bodyValue(ApplicationConstants.MSG_SIN_PERMISOS);
-        }
+    private Mono<ServerResponse> listByState(Long idEstado, MediaType streamType, String rawToken) {
+        Flux<ApplicationResponse> enriched = enrich(reviewUseCase.getReviewApplicationsByState(idEstado), rawToken)
+                .doOnError(e -> log.error(ApplicationConstants.LOG_ERROR_LISTANDO_APLICACIONES, e.getMessage()));
 
-        return useCase.getApplicationsByState(estado.getId())
-                .flatMap(app -> Mono.zip(
-                        Mono.just(app),
-                        userRepository.getUserById(app.getIdUser(), rawToken),
-                        loanTypeRepository.findById(app.getLoanTypeID())
-                ))
-                .map(tuple -> ApplicationMapper.toResponse(tuple.getT1(), tuple.getT2(), tuple.getT3()))
-                .collectList()
+        if (streamType != null) {
+            log.info(ApplicationConstants.LOG_STREAMING_REVISION, streamType);
+            return ServerResponse.ok()
+                    .contentType(streamType)
+                    .body(enriched, ApplicationResponse.class);
+        }
+        return enriched.collectList()
                 .flatMap(list -> ServerResponse.ok()
                         .contentType(MediaType.APPLICATION_JSON)
-                        .bodyValue(list))
-                .doOnError(e -> log.error(ApplicationConstants.LOG_ERROR_LISTANDO_APLICACIONES, e.getMessage()));
+                        .bodyValue(list));
+    }
+
+    /**
+     * Completa cada fila de la bandeja con los datos del usuario conservando el orden;
+     * tipo de préstamo y estado ya vienen de la consulta unida.
+     * La concurrencia acotada limita las filas pedidas al cursor R2DBC, de modo que
+     * en modo streaming la memoria no depende del tamaño de la cola.
+     */
+    private Flux<ApplicationResponse> enrich(Flux<ReviewApplication> applications, String rawToken) {
+        return applications
+                .flatMapSequential(app -> userRepository.getUserById(app.getIdUser(), rawToken)
+                                .map(user -> ApplicationMapper.toResponse(app, user)),
+                        Math.max(1, reviewProperties.enrichConcurrency()));
+    }
+
+    /**
+     * @return el tipo de stream pedido en Accept (NDJSON o SSE), o null para la respuesta JSON completa
+     */
+    private static MediaType streamingType(ServerRequest request) {
+        for (MediaType accepted : request.headers().accept()) {
+            if (MediaType.APPLICATION_NDJSON.equalsTypeAndSubtype(accepted)) {
+                return MediaType.APPLICATION_NDJSON;
+            }
+            if (MediaType.TEXT_EVENT_STREAM.equalsTypeAndSubtype(accepted)) {
+                return MediaType.TEXT_EVENT_STREAM;
+            }
+        }
+        return null;
     }
 
     /**
@@ -182,16 +346,6 @@ public class ApplicationHandler {
                 .then(ServerResponse.noContent().build());
     }
 
-    /**
-     * Decodifica el JWT para obtener claims
-     */
-    private Claims getClaimsFromToken(String token, String secret) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secret.getBytes(StandardCharsets.UTF_8))
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
     /**
      * PUT /api/v1/solicitud
      * Requiere rol ASESOR.
@@ -209,22 +363,24 @@ public class ApplicationHandler {
         }
         String rawToken = authHeader.substring(ApplicationConstants.AUTH_HEADER_PREFIX.length()).trim();
 
-        // 2) Parse claims del JWT (tolerante a distintos formatos de roles)
-        final Claims claims;
-        try {
-            claims = getClaimsFromToken(rawToken, jwtSecret);
-        } catch (Exception e) {
-            log.warn("{}: {}", ApplicationConstants.MSG_TOKEN_INVALIDO, e.getMessage());
-            return ServerResponse.status(401).contentType(MediaType.TEXT_PLAIN)
-                    .bodyValue(ApplicationConstants.MSG_TOKEN_INVALIDO);
-        }
-
-        // 3) Verifica rol ASESOR (acepta String, Lista<String>, y Lista<Map> tipo {"authority": "..."/"role": "..."})
-        if (!hasAsesorRole(claims.get("roles"))) {
-            return ServerResponse.status(403).contentType(MediaType.TEXT_PLAIN)
-                    .bodyValue(ApplicationConstants.MSG_DECISION_FORBIDDEN);
-        }
+        // 2) Usuario verificado por JwtAuthenticationFilter (roles ya normalizados)
+        return AuthenticatedUser.current()
+                .flatMap(user -> {
+                    // 3) Verifica rol ASESOR
+                    if (!user.hasRole("ASESOR")) {
+                        return ServerResponse.status(403).contentType(MediaType.TEXT_PLAIN)
+                                .bodyValue(ApplicationConstants.MSG_DECISION_FORBIDDEN);
+                    }
+                    return applyDecision(request, rawToken);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.warn(ApplicationConstants.MSG_TOKEN_INVALIDO);
+                    return ServerResponse.status(401).contentType(MediaType.TEXT_PLAIN)
+                            .bodyValue(ApplicationConstants.MSG_TOKEN_INVALIDO);
+                }));
+    }
 
+    private Mono<ServerResponse> applyDecision(ServerRequest request, String rawToken) {
         // 4) Toma o genera Correlation-Id
         String correlationId = request.headers().firstHeader(ApplicationConstants.HDR_CORRELATION_ID);
         if (correlationId == null || correlationId.isBlank()) {
@@ -273,15 +429,12 @@ public class ApplicationHandler {
                                 .contentType(MediaType.TEXT_PLAIN)
                                 .headers(h -> h.add(ApplicationConstants.HDR_CORRELATION_ID, corrId))
                                 .bodyValue(e.getMessage()))
-                // Si el publisher SQS explota, lo tratamos como 502 (upstream de mensajería)
-                .onErrorResume(software.amazon.awssdk.core.exception.SdkException.class,
-                        e -> {
-                            log.error("Fallo SQS corr={} err={}", corrId, e.toString());
-                            return ServerResponse.status(502)
-                                    .contentType(MediaType.TEXT_PLAIN)
-                                    .headers(h -> h.add(ApplicationConstants.HDR_CORRELATION_ID, corrId))
-                                    .bodyValue("Error publicando la decisión. Intenta nuevamente.");
-                        })
+                // Micro de autenticación caído o saturado: 503 para que el cliente reintente
+                .onErrorResume(DomainExceptions.ServicioNoDisponible.class,
+                        e -> ServerResponse.status(503)
+                                .contentType(MediaType.TEXT_PLAIN)
+                                .headers(h -> h.add(ApplicationConstants.HDR_CORRELATION_ID, corrId))
+                                .bodyValue(e.getMessage()))
                 .onErrorResume(e -> {
                     log.error("{} corr={} err={}", ApplicationConstants.MSG_DECISION_PROCESS_ERROR, corrId, e.toString());
                     return ServerResponse.status(500)
@@ -290,47 +443,4 @@ public class ApplicationHandler {
                             .bodyValue(ApplicationConstants.MSG_DECISION_PROCESS_ERROR);
                 });
     }
-
-    /**
-     * Extrae el rol ASESOR desde distintos formatos posibles dentro del claim "roles".
-     */
-    @SuppressWarnings("unchecked")
-    private boolean hasAsesorRole(Object rolesClaim) {
-        if (rolesClaim == null) return false;
-
-        // 1) String simple: "ASESOR,OTRO" o "ASESOR"
-        if (rolesClaim instanceof String s) {
-            for (String part : s.split(",")) {
-                if ("ASESOR".equalsIgnoreCase(part.trim())) return true;
-            }
-            return false;
-        }
-
-        // 2) Lista de Strings
-        if (rolesClaim instanceof java.util.Collection<?> col) {
-            for (Object o : col) {
-                if (o instanceof String s && "ASESOR".equalsIgnoreCase(s)) return true;
-                if (rolesClaim instanceof java.util.Map<?, ?> m) {
-                    Object v = m.get("authority");
-                    if (v == null) {
-                        v = m.get("role");
-                    }
-                    return (v instanceof String sv) && "ASESOR".equalsIgnoreCase(sv);
-                }
-            }
-            return false;
-        }
-
-        // 3) Mapa único { "authority": "ASESOR" } o { "role": "ASESOR" }
-        if (rolesClaim instanceof java.util.Map<?, ?> m) {
-            Object v = m.get("authority");
-            if (v == null) {
-                v = m.get("role");
-            }
-            return (v instanceof String sv) && "ASESOR".equalsIgnoreCase(sv);
-        }
-
-        return false;
-    }
-
 }
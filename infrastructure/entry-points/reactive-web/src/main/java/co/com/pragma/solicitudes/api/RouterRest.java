@@ -1,8 +1,14 @@
 package co.com.pragma.solicitudes.api;
 
+import co.com.pragma.solicitudes.api.dto.ApplicationBatchItemResponse;
+import co.com.pragma.solicitudes.api.dto.ApplicationPageResponse;
+import co.com.pragma.solicitudes.api.dto.ApplicationStatsResponse;
 import co.com.pragma.solicitudes.model.application.Application;
 import co.com.pragma.solicitudes.model.constants.ApplicationConstants;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -54,10 +60,44 @@ public class RouterRest {
                     beanMethod = "listApplications",
                     operation = @Operation(
                             operationId = "listarSolicitudes",
-                            summary = "Obtener todas las solicitudes",
+                            summary = "Obtener solicitudes paginadas (keyset)",
+                            parameters = {
+                                    @Parameter(in = ParameterIn.QUERY, name = ApplicationConstants.PARAM_LIMIT,
+                                            description = "Tamaño de página (1-100, por defecto 20)"),
+                                    @Parameter(in = ParameterIn.QUERY, name = ApplicationConstants.PARAM_CURSOR,
+                                            description = "Cursor opaco devuelto en nextCursor de la página anterior")
+                            },
                             responses = {
-                                    @ApiResponse(responseCode = "200", description = "Lista de solicitudes",
-                                            content = @Content(schema = @Schema(implementation = Application.class)))
+                                    @ApiResponse(responseCode = "200", description = "Página de solicitudes",
+                                            content = @Content(schema = @Schema(implementation = ApplicationPageResponse.class))),
+                                    @ApiResponse(responseCode = "400", description = "limit o cursor inválido")
+                            }
+                    )
+            ),
+            // LIST BY USER
+            @RouterOperation(
+                    path = ApplicationConstants.RUTA_SOLICITUD_USUARIO,
+                    produces = {MediaType.APPLICATION_JSON_VALUE},
+                    method = RequestMethod.GET,
+                    beanClass = ApplicationHandler.class,
+                    beanMethod = "listApplicationsByUser",
+                    operation = @Operation(
+                            operationId = "listarSolicitudesUsuario",
+                            summary = "Obtener las solicitudes de un usuario, paginadas (keyset)",
+                            parameters = {
+                                    @Parameter(in = ParameterIn.PATH, name = "idUser", required = true,
+                                            description = "Id del usuario en el micro de autenticación"),
+                                    @Parameter(in = ParameterIn.QUERY, name = ApplicationConstants.PARAM_LIMIT,
+                                            description = "Tamaño de página (1-100, por defecto 20)"),
+                                    @Parameter(in = ParameterIn.QUERY, name = ApplicationConstants.PARAM_CURSOR,
+                                            description = "Cursor opaco devuelto en nextCursor de la página anterior")
+                            },
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Página de solicitudes del usuario",
+                                            content = @Content(schema = @Schema(implementation = ApplicationPageResponse.class))),
+                                    @ApiResponse(responseCode = "400", description = "idUser, limit o cursor inválido"),
+                                    @ApiResponse(responseCode = "401", description = "Token ausente o inválido"),
+                                    @ApiResponse(responseCode = "403", description = "No es el propio usuario ni ASESOR/ADMIN")
                             }
                     )
             ),
@@ -109,22 +149,66 @@ public class RouterRest {
                             }
                     )
             ),
+            // BATCH
+            @RouterOperation(
+                    path = ApplicationConstants.RUTA_SOLICITUD_BATCH,
+                    produces = {MediaType.APPLICATION_JSON_VALUE},
+                    method = RequestMethod.POST,
+                    beanClass = ApplicationHandler.class,
+                    beanMethod = "createApplicationsBatch",
+                    operation = @Operation(
+                            operationId = "crearSolicitudesLote",
+                            summary = "Crear varias solicitudes (máximo " + ApplicationConstants.BATCH_MAX_ITEMS + ")",
+                            requestBody = @RequestBody(
+                                    required = true,
+                                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = Application.class)))
+                            ),
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Resultado por solicitud, en el orden recibido",
+                                            content = @Content(array = @ArraySchema(
+                                                    schema = @Schema(implementation = ApplicationBatchItemResponse.class)))),
+                                    @ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande"),
+                                    @ApiResponse(responseCode = "401", description = "No autorizado")
+                            }
+                    )
+            ),
             // REVIEW
             @RouterOperation(
                     path = ApplicationConstants.RUTA_SOLICITUD_REVISION,
-                    produces = {MediaType.APPLICATION_JSON_VALUE},
+                    produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+                            MediaType.TEXT_EVENT_STREAM_VALUE},
                     method = RequestMethod.GET,
                     beanClass = ApplicationHandler.class,
                     beanMethod = "listReviewApplication",
                     operation = @Operation(
                             operationId = "listarSolicitudesRevision",
                             summary = "Listar solicitudes en revisión manual",
-                            description = "Si no se envía `estado` muestra por defecto PENDIENTE_REVISION",
+                            description = "Si no se envía `estado` muestra por defecto PENDIENTE_REVISION. "
+                                    + "Con Accept application/x-ndjson o text/event-stream la lista se envía en streaming",
                             responses = {
                                     @ApiResponse(responseCode = "200", description = "Lista de solicitudes en revisión")
                             }
                     )
             ),
+            // STATS
+            @RouterOperation(
+                    path = ApplicationConstants.RUTA_SOLICITUD_STATS,
+                    produces = {MediaType.APPLICATION_JSON_VALUE},
+                    method = RequestMethod.GET,
+                    beanClass = ApplicationHandler.class,
+                    beanMethod = "getStats",
+                    operation = @Operation(
+                            operationId = "estadisticasSolicitudes",
+                            summary = "Estadísticas de cartera (rol ASESOR o ADMIN)",
+                            description = "Cantidad y monto total por estado y tipo de préstamo, incluidas las archivadas",
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Estadísticas de cartera",
+                                            content = @Content(schema = @Schema(implementation = ApplicationStatsResponse.class))),
+                                    @ApiResponse(responseCode = "401", description = "No autorizado"),
+                                    @ApiResponse(responseCode = "403", description = "Sin permisos")
+                            }
+                    )
+            ),
             @RouterOperation(
                     path = ApplicationConstants.RUTA_SOLICITUD_DECISION,   // "/api/v1/solicitud"
                     produces = {MediaType.APPLICATION_JSON_VALUE},
@@ -148,8 +232,11 @@ public class RouterRest {
             )})
     public RouterFunction<ServerResponse> applicationRoutes(ApplicationHandler handler) {
         return route(POST(ApplicationConstants.RUTA_SOLICITUD), handler::createApplication)
+                .andRoute(POST(ApplicationConstants.RUTA_SOLICITUD_BATCH), handler::createApplicationsBatch)
                 .andRoute(GET(ApplicationConstants.RUTA_SOLICITUD_REVISION), handler::listReviewApplication)
+                .andRoute(GET(ApplicationConstants.RUTA_SOLICITUD_STATS), handler::getStats)
                 .andRoute(GET(ApplicationConstants.RUTA_SOLICITUD), handler::listApplications)
+                .andRoute(GET(ApplicationConstants.RUTA_SOLICITUD_USUARIO), handler::listApplicationsByUser)
                 .andRoute(GET(ApplicationConstants.RUTA_SOLICITUD + "/{id}"), handler::getById)
                 .andRoute(PUT(ApplicationConstants.RUTA_SOLICITUD), handler::editApplication)
                 .andRoute(PUT(ApplicationConstants.RUTA_SOLICITUD_DECISION), handler::decide)
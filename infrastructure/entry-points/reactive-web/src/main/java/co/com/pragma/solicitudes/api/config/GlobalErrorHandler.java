@@ -36,6 +36,13 @@ public class GlobalErrorHandler implements WebExceptionHandler {
                     "errors", List.of(ve.getMessage())
             );
 
+        } else if (ex instanceof DomainExceptions.ServicioNoDisponible de) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+            body = Map.of(
+                    "code", de.getCode(),
+                    "message", de.getMessage()
+            );
+
         } else if (ex instanceof DomainExceptions de) {
             body = Map.of(
                     "code", de.getCode(),
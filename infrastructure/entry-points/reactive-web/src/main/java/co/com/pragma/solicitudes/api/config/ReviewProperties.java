@@ -0,0 +1,15 @@
+package co.com.pragma.solicitudes.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Bandeja de revisión (GET /api/v1/solicitudes/revision).
+ *
+ * @param enrichConcurrency consultas de usuario en curso a la vez al enriquecer la bandeja;
+ *                          también acota las filas pedidas por adelantado al cursor R2DBC
+ */
+@ConfigurationProperties(prefix = "review")
+public record ReviewProperties(
+        @DefaultValue("16") int enrichConcurrency) {
+}
@@ -3,8 +3,8 @@ package co.com.pragma.solicitudes.api.config;
 import co.com.pragma.solicitudes.model.application.gateways.ApplicationRepository;
 import co.com.pragma.solicitudes.model.loantype.gateways.LoanTypeRepository;
 import co.com.pragma.solicitudes.model.user.gateways.UserRepository;
-import co.com.pragma.solicitudes.model.applicationdecisionevent.gateways.DecisionPublisher;
-import co.com.pragma.solicitudes.model.capacity.gateways.ValidationPublisher;
+import co.com.pragma.solicitudes.model.outbox.gateways.OutboxRepository;
+import co.com.pragma.solicitudes.model.transaction.gateways.UnitOfWork;
 import co.com.pragma.solicitudes.usecase.application.ApplicationUseCase;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -20,12 +20,12 @@ public class UseCaseConfig {
     private final ApplicationRepository applicationRepository;
     private final LoanTypeRepository loanTypeRepository;
     private final UserRepository userRepository;
-    private final DecisionPublisher decisionPublisher;
-    private final ValidationPublisher validationPublisher; // ⬅️ nuevo
+    private final OutboxRepository outboxRepository;  // eventos de decisión y validación (outbox)
+    private final UnitOfWork unitOfWork;
 
     @Bean
     public ApplicationUseCase applicationUseCase() {
         // Construye el use case con sus dependencias de dominio/infra
-        return new ApplicationUseCase(applicationRepository, loanTypeRepository, userRepository, decisionPublisher,validationPublisher);
+        return new ApplicationUseCase(applicationRepository, loanTypeRepository, userRepository, outboxRepository, unitOfWork);
     }
 }
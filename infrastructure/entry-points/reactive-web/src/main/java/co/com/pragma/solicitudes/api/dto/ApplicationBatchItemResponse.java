@@ -0,0 +1,20 @@
+package co.com.pragma.solicitudes.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ApplicationBatchItemResponse {
+    private int index;                        // posición en el lote recibido
+    private String status;                    // CREATED o REJECTED
+    private ApplicationResponse application;  // solicitud creada
+    private String code;                      // código del error de dominio
+    private String message;                   // mensaje del error de dominio
+}
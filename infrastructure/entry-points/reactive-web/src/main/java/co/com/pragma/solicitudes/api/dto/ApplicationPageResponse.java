@@ -0,0 +1,18 @@
+package co.com.pragma.solicitudes.api.dto;
+
+import co.com.pragma.solicitudes.model.application.Application;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationPageResponse {
+    private List<Application> items;   // solicitudes de la página
+    private String nextCursor;         // cursor opaco para la siguiente página (null si es la última)
+}
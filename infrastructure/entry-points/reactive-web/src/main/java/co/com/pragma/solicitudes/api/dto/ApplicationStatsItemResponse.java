@@ -0,0 +1,20 @@
+package co.com.pragma.solicitudes.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationStatsItemResponse {
+    private Long idState;            // estado (ver CodeState)
+    private String stateApplication; // nombre del estado
+    private Long loanTypeID;         // tipo de préstamo
+    private long count;              // cantidad de solicitudes
+    private BigDecimal totalAmount;  // suma de los montos solicitados
+}
@@ -0,0 +1,19 @@
+package co.com.pragma.solicitudes.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationStatsResponse {
+    private List<ApplicationStatsItemResponse> items;  // una fila por estado × tipo de préstamo
+    private long totalCount;               // solicitudes de toda la cartera
+    private BigDecimal totalAmount;        // monto de toda la cartera
+}
@@ -1,13 +1,77 @@
     package co.com.pragma.solicitudes.api.mapper;
 
+    import co.com.pragma.solicitudes.api.dto.ApplicationBatchItemResponse;
     import co.com.pragma.solicitudes.api.dto.ApplicationResponse;
+    import co.com.pragma.solicitudes.api.dto.ApplicationStatsItemResponse;
     import co.com.pragma.solicitudes.model.application.Application;
+    import co.com.pragma.solicitudes.model.application.ApplicationBatchResult;
+    import co.com.pragma.solicitudes.model.application.ApplicationStats;
+    import co.com.pragma.solicitudes.model.application.CreatedApplication;
+    import co.com.pragma.solicitudes.model.application.ReviewApplication;
+    import co.com.pragma.solicitudes.model.constants.ApplicationConstants;
     import co.com.pragma.solicitudes.model.enums.CodeState;
     import co.com.pragma.solicitudes.model.loantype.LoanType;
     import co.com.pragma.solicitudes.model.user.User;
 
     public class ApplicationMapper {
 
+        public static ApplicationResponse toResponse(CreatedApplication created) {
+            return toResponse(created.getApplication(), created.getUser(), created.getLoanType());
+        }
+
+        public static ApplicationStatsItemResponse toResponse(ApplicationStats stats) {
+            return ApplicationStatsItemResponse.builder()
+                    .idState(stats.getIdState())
+                    .stateApplication(statsStateName(stats.getIdState()))
+                    .loanTypeID(stats.getLoanTypeID())
+                    .count(stats.getCount())
+                    .totalAmount(stats.getTotalAmount())
+                    .build();
+        }
+
+        /**
+         * application_stats puede tener celdas de estados que no están en CodeState (altas directas
+         * en base, estados nuevos): se informan con un nombre genérico en vez de tumbar el endpoint.
+         */
+        private static String statsStateName(Long idState) {
+            for (CodeState state : CodeState.values()) {
+                if (state.getId().equals(idState)) {
+                    return state.name();
+                }
+            }
+            return ApplicationConstants.STATS_ESTADO_DESCONOCIDO;
+        }
+
+        public static ApplicationBatchItemResponse toResponse(ApplicationBatchResult result) {
+            if (result.isCreated()) {
+                return ApplicationBatchItemResponse.builder()
+                        .index(result.getIndex())
+                        .status("CREATED")
+                        .application(toResponse(result.getCreated()))
+                        .build();
+            }
+            return ApplicationBatchItemResponse.builder()
+                    .index(result.getIndex())
+                    .status("REJECTED")
+                    .code(result.getErrorCode())
+                    .message(result.getErrorMessage())
+                    .build();
+        }
+
+        public static ApplicationResponse toResponse(ReviewApplication app, User user) {
+            return ApplicationResponse.builder()
+                    .idApplication(app.getIdApplication())
+                    .amount(app.getAmount())
+                    .term(app.getTerm())
+                    .email(app.getEmail())
+                    .name(user.getName() + " " + user.getLastName())
+                    .loanType(app.getLoanTypeName())
+                    .rateInterest(app.getRateInterest())
+                    .stateApplication(CodeState.fromId(app.getIdState()).name())
+                    .baseSalary(user.getBaseSalary())
+                    .build();
+        }
+
         public static ApplicationResponse toResponse(Application app, User user, LoanType loan) {
             return ApplicationResponse.builder()
                     .idApplication(app.getIdApplication())
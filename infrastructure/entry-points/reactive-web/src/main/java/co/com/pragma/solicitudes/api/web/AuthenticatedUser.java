@@ -0,0 +1,37 @@
+package co.com.pragma.solicitudes.api.web;
+
+import io.jsonwebtoken.Claims;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Resultado de verificar el JWT de la petición: token crudo, claims verificados
+ * y roles ya normalizados (mayúsculas). Lo publica {@link JwtAuthenticationFilter}
+ * en el Context de Reactor.
+ */
+public record AuthenticatedUser(String token, Claims claims, Set<String> roles, Instant expiresAt) {
+
+    public static final String CONTEXT_KEY = AuthenticatedUser.class.getName();
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+
+    public boolean hasAnyRole(String... candidates) {
+        for (String role : candidates) {
+            if (roles.contains(role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Usuario autenticado de la petición en curso; vacío si no hay token o no es válido.
+     */
+    public static Mono<AuthenticatedUser> current() {
+        return Mono.deferContextual(ctx -> Mono.justOrEmpty(ctx.<AuthenticatedUser>getOrEmpty(CONTEXT_KEY)));
+    }
+}
@@ -0,0 +1,164 @@
+package co.com.pragma.solicitudes.api.web;
+
+import co.com.pragma.solicitudes.model.constants.ApplicationConstants;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Filtro WebFlux que verifica el JWT "Authorization: Bearer ..." una sola vez por token.
+ *
+ * - Un único JwtParser compartido (thread-safe) con la clave de jwt.secret.
+ * - Los claims verificados se cachean por SHA-256 del token hasta su "exp"
+ *   (o hasta jwt.cache.max-ttl si no trae "exp"); el token en claro no se guarda como clave.
+ * - Los roles se normalizan una vez a un Set en mayúsculas.
+ * - El resultado ({@link AuthenticatedUser}) viaja en el Context de Reactor.
+ *
+ * El filtro no corta la petición: sin token o con token inválido no hay usuario en el
+ * Context y cada handler decide la respuesta (401/403), como antes.
+ */
+@Component
+public class JwtAuthenticationFilter implements WebFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    private static final String ROLES_CLAIM = "roles";
+
+    private final JwtParser parser;
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public JwtAuthenticationFilter(@Value("${jwt.secret}") String secret,
+                                   @Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+                                   @Value("${jwt.cache.max-ttl:15m}") Duration maxTtl) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(secret.getBytes(StandardCharsets.UTF_8))
+                .build();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry(maxTtl))
+                .build();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(ApplicationConstants.HDR_AUTHORIZATION);
+        if (header == null || !header.startsWith(ApplicationConstants.AUTH_HEADER_PREFIX)) {
+            return chain.filter(exchange);
+        }
+        String token = header.substring(ApplicationConstants.AUTH_HEADER_PREFIX.length()).trim();
+        AuthenticatedUser user = authenticate(token);
+        if (user == null) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange)
+                .contextWrite(ctx -> ctx.put(AuthenticatedUser.CONTEXT_KEY, user));
+    }
+
+    /**
+     * Devuelve el usuario del token (desde caché si ya fue verificado) o null si el token no es válido.
+     */
+    AuthenticatedUser authenticate(String token) {
+        String key = digest(token);
+        AuthenticatedUser cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (cached.expiresAt() == null || cached.expiresAt().isAfter(Instant.now())) {
+                return cached;
+            }
+            cache.invalidate(key);
+        }
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Date exp = claims.getExpiration();
+            AuthenticatedUser user = new AuthenticatedUser(token, claims, extractRoles(claims.get(ROLES_CLAIM)),
+                    exp != null ? exp.toInstant() : null);
+            cache.put(key, user);
+            return user;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("{}: {}", ApplicationConstants.MSG_TOKEN_INVALIDO, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Normaliza el claim "roles": String ("ASESOR,ADMIN"), lista de Strings,
+     * lista de mapas {"authority"/"role": "..."} o un único mapa.
+     */
+    static Set<String> extractRoles(Object rolesClaim) {
+        Set<String> roles = new HashSet<>();
+        collectRoles(rolesClaim, roles);
+        return Set.copyOf(roles);
+    }
+
+    private static void collectRoles(Object value, Set<String> roles) {
+        if (value instanceof String s) {
+            for (String part : s.split(",")) {
+                if (!part.isBlank()) {
+                    roles.add(part.trim().toUpperCase(Locale.ROOT));
+                }
+            }
+        } else if (value instanceof Collection<?> col) {
+            col.forEach(item -> collectRoles(item, roles));
+        } else if (value instanceof Map<?, ?> m) {
+            Object role = m.get("authority");
+            collectRoles(role != null ? role : m.get("role"), roles);
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Cada entrada vive hasta el "exp" del token, con tope maxTtl.
+     */
+    private record UntilTokenExpiry(Duration maxTtl) implements Expiry<String, AuthenticatedUser> {
+
+        @Override
+        public long expireAfterCreate(String key, AuthenticatedUser value, long currentTime) {
+            if (value.expiresAt() == null) {
+                return maxTtl.toNanos();
+            }
+            long untilExp = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+            return Math.max(0, Math.min(untilExp, maxTtl.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, AuthenticatedUser value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, AuthenticatedUser value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
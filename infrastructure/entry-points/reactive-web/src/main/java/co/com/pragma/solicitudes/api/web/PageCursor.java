@@ -0,0 +1,50 @@
+package co.com.pragma.solicitudes.api.web;
+
+import co.com.pragma.solicitudes.model.constants.ApplicationConstants;
+import co.com.pragma.solicitudes.usecase.exceptions.DomainExceptions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco de paginación keyset: Base64 URL-safe de "id:&lt;último id&gt;".
+ * El cliente solo lo reenvía; el formato interno puede cambiar sin romper el contrato.
+ */
+public final class PageCursor {
+
+    private static final String PREFIX = "id:";
+
+    private PageCursor() {
+    }
+
+    public static String encode(Long afterId) {
+        if (afterId == null) {
+            return null;
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + afterId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return el id desde el cual continuar, o null si no se envió cursor
+     * @throws DomainExceptions.ValidationException si el cursor no es válido
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new DomainExceptions.ValidationException(ApplicationConstants.MSG_CURSOR_INVALIDO);
+            }
+            long id = Long.parseLong(raw.substring(PREFIX.length()));
+            if (id < 0) {
+                throw new DomainExceptions.ValidationException(ApplicationConstants.MSG_CURSOR_INVALIDO);
+            }
+            return id;
+        } catch (IllegalArgumentException e) {
+            throw new DomainExceptions.ValidationException(ApplicationConstants.MSG_CURSOR_INVALIDO);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package co.com.pragma.solicitudes.api;
+
+import co.com.pragma.solicitudes.api.config.ReviewProperties;
+import co.com.pragma.solicitudes.api.web.AuthenticatedUser;
+import co.com.pragma.solicitudes.model.application.Application;
+import co.com.pragma.solicitudes.model.application.ApplicationPage;
+import co.com.pragma.solicitudes.model.constants.ApplicationConstants;
+import co.com.pragma.solicitudes.model.state.gateways.StateRepository;
+import co.com.pragma.solicitudes.model.user.User;
+import co.com.pragma.solicitudes.model.user.gateways.UserRepository;
+import co.com.pragma.solicitudes.usecase.application.ApplicationUseCase;
+import co.com.pragma.solicitudes.usecase.application.ReviewApplicationUseCase;
+import co.com.pragma.solicitudes.usecase.stats.ApplicationStatsUseCase;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * GET /api/v1/solicitudes/usuario/{idUser}: solo el propio usuario o ASESOR/ADMIN.
+ */
+class ApplicationHandlerByUserTest {
+
+    private static final String URI = "/api/v1/solicitudes/usuario/{idUser}";
+
+    private ApplicationUseCase useCase;
+    private UserRepository userRepository;
+    private ApplicationHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        useCase = mock(ApplicationUseCase.class);
+        userRepository = mock(UserRepository.class);
+        handler = new ApplicationHandler(useCase, mock(ReviewApplicationUseCase.class), userRepository,
+                mock(StateRepository.class), mock(ApplicationStatsUseCase.class), new ReviewProperties(16));
+        when(useCase.getApplicationsByUser(anyLong(), any(), any()))
+                .thenReturn(Mono.just(new ApplicationPage(List.of(new Application()), null)));
+        when(userRepository.getUserById(eq(7L), any()))
+                .thenReturn(Mono.just(User.builder().idNumber(7L).email("cliente@mail.com").build()));
+    }
+
+    @Test
+    void clientePuedeListarSusPropiasSolicitudes() {
+        client(user("cliente@mail.com", "CLIENTE"))
+                .get().uri(URI, 7)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1);
+
+        verify(useCase).getApplicationsByUser(7L, null, null);
+    }
+
+    @Test
+    void clienteNoPuedeListarLasDeOtroUsuario() {
+        client(user("otro@mail.com", "CLIENTE"))
+                .get().uri(URI, 7)
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody(String.class).isEqualTo(ApplicationConstants.MSG_SIN_PERMISOS);
+
+        verify(useCase, never()).getApplicationsByUser(anyLong(), any(), any());
+    }
+
+    @Test
+    void asesorPuedeListarCualquierUsuarioSinConsultarlo() {
+        client(user("asesor@mail.com", "ASESOR"))
+                .get().uri(URI, 7)
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(userRepository, never()).getUserById(anyLong(), any());
+    }
+
+    @Test
+    void sinUsuarioAutenticadoResponde401() {
+        WebTestClient.bindToRouterFunction(new RouterRest().applicationRoutes(handler)).build()
+                .get().uri(URI, 7)
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        verify(useCase, never()).getApplicationsByUser(anyLong(), any(), any());
+    }
+
+    private WebTestClient client(AuthenticatedUser user) {
+        return WebTestClient.bindToRouterFunction(new RouterRest().applicationRoutes(handler))
+                .webFilter((exchange, chain) -> chain.filter(exchange)
+                        .contextWrite(ctx -> ctx.put(AuthenticatedUser.CONTEXT_KEY, user)))
+                .build();
+    }
+
+    private static AuthenticatedUser user(String email, String role) {
+        Claims claims = Jwts.claims().setSubject(email);
+        return new AuthenticatedUser("token", claims, Set.of(role), Instant.now().plusSeconds(600));
+    }
+}
@@ -0,0 +1,153 @@
+package co.com.pragma.solicitudes.api;
+
+import co.com.pragma.solicitudes.api.config.ReviewProperties;
+import co.com.pragma.solicitudes.api.dto.ApplicationResponse;
+import co.com.pragma.solicitudes.api.web.AuthenticatedUser;
+import co.com.pragma.solicitudes.model.application.ReviewApplication;
+import co.com.pragma.solicitudes.model.state.gateways.StateRepository;
+import co.com.pragma.solicitudes.model.user.User;
+import co.com.pragma.solicitudes.model.user.gateways.UserRepository;
+import co.com.pragma.solicitudes.usecase.application.ApplicationUseCase;
+import co.com.pragma.solicitudes.usecase.application.ReviewApplicationUseCase;
+import co.com.pragma.solicitudes.usecase.stats.ApplicationStatsUseCase;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * GET /api/v1/solicitudes/revision según el Accept: JSON completo, NDJSON o SSE.
+ */
+class ApplicationHandlerReviewStreamTest {
+
+    private static final String URI = "/api/v1/solicitudes/revision";
+
+    private ReviewApplicationUseCase reviewUseCase;
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        reviewUseCase = mock(ReviewApplicationUseCase.class);
+        userRepository = mock(UserRepository.class);
+        when(reviewUseCase.getReviewApplicationsByState(1L))
+                .thenReturn(Flux.just(review(10L, 1L), review(11L, 2L), review(12L, 3L)));
+        when(userRepository.getUserById(anyLong(), any()))
+                .thenAnswer(inv -> Mono.just(user(inv.getArgument(0))));
+    }
+
+    @Test
+    void ndjsonEmiteCadaSolicitudEnOrden() {
+        Flux<ApplicationResponse> body = client(16).get().uri(URI)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ApplicationResponse.class)
+                .getResponseBody();
+
+        StepVerifier.create(body.map(ApplicationResponse::getIdApplication))
+                .expectNext(10L, 11L, 12L)
+                .verifyComplete();
+    }
+
+    @Test
+    void sseEmiteCadaSolicitudComoEvento() {
+        Flux<ApplicationResponse> body = client(16).get().uri(URI)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(ApplicationResponse.class)
+                .getResponseBody();
+
+        StepVerifier.create(body)
+                .assertNext(first -> {
+                    assertEquals(10L, first.getIdApplication());
+                    assertEquals("Nombre1 Apellido", first.getName());
+                    assertEquals("LIBRE_INVERSION", first.getLoanType());
+                    assertEquals("PENDIENTE_REVISION", first.getStateApplication());
+                })
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void sinAcceptDeStreamDevuelveElArregloJson() {
+        client(16).get().uri(URI)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[2].idApplication").isEqualTo(12);
+    }
+
+    @Test
+    void laConcurrenciaDeEnriquecimientoSaleDeLaConfiguracion() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(userRepository.getUserById(anyLong(), any())).thenAnswer(inv -> Mono.delay(Duration.ofMillis(20))
+                .map(ignored -> user(inv.getArgument(0)))
+                .doOnSubscribe(s -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                .doFinally(signal -> inFlight.decrementAndGet()));
+
+        client(1).get().uri(URI)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(ApplicationResponse.class)
+                .getResponseBody()
+                .blockLast(Duration.ofSeconds(5));
+
+        assertEquals(1, maxInFlight.get());
+    }
+
+    private WebTestClient client(int enrichConcurrency) {
+        ApplicationHandler handler = new ApplicationHandler(mock(ApplicationUseCase.class), reviewUseCase,
+                userRepository, mock(StateRepository.class), mock(ApplicationStatsUseCase.class),
+                new ReviewProperties(enrichConcurrency));
+        AuthenticatedUser asesor = new AuthenticatedUser("token", Jwts.claims().setSubject("asesor@mail.com"),
+                Set.of("ASESOR"), Instant.now().plusSeconds(600));
+        return WebTestClient.bindToRouterFunction(new RouterRest().applicationRoutes(handler))
+                .webFilter((exchange, chain) -> chain.filter(exchange)
+                        .contextWrite(ctx -> ctx.put(AuthenticatedUser.CONTEXT_KEY, asesor)))
+                .configureClient()
+                .defaultHeader("Authorization", "Bearer token")
+                .build();
+    }
+
+    private static ReviewApplication review(Long id, Long idUser) {
+        return ReviewApplication.builder()
+                .idApplication(id)
+                .amount(BigDecimal.valueOf(1000))
+                .term(12)
+                .email("user" + idUser + "@mail.com")
+                .idUser(idUser)
+                .idState(1L)
+                .loanTypeID(2L)
+                .loanTypeName("LIBRE_INVERSION")
+                .rateInterest(BigDecimal.valueOf(1.5))
+                .build();
+    }
+
+    private static User user(Long id) {
+        return User.builder().idNumber(id).name("Nombre" + id).lastName("Apellido")
+                .baseSalary(BigDecimal.valueOf(3000)).build();
+    }
+}
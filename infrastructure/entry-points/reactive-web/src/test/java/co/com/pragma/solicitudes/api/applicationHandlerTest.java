@@ -1,15 +1,17 @@
 package co.com.pragma.solicitudes.api;
 
 import co.com.pragma.solicitudes.model.application.Application;
+import co.com.pragma.solicitudes.model.application.ApplicationPage;
 import co.com.pragma.solicitudes.usecase.application.ApplicationUseCase; // Caso de uso mockeado
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient; // Cliente de pruebas WebFlux
-import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal; // Para definir montos
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -50,14 +52,16 @@ class applicationHandlerTest {
     void listarSolicitudes_Exitoso() {
         Application s1 = new Application();
         Application s2 = new Application();
-        when(useCase.getAllApplication()).thenReturn(Flux.just(s1, s2));
-        // Mock: devuelve dos solicitudes en un Flux
+        when(useCase.getApplicationPage(any(), any()))
+                .thenReturn(Mono.just(new ApplicationPage(List.of(s1, s2), null)));
+        // Mock: devuelve una página con dos solicitudes y sin página siguiente
 
         client.get() // GET
                 .uri("/api/v1/solicitudes") // Endpoint
                 .exchange()
                 .expectStatus().isOk()
-                .expectBodyList(Application.class) // Lista de solicitudes
-                .hasSize(2); // Verifica que sean 2
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(2) // Verifica que sean 2
+                .jsonPath("$.nextCursor").doesNotExist();
     }
 }
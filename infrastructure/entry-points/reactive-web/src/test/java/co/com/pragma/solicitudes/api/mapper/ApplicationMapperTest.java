@@ -0,0 +1,31 @@
+package co.com.pragma.solicitudes.api.mapper;
+
+import co.com.pragma.solicitudes.api.dto.ApplicationStatsItemResponse;
+import co.com.pragma.solicitudes.model.application.ApplicationStats;
+import co.com.pragma.solicitudes.model.constants.ApplicationConstants;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ApplicationMapperTest {
+
+    @Test
+    void statsConEstadoConocidoUsaSuNombre() {
+        ApplicationStatsItemResponse item = ApplicationMapper.toResponse(
+                new ApplicationStats(4L, 2L, 3, BigDecimal.valueOf(300)));
+
+        assertEquals("APROBADA", item.getStateApplication());
+        assertEquals(3, item.getCount());
+    }
+
+    @Test
+    void statsConEstadoFueraDelEnumNoFalla() {
+        ApplicationStatsItemResponse item = ApplicationMapper.toResponse(
+                new ApplicationStats(99L, 2L, 1, BigDecimal.TEN));
+
+        assertEquals(99L, item.getIdState());
+        assertEquals(ApplicationConstants.STATS_ESTADO_DESCONOCIDO, item.getStateApplication());
+    }
+}
@@ -0,0 +1,98 @@
+package co.com.pragma.solicitudes.api.web;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Test unitario para JwtAuthenticationFilter.
+ *
+ * No hay JMH en el build: en lugar del benchmark se verifica que un token ya verificado
+ * se sirve desde la caché (misma instancia, sin volver a validar la firma).
+ */
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "ChangeThisSecretKeyToASecureLongRandomValue!@PrAgma2024";
+
+    private final JwtAuthenticationFilter filter =
+            new JwtAuthenticationFilter(SECRET, 100, Duration.ofMinutes(15));
+
+    @Test
+    void filter_PublicaUsuarioEnElContexto() {
+        String token = token(List.of("asesor"), Instant.now().plusSeconds(600));
+        AtomicReference<AuthenticatedUser> seen = new AtomicReference<>();
+        WebFilterChain chain = exchange -> AuthenticatedUser.current().doOnNext(seen::set).then();
+
+        StepVerifier.create(filter.filter(exchange("Bearer " + token), chain)).verifyComplete();
+
+        assertNotNull(seen.get());
+        assertEquals(Set.of("ASESOR"), seen.get().roles());
+    }
+
+    @Test
+    void filter_TokenInvalidoNoPublicaUsuario() {
+        AtomicReference<AuthenticatedUser> seen = new AtomicReference<>();
+        WebFilterChain chain = exchange -> AuthenticatedUser.current().doOnNext(seen::set).then();
+
+        StepVerifier.create(filter.filter(exchange("Bearer no-es-un-jwt"), chain)).verifyComplete();
+
+        assertNull(seen.get());
+    }
+
+    @Test
+    void authenticate_TokenVerificadoSeSirveDesdeCache() {
+        String token = token(List.of("ADMIN"), Instant.now().plusSeconds(600));
+
+        AuthenticatedUser first = filter.authenticate(token);
+        AuthenticatedUser second = filter.authenticate(token);
+
+        assertNotNull(first);
+        assertSame(first, second);
+    }
+
+    @Test
+    void authenticate_TokenExpiradoEsInvalido() {
+        assertNull(filter.authenticate(token(List.of("ASESOR"), Instant.now().minusSeconds(60))));
+    }
+
+    @Test
+    void extractRoles_NormalizaFormatos() {
+        assertEquals(Set.of("ASESOR", "ADMIN"), JwtAuthenticationFilter.extractRoles("asesor, ADMIN"));
+        assertEquals(Set.of("ASESOR"), JwtAuthenticationFilter.extractRoles(List.of(Map.of("authority", "ASESOR"))));
+        assertEquals(Set.of("CLIENTE"), JwtAuthenticationFilter.extractRoles(Map.of("role", "cliente")));
+        assertEquals(Set.of(), JwtAuthenticationFilter.extractRoles(null));
+    }
+
+    private static MockServerWebExchange exchange(String authorization) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/solicitudes/revision")
+                .header("Authorization", authorization));
+    }
+
+    private static String token(List<String> roles, Instant exp) {
+        return Jwts.builder()
+                .setSubject("asesor@mail.com")
+                .claim("roles", roles)
+                .setExpiration(Date.from(exp))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}